@@ -0,0 +1,2 @@
+-- Supports keyset pagination of users ordered by name, with id as the tie-breaker.
+CREATE INDEX GroupeaseUser_Name_Id_Idx ON GroupeaseUser (name, id);
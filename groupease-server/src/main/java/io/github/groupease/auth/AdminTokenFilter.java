@@ -0,0 +1,105 @@
+package io.github.groupease.auth;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.common.base.Strings;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Guards the admin servlets, which run outside Jersey and so outside the {@link JwtRequestFilter}.
+ * The admin paths answer 404 unless they are enabled and an admin token is configured.
+ * Each request must then carry that token as {@code Authorization: Bearer <token>}.
+ */
+@Singleton
+@Immutable
+public class AdminTokenFilter implements Filter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final boolean enabled;
+    private final byte[] token;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting whether the admin paths are enabled and the admin token.
+     */
+    @Inject
+    public AdminTokenFilter(
+            @Nonnull Config config
+    ) {
+        requireNonNull(config);
+
+        String configuredToken = config.getString("groupease.admin.token");
+        this.token = configuredToken.getBytes(StandardCharsets.UTF_8);
+        this.enabled = config.getBoolean("groupease.admin.enabled") && !Strings.isNullOrEmpty(configuredToken);
+
+        if (config.getBoolean("groupease.admin.enabled") && !enabled) {
+            LOGGER.warn("Admin paths are enabled but no admin token is configured, so they stay disabled.");
+        }
+    }
+
+    @Override
+    public void init(
+            FilterConfig filterConfig
+    ) {
+    }
+
+    @Override
+    public void doFilter(
+            @Nonnull ServletRequest request,
+            @Nonnull ServletResponse response,
+            @Nonnull FilterChain chain
+    ) throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        if (!enabled) {
+            httpResponse.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String authorization = httpRequest.getHeader("Authorization");
+
+        if (authorization == null
+                || !authorization.startsWith(BEARER_PREFIX)
+                || !MessageDigest.isEqual(
+                        token,
+                        authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8)
+                )) {
+            LOGGER.debug("Rejected admin request to {}.", httpRequest.getRequestURI());
+            httpResponse.setHeader("WWW-Authenticate", "Bearer");
+            httpResponse.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+}
@@ -0,0 +1,156 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.servlet.RequestScoped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holds the authentication state of the current request.
+ * The raw token, decoded JWT, verified JWT and subject are each computed at most once per request,
+ * and shared by the {@link JwtRequestFilter} and all resources. Verification and the signing key lookup
+ * reuse the decoded JWT held here rather than decoding the token again.
+ */
+@RequestScoped
+public class AuthContext {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Provider<String> authTokenProvider;
+    private final ValidatedAuthJwtProvider validatedAuthJwtProvider;
+    private final Counter verificationCounter;
+    private final Histogram verificationsPerRequest;
+
+    private boolean authTokenResolved;
+    private String authToken;
+
+    private boolean decodedJwtResolved;
+    private DecodedJWT decodedJwt;
+
+    private boolean verifiedJwtResolved;
+    private DecodedJWT verifiedJwt;
+
+    private int verificationCount;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param authTokenProvider provides the encoded auth token from the request header.
+     * @param validatedAuthJwtProvider verifies the auth token and provides the trusted JWT.
+     * @param metricRegistry to record verification metrics.
+     */
+    @Inject
+    public AuthContext(
+            @Nonnull @AuthToken Provider<String> authTokenProvider,
+            @Nonnull ValidatedAuthJwtProvider validatedAuthJwtProvider,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        this.authTokenProvider = requireNonNull(authTokenProvider);
+        this.validatedAuthJwtProvider = requireNonNull(validatedAuthJwtProvider);
+        requireNonNull(metricRegistry);
+        this.verificationCounter = metricRegistry.counter(name(AuthContext.class, "verifications"));
+        this.verificationsPerRequest = metricRegistry.histogram(name(AuthContext.class, "verificationsPerRequest"));
+    }
+
+    /**
+     * Gets the encoded bearer token from the request's authorization header.
+     *
+     * @return the encoded auth token, or null if the request has none.
+     */
+    @Nullable
+    public String getAuthToken() {
+        if (!authTokenResolved) {
+            authToken = authTokenProvider.get();
+            authTokenResolved = true;
+        }
+        return authToken;
+    }
+
+    /**
+     * Gets the decoded auth token. JWT authenticity is NOT validated here.
+     *
+     * @return the decoded, unverified JWT, or null if the request has no well-formed auth token.
+     */
+    @Nullable
+    public DecodedJWT getDecodedJwt() {
+        if (!decodedJwtResolved) {
+            String token = getAuthToken();
+            if (token != null) {
+                decodedJwt = validatedAuthJwtProvider.decode(token);
+            }
+            decodedJwtResolved = true;
+        }
+        return decodedJwt;
+    }
+
+    /**
+     * Gets the validated and trusted auth token, verifying it on the first call only.
+     *
+     * @return the verified JWT, or null if the request has no valid auth token.
+     */
+    @Nullable
+    public DecodedJWT getVerifiedJwt() {
+        if (!verifiedJwtResolved) {
+            verificationCount++;
+            verificationCounter.inc();
+            String token = getAuthToken();
+            verifiedJwt = token == null ? null : validatedAuthJwtProvider.verify(token, getDecodedJwt());
+            verifiedJwtResolved = true;
+        }
+        return verifiedJwt;
+    }
+
+    /**
+     * Gets the ID for the current user from the verified auth token's subject.
+     *
+     * @return the current user ID, or null if the request has no valid auth token.
+     */
+    @Nullable
+    public String getCurrentUserId() {
+        DecodedJWT validatedAuthJwt = getVerifiedJwt();
+        return validatedAuthJwt == null ? null : validatedAuthJwt.getSubject();
+    }
+
+    /**
+     * Gets the internal user ID carried by a verified session token.
+     *
+     * @return the internal user ID, or null if the request was not made with a valid session token.
+     */
+    @Nullable
+    public Long getSessionUserId() {
+        DecodedJWT validatedAuthJwt = getVerifiedJwt();
+        return validatedAuthJwt == null ? null : SessionTokenService.getUserId(validatedAuthJwt);
+    }
+
+    /**
+     * Gets the number of JWT verifications performed so far during this request.
+     *
+     * @return the verification count.
+     */
+    public int getVerificationCount() {
+        return verificationCount;
+    }
+
+    /**
+     * Records the number of verifications this request performed.
+     * Should be called once as the request completes.
+     */
+    public void recordVerificationCount() {
+        LOGGER.debug("Request performed {} JWT verification(s).", verificationCount);
+        verificationsPerRequest.update(verificationCount);
+    }
+
+}
@@ -8,7 +8,7 @@ import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.google.inject.AbstractModule;
-import io.github.groupease.config.guice.NoCache;
+import com.google.inject.servlet.RequestScoped;
 
 /**
  * Guice module for the auth package.
@@ -18,26 +18,47 @@ public class AuthGuiceModule extends AbstractModule {
     @Override
     protected void configure() {
 
-        /* Token from current request. */
-        bind(String.class).annotatedWith(AuthToken.class).toProvider(AuthTokenStringProvider.class);
+        /* Token from current request, parsed once per request. */
+        bind(String.class).annotatedWith(AuthToken.class).toProvider(AuthTokenStringProvider.class).in(RequestScoped.class);
 
-        /* JWK configuration. */
-        bind(JwkProvider.class).annotatedWith(NoCache.class).toProvider(NoCacheGroupeaseJwkProvider.class);
-        bind(JwkProvider.class).toProvider(CachingGroupeaseJwkProvider.class).in(Singleton.class);
+        /* JWK configuration. Key set is preloaded at startup and refreshed in the background. */
+        bind(JwkSetSource.class).toProvider(JwkSetSourceProvider.class).in(Singleton.class);
+        bind(GeneratedJwkSetSource.class).in(Singleton.class);
+        bind(JwksKeyStore.class).asEagerSingleton();
+        bind(JwkProvider.class).to(JwksKeyStore.class);
         bind(Jwk.class).toProvider(RequestJwkProvider.class);
 
+        /* Prebuilt JWT verification instances per signing key. */
+        bind(JwtVerifierRegistry.class).in(Singleton.class);
+
         /* JWT verification Algorithm. */
         bind(Algorithm.class).toProvider(JwtAlgorithmProvider.class);
 
         /* JWT verifier to check validity and authenticity. */
         bind(JWTVerifier.class).toProvider(JwtVerifierProvider.class);
 
-        /* Verified auth token JWT. */
-        bind(DecodedJWT.class).annotatedWith(AuthToken.class).toProvider(ValidatedAuthJwtProvider.class);
+        /* Cheap claim checks run before key lookup and signature verification. */
+        bind(JwtClaimChecker.class).in(Singleton.class);
+
+        /* Cache of auth tokens that already passed verification. */
+        bind(VerifiedTokenCache.class).in(Singleton.class);
+
+        /* Issues and verifies server-issued HMAC session tokens. */
+        bind(SessionTokenService.class).in(Singleton.class);
+
+        /* Staged auth token validation, shared by all requests so its metrics are looked up only once. */
+        bind(ValidatedAuthJwtProvider.class).in(Singleton.class);
+
+        /* Verified auth token JWT, verified at most once per request by the AuthContext. */
+        bind(DecodedJWT.class).annotatedWith(AuthToken.class).toProvider(RequestAuthJwtProvider.class);
 
         /* ID for the current user. */
         bind(String.class).annotatedWith(CurrentUserId.class).toProvider(CurrentUserIdProvider.class);
 
+        /* Jersey filter, shared by all requests. */
+        bind(JwtRequestFilter.class).in(Singleton.class);
+        bind(JwtRequestFilterBindingFeature.class).in(Singleton.class);
+
     }
 
 }
@@ -0,0 +1,50 @@
+package io.github.groupease.auth;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Reasons an auth token is rejected, in the order the validation stages run.
+ * Each reason has its own rejection counter.
+ */
+public enum AuthTokenRejection {
+
+    /** Not a structurally valid JWT. */
+    MALFORMED("malformed"),
+
+    /** Past its "exp" claim, allowing for leeway. */
+    EXPIRED("expired"),
+
+    /** Before its "nbf" or "iat" claim, allowing for leeway. */
+    NOT_YET_VALID("notYetValid"),
+
+    /** Issued by an unexpected issuer ("iss"). */
+    ISSUER("issuer"),
+
+    /** Not intended for this audience ("aud"). */
+    AUDIENCE("audience"),
+
+    /** Signed with a key ID (kid) that is not published, or whose published key is not a valid RSA key. */
+    UNKNOWN_KEY("unknownKey"),
+
+    /** Signature, or a claim re-checked with it, did not verify. */
+    SIGNATURE("signature");
+
+    private final String metricName;
+
+    AuthTokenRejection(
+            @Nonnull String metricName
+    ) {
+        this.metricName = metricName;
+    }
+
+    /**
+     * Gets the name of this reason's rejection counter.
+     *
+     * @return the metric name.
+     */
+    @Nonnull
+    public String getMetricName() {
+        return metricName;
+    }
+
+}
@@ -9,10 +9,13 @@ import javax.inject.Provider;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.HttpHeaders;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -25,22 +28,29 @@ public class AuthTokenStringProvider implements Provider<String> {
     private static final String AUTHENTICATION_SCHEME = "Bearer";
 
     private final Provider<HttpServletRequest> requestProvider;
+    private final Counter missingHeaderCounter;
+    private final Counter notBearerCounter;
 
     /**
      * Injectable constructor.
      *
      * @param requestProvider to get the current HTTP request.
+     * @param metricRegistry to count requests without a bearer token.
      */
     @Inject
     public AuthTokenStringProvider(
-            @Nonnull Provider<HttpServletRequest> requestProvider
+            @Nonnull Provider<HttpServletRequest> requestProvider,
+            @Nonnull MetricRegistry metricRegistry
     ) {
         this.requestProvider = requireNonNull(requestProvider);
+        requireNonNull(metricRegistry);
+        missingHeaderCounter = metricRegistry.counter(name(AuthTokenStringProvider.class, "missingHeader"));
+        notBearerCounter = metricRegistry.counter(name(AuthTokenStringProvider.class, "notBearer"));
     }
 
     @Override
     @Nullable
-    @Timed
+    @Timed(name = "headerExtraction")
     public String get() {
         HttpServletRequest request = requestProvider.get();
 
@@ -49,8 +59,12 @@ public class AuthTokenStringProvider implements Provider<String> {
         LOGGER.debug("Request has auth header: '{}'", authorizationHeader);
 
         String authToken = null;
-        if (authorizationHeader != null && authorizationHeader.startsWith(AUTHENTICATION_SCHEME)) {
+        if (authorizationHeader == null) {
+            missingHeaderCounter.inc();
+        } else if (authorizationHeader.startsWith(AUTHENTICATION_SCHEME)) {
             authToken = authorizationHeader.substring(AUTHENTICATION_SCHEME.length()).trim();
+        } else {
+            notBearerCounter.inc();
         }
 
         LOGGER.debug("Request has Auth JWT: '{}'", authToken);
@@ -0,0 +1,97 @@
+package io.github.groupease.auth;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Provider;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.groupease.db.ChannelRoleDao;
+import io.github.groupease.exception.NotChannelOwnerException;
+import io.github.groupease.exception.NotSignedInException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Filter that rejects requests unless the current user owns the channel named by a path parameter.
+ * Bound by the {@link JwtRequestFilterBindingFeature} to methods annotated {@link ChannelOwnerRequired},
+ * and runs after the {@link JwtRequestFilter} has authenticated the request.
+ */
+@Priority(Priorities.AUTHORIZATION)
+@ThreadSafe
+public class ChannelOwnerFilter implements ContainerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final String channelIdParameter;
+    private final Provider<AuthContext> authContextProvider;
+    private final ChannelRoleDao channelRoleDao;
+
+    /**
+     * Constructor.
+     *
+     * @param channelIdParameter name of the path parameter holding the channel ID.
+     * @param authContextProvider provides the auth state for the current request.
+     * @param channelRoleDao to look up channel ownership.
+     */
+    public ChannelOwnerFilter(
+            @Nonnull String channelIdParameter,
+            @Nonnull Provider<AuthContext> authContextProvider,
+            @Nonnull ChannelRoleDao channelRoleDao
+    ) {
+        this.channelIdParameter = requireNonNull(channelIdParameter);
+        this.authContextProvider = requireNonNull(authContextProvider);
+        this.channelRoleDao = requireNonNull(channelRoleDao);
+    }
+
+    @Override
+    @Timed
+    public void filter(
+            @Nonnull ContainerRequestContext requestContext
+    ) throws IOException {
+
+        requireNonNull(requestContext);
+
+        String currentUserId = authContextProvider.get().getCurrentUserId();
+
+        if (currentUserId == null) {
+            throw new NotSignedInException("Authentication is required.");
+        }
+
+        String channelIdValue = requestContext.getUriInfo()
+                .getPathParameters()
+                .getFirst(channelIdParameter);
+
+        long channelId;
+        try {
+            channelId = Long.parseLong(channelIdValue);
+        } catch (NumberFormatException numberFormatException) {
+            LOGGER.debug("Invalid channel ID path parameter '{}'", channelIdValue);
+            throw new NotChannelOwnerException();
+        }
+
+        if (!channelRoleDao.isOwner(currentUserId, channelId)) {
+            throw new NotChannelOwnerException();
+        }
+
+    }
+
+    /**
+     * Gets the name of the path parameter holding the channel ID.
+     *
+     * @return the path parameter name.
+     */
+    @Nonnull
+    public String getChannelIdParameter() {
+        return channelIdParameter;
+    }
+
+}
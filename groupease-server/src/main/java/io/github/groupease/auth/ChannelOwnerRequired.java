@@ -0,0 +1,25 @@
+package io.github.groupease.auth;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a resource method as requiring the signed in user to own the channel identified by a path parameter.
+ * Checked by the {@link ChannelOwnerFilter} before the resource method is called.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ChannelOwnerRequired {
+
+    /**
+     * Gets the name of the path parameter holding the channel ID.
+     *
+     * @return the path parameter name.
+     */
+    String value() default "channelId";
+
+}
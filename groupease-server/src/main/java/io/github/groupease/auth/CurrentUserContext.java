@@ -0,0 +1,168 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+
+import com.google.inject.servlet.RequestScoped;
+import io.github.groupease.db.ChannelRole;
+import io.github.groupease.db.ChannelRoleDao;
+import io.github.groupease.exception.NotSignedInException;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserDao;
+import io.github.groupease.user.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holds the signed in user of the current request, shared by all resources and services.
+ * The user profile is looked up at most once per request, and only when first needed.
+ * Channel roles come from the shared role cache and are remembered for the rest of the request.
+ */
+@RequestScoped
+public class CurrentUserContext {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final AuthContext authContext;
+    private final UserDao userDao;
+    private final ChannelRoleDao channelRoleDao;
+    private final Map<Long, ChannelRole> channelRoles = new HashMap<>();
+
+    private boolean userResolved;
+    private GroupeaseUser user;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param authContext the authentication state of the current request.
+     * @param userDao to look up the user profile.
+     * @param channelRoleDao to look up the user's channel roles.
+     */
+    @Inject
+    public CurrentUserContext(
+            @Nonnull AuthContext authContext,
+            @Nonnull UserDao userDao,
+            @Nonnull ChannelRoleDao channelRoleDao
+    ) {
+        this.authContext = requireNonNull(authContext);
+        this.userDao = requireNonNull(userDao);
+        this.channelRoleDao = requireNonNull(channelRoleDao);
+    }
+
+    /**
+     * Gets the auth provider's ID for the signed in user.
+     *
+     * @return the provider user ID.
+     * @throws NotSignedInException if the request is not signed in.
+     */
+    @Nonnull
+    public String getProviderUserId() {
+        String providerUserId = authContext.getCurrentUserId();
+        if (providerUserId == null) {
+            throw new NotSignedInException("Authentication is required.");
+        }
+        return providerUserId;
+    }
+
+    /**
+     * Gets the internal ID of the signed in user.
+     * Read from the session token when present, so no profile lookup is needed.
+     *
+     * @return the internal user ID.
+     * @throws UserNotFoundException if the user has no profile.
+     */
+    public long getUserId() {
+        Long sessionUserId = authContext.getSessionUserId();
+        return sessionUserId == null ? getUser().getId() : sessionUserId;
+    }
+
+    /**
+     * Gets the signed in user's profile, looking it up on the first call only.
+     *
+     * @return the user profile.
+     * @throws UserNotFoundException if the user has no profile.
+     */
+    @Nonnull
+    public GroupeaseUser getUser() {
+        GroupeaseUser currentUser = findUser();
+        if (currentUser == null) {
+            throw new UserNotFoundException("Currently logged in user has no profile");
+        }
+        return currentUser;
+    }
+
+    /**
+     * Gets the signed in user's profile, looking it up on the first call only.
+     *
+     * @return the user profile, or null if the user has no profile.
+     */
+    @Nullable
+    public GroupeaseUser findUser() {
+        if (!userResolved) {
+            user = userDao.findByProviderUserId(getProviderUserId());
+            userResolved = true;
+            LOGGER.debug("Resolved current user profile: {}", user);
+        }
+        return user;
+    }
+
+    /**
+     * Checks whether a user is the signed in user.
+     *
+     * @param other the user to check.
+     * @return true if the user is the signed in user.
+     */
+    public boolean isCurrentUser(
+            @Nullable GroupeaseUser other
+    ) {
+        return other != null && getProviderUserId().equals(other.getProviderUserId());
+    }
+
+    /**
+     * Gets the signed in user's role in a channel.
+     *
+     * @param channelId the ID of the channel.
+     * @return the role.
+     */
+    @Nonnull
+    public ChannelRole getChannelRole(
+            long channelId
+    ) {
+        return channelRoles.computeIfAbsent(
+                channelId,
+                id -> channelRoleDao.getRole(getProviderUserId(), id)
+        );
+    }
+
+    /**
+     * Checks whether the signed in user is a member, or owner, of a channel.
+     *
+     * @param channelId the ID of the channel.
+     * @return true if a member.
+     */
+    public boolean isChannelMember(
+            long channelId
+    ) {
+        return getChannelRole(channelId) != ChannelRole.NONE;
+    }
+
+    /**
+     * Checks whether the signed in user owns a channel.
+     *
+     * @param channelId the ID of the channel.
+     * @return true if an owner.
+     */
+    public boolean isChannelOwner(
+            long channelId
+    ) {
+        return getChannelRole(channelId) == ChannelRole.OWNER;
+    }
+
+}
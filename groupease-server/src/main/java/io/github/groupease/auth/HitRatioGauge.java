@@ -0,0 +1,38 @@
+package io.github.groupease.auth;
+
+import javax.annotation.Nonnull;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.RatioGauge;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Gauge of the ratio of cache hits to all cache lookups, computed from hit and miss counters.
+ */
+public class HitRatioGauge extends RatioGauge {
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param hitCounter counts cache hits.
+     * @param missCounter counts cache misses.
+     */
+    public HitRatioGauge(
+            @Nonnull Counter hitCounter,
+            @Nonnull Counter missCounter
+    ) {
+        this.hitCounter = requireNonNull(hitCounter);
+        this.missCounter = requireNonNull(missCounter);
+    }
+
+    @Override
+    protected Ratio getRatio() {
+        long hits = hitCounter.getCount();
+        return Ratio.of(hits, hits + missCounter.getCount());
+    }
+
+}
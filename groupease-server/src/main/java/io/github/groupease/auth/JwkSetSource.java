@@ -0,0 +1,24 @@
+package io.github.groupease.auth;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+
+/**
+ * Source of the complete set of published JWKs used to validate JWT signatures.
+ */
+public interface JwkSetSource {
+
+    /**
+     * Loads all currently published JWKs.
+     *
+     * @return the JWKs.
+     * @throws JwkException if the key set cannot be loaded.
+     */
+    @Nonnull
+    List<Jwk> getAll() throws JwkException;
+
+}
@@ -0,0 +1,92 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Provides the {@link JwkSetSource} selected by the "groupease.auth.jwks.source" setting:
+ * the identity provider, a local JWKS file, a classpath JWKS resource, or a key generated in memory.
+ */
+public class JwkSetSourceProvider implements Provider<JwkSetSource> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    static final String SOURCE_PATH = "groupease.auth.jwks.source";
+    static final String LOCATION_PATH = "groupease.auth.jwks.location";
+
+    private final Config config;
+    private final Provider<GeneratedJwkSetSource> generatedJwkSetSourceProvider;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     * @param generatedJwkSetSourceProvider provides the in-memory key set, generated only if selected.
+     */
+    @Inject
+    public JwkSetSourceProvider(
+            @Nonnull Config config,
+            @Nonnull Provider<GeneratedJwkSetSource> generatedJwkSetSourceProvider
+    ) {
+        this.config = requireNonNull(config);
+        this.generatedJwkSetSourceProvider = requireNonNull(generatedJwkSetSourceProvider);
+    }
+
+    @Override
+    @Nonnull
+    public JwkSetSource get() {
+        String source = config.getString(SOURCE_PATH);
+
+        LOGGER.info("Using JWKS source '{}'", source);
+
+        switch (source) {
+            case "identityProvider":
+                return new UrlJwkSetSource(config);
+            case "file":
+                return new UrlJwkSetSource(getFileUrl(), config);
+            case "classpath":
+                return new UrlJwkSetSource(getClasspathUrl(), config);
+            case "generated":
+                return generatedJwkSetSourceProvider.get();
+            default:
+                throw new ConfigException.BadValue(
+                        SOURCE_PATH,
+                        "Must be one of identityProvider, file, classpath or generated, not '" + source + "'"
+                );
+        }
+    }
+
+    @Nonnull
+    private URL getFileUrl() {
+        String location = config.getString(LOCATION_PATH);
+        try {
+            return Paths.get(location).toUri().toURL();
+        } catch (MalformedURLException malformedURLException) {
+            throw new ConfigException.BadValue(LOCATION_PATH, "Invalid JWKS file '" + location + "'", malformedURLException);
+        }
+    }
+
+    @Nonnull
+    private URL getClasspathUrl() {
+        String location = config.getString(LOCATION_PATH);
+        URL url = JwkSetSourceProvider.class.getClassLoader().getResource(location);
+        if (url == null) {
+            throw new ConfigException.BadValue(LOCATION_PATH, "No JWKS classpath resource '" + location + "'");
+        }
+        return url;
+    }
+
+}
@@ -0,0 +1,278 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link JwkProvider} serving JWKs from an in-memory key set that is preloaded at startup
+ * and refreshed on a schedule by a background thread.
+ * The last good key set keeps being served while a refresh is in flight or failing,
+ * so request threads never wait on network I/O for keys.
+ * An unknown key ID (kid) triggers an immediate asynchronous refresh, collapsed into the single
+ * in-flight refresh and capped globally per second. Unknown key IDs are then remembered for a short
+ * time, so repeated junk key IDs are rejected from memory without triggering further refreshes.
+ */
+@ThreadSafe
+public class JwksKeyStore implements JwkProvider, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final JwkSetSource jwkSetSource;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+    private final Timer refreshTimer;
+    private final Counter refreshFailureCounter;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Cache<String, Boolean> unknownKeyIds;
+    private final RateLimiter triggeredRefreshRateLimiter;
+    private final Counter unknownKeyIdHitCounter;
+    private final Counter rateLimitedRefreshCounter;
+
+    private volatile Map<String, Jwk> keys = ImmutableMap.of();
+    private volatile long lastRefreshMillis;
+
+    /**
+     * Injectable constructor. Loads the key set and schedules background refreshes.
+     *
+     * @param jwkSetSource loads the published key set.
+     * @param config for getting application configuration.
+     * @param metricRegistry to record refresh latency, failures, key set age and lookup hit ratio.
+     */
+    @Inject
+    public JwksKeyStore(
+            @Nonnull JwkSetSource jwkSetSource,
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        this(
+                jwkSetSource,
+                config,
+                metricRegistry,
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("jwks-refresh-%d")
+                                .setDaemon(true)
+                                .build()
+                )
+        );
+    }
+
+    /**
+     * Constructor accepting the executor that runs refreshes.
+     *
+     * @param jwkSetSource loads the published key set.
+     * @param config for getting application configuration.
+     * @param metricRegistry to record refresh latency, failures, key set age and lookup hit ratio.
+     * @param executor runs scheduled and triggered refreshes.
+     */
+    JwksKeyStore(
+            @Nonnull JwkSetSource jwkSetSource,
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry,
+            @Nonnull ScheduledExecutorService executor
+    ) {
+        this.jwkSetSource = requireNonNull(jwkSetSource);
+        this.executor = requireNonNull(executor);
+        requireNonNull(config);
+        requireNonNull(metricRegistry);
+
+        refreshTimer = metricRegistry.timer(name(JwksKeyStore.class, "refresh"));
+        refreshFailureCounter = metricRegistry.counter(name(JwksKeyStore.class, "refreshFailures"));
+        hitCounter = metricRegistry.counter(name(JwksKeyStore.class, "hits"));
+        missCounter = metricRegistry.counter(name(JwksKeyStore.class, "misses"));
+        metricRegistry.register(name(JwksKeyStore.class, "hitRatio"), new HitRatioGauge(hitCounter, missCounter));
+        unknownKeyIdHitCounter = metricRegistry.counter(name(JwksKeyStore.class, "unknownKeyIdHits"));
+        rateLimitedRefreshCounter = metricRegistry.counter(name(JwksKeyStore.class, "refreshesRateLimited"));
+        metricRegistry.register(name(JwksKeyStore.class, "keys"), (Gauge<Integer>) () -> keys.size());
+        metricRegistry.register(name(JwksKeyStore.class, "ageMillis"), (Gauge<Long>) this::getAgeMillis);
+
+        unknownKeyIds = CacheBuilder.newBuilder()
+                .expireAfterWrite(
+                        config.getDuration("groupease.auth.jwks.unknownKeyIdTtl", TimeUnit.MILLISECONDS),
+                        TimeUnit.MILLISECONDS
+                )
+                .maximumSize(config.getLong("groupease.auth.jwks.unknownKeyIdMaximumSize"))
+                .build();
+
+        triggeredRefreshRateLimiter = RateLimiter.create(
+                config.getDouble("groupease.auth.jwks.maxTriggeredRefreshesPerSecond")
+        );
+
+        /* Preload so the first requests do not find an empty key set. */
+        refresh();
+
+        long refreshIntervalSeconds = config.getDuration(
+                "groupease.auth.jwks.refreshInterval",
+                TimeUnit.SECONDS
+        );
+
+        executor.scheduleWithFixedDelay(
+                this::refreshInBackground,
+                refreshIntervalSeconds,
+                refreshIntervalSeconds,
+                TimeUnit.SECONDS
+        );
+    }
+
+    /**
+     * Gets the JWK for a key ID from the current key set without blocking.
+     * Requests an asynchronous refresh when the key ID is unknown and not recently seen.
+     *
+     * @param keyId the key ID (kid).
+     * @return the JWK.
+     * @throws SigningKeyNotFoundException if the key ID is not in the current key set.
+     */
+    @Nonnull
+    @Override
+    public Jwk get(
+            @Nullable String keyId
+    ) throws SigningKeyNotFoundException {
+        Jwk jwk = keyId == null ? null : keys.get(keyId);
+
+        if (jwk == null) {
+            missCounter.inc();
+            requestRefreshForUnknownKeyId(keyId);
+            throw new SigningKeyNotFoundException("No JWK found for key ID (kid) '" + keyId + "'", null);
+        }
+
+        hitCounter.inc();
+        return jwk;
+    }
+
+    /**
+     * Requests an asynchronous refresh, unless one is already in flight.
+     */
+    public void requestRefresh() {
+        if (refreshInFlight.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::refreshInBackground);
+            } catch (RejectedExecutionException rejectedExecutionException) {
+                refreshInFlight.set(false);
+                LOGGER.warn("JWKS refresh rejected", rejectedExecutionException);
+            }
+        }
+    }
+
+    /**
+     * Requests a refresh for an unknown key ID, unless the key ID was recently seen
+     * or the global cap on triggered refreshes is reached.
+     *
+     * @param keyId the unknown key ID (kid).
+     */
+    private void requestRefreshForUnknownKeyId(
+            @Nullable String keyId
+    ) {
+        if (keyId == null) {
+            return;
+        }
+
+        if (unknownKeyIds.getIfPresent(keyId) != null) {
+            unknownKeyIdHitCounter.inc();
+            return;
+        }
+
+        unknownKeyIds.put(keyId, Boolean.TRUE);
+
+        if (triggeredRefreshRateLimiter.tryAcquire()) {
+            requestRefresh();
+        } else {
+            rateLimitedRefreshCounter.inc();
+            LOGGER.debug("JWKS refresh for unknown key ID (kid) '{}' rate limited", keyId);
+        }
+    }
+
+    /**
+     * Gets the milliseconds since the key set was last loaded successfully.
+     *
+     * @return the age of the key set, or -1 if never loaded.
+     */
+    public long getAgeMillis() {
+        long lastRefresh = lastRefreshMillis;
+        return lastRefresh == 0L ? -1L : System.currentTimeMillis() - lastRefresh;
+    }
+
+    /**
+     * Gets the number of keys in the current key set.
+     *
+     * @return the key set size.
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Stops background refreshes.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void refreshInBackground() {
+        refreshInFlight.set(true);
+        try {
+            refresh();
+        } finally {
+            refreshInFlight.set(false);
+        }
+    }
+
+    /**
+     * Loads the key set, keeping the last good key set on failure.
+     */
+    private void refresh() {
+        try (Timer.Context ignored = refreshTimer.time()) {
+            List<Jwk> jwks = jwkSetSource.getAll();
+
+            Map<String, Jwk> loaded = new LinkedHashMap<>();
+            for (Jwk jwk : jwks) {
+                if (jwk.getId() != null) {
+                    loaded.put(jwk.getId(), jwk);
+                }
+            }
+
+            keys = ImmutableMap.copyOf(loaded);
+            lastRefreshMillis = System.currentTimeMillis();
+
+            LOGGER.debug("Loaded {} JWKs", keys.size());
+        } catch (JwkException | RuntimeException exception) {
+            /* Keep serving the last good key set. */
+            refreshFailureCounter.inc();
+            LOGGER.warn("Failure to refresh JWKS, continuing with last good key set", exception);
+        }
+    }
+
+}
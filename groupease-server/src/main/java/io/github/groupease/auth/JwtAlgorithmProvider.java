@@ -1,41 +1,38 @@
 package io.github.groupease.auth;
 
-import java.lang.invoke.MethodHandles;
-import java.security.interfaces.RSAPublicKey;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
-import com.auth0.jwk.InvalidPublicKeyException;
 import com.auth0.jwk.Jwk;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.codahale.metrics.annotation.Timed;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Provides the {@link Algorithm} for validating JWT authenticity.
+ * The algorithm is built once per signing key by the {@link JwtVerifierRegistry}.
  */
 public class JwtAlgorithmProvider implements Provider<Algorithm> {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
-
     private final Provider<Jwk> jwkProvider;
+    private final JwtVerifierRegistry jwtVerifierRegistry;
 
     /**
      * Injectable constructor.
      *
      * @param jwkProvider to get the {@link Jwk} to use to validate the auth token for the current request.
+     * @param jwtVerifierRegistry holds the prebuilt algorithm for each signing key.
      */
     @Inject
     public JwtAlgorithmProvider(
-            @Nonnull Provider<Jwk> jwkProvider
+            @Nonnull Provider<Jwk> jwkProvider,
+            @Nonnull JwtVerifierRegistry jwtVerifierRegistry
     ) {
         this.jwkProvider = requireNonNull(jwkProvider);
+        this.jwtVerifierRegistry = requireNonNull(jwtVerifierRegistry);
     }
 
     @Nullable
@@ -45,24 +42,7 @@ public class JwtAlgorithmProvider implements Provider<Algorithm> {
 
         Jwk jwk = jwkProvider.get();
 
-        Algorithm algorithm = null;
-
-        if (jwk != null) {
-            try {
-                algorithm = Algorithm.RSA256(
-                        (RSAPublicKey) jwk.getPublicKey(),
-                        null
-                );
-            } catch (InvalidPublicKeyException invalidPublicKeyException) {
-                /* Log issue, and continue to return null. */
-                LOGGER.warn(
-                        "Failure to create JWT Algorithm using JWK for the current request",
-                        invalidPublicKeyException
-                );
-            }
-        }
-
-        return algorithm;
+        return jwk == null ? null : jwtVerifierRegistry.getAlgorithm(jwk);
     }
 
 }
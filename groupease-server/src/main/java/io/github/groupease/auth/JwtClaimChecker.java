@@ -0,0 +1,96 @@
+package io.github.groupease.auth;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.google.common.collect.ImmutableList;
+import com.typesafe.config.Config;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Cheap checks of decoded, unverified JWT claims, run before any key lookup or signature verification.
+ * Passing these checks does NOT make a token trusted; the signature must still be verified.
+ */
+@Immutable
+public class JwtClaimChecker {
+
+    private final String issuer;
+    private final List<String> audience;
+    private final long leewayMillis;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     */
+    @Inject
+    public JwtClaimChecker(
+            @Nonnull Config config
+    ) {
+        requireNonNull(config);
+        issuer = config.getString("groupease.auth.jwtVerification.issuer");
+        audience = ImmutableList.copyOf(config.getStringList("groupease.auth.jwtVerification.audience"));
+        leewayMillis = TimeUnit.SECONDS.toMillis(config.getLong("groupease.auth.jwtVerification.leeway"));
+    }
+
+    /**
+     * Checks the "exp", "nbf" and "iat" claims against the current time, allowing for leeway.
+     *
+     * @param decodedJwt the decoded, unverified JWT.
+     * @return the rejection reason, or null if the times are acceptable.
+     */
+    @Nullable
+    public AuthTokenRejection checkTimes(
+            @Nonnull DecodedJWT decodedJwt
+    ) {
+        long now = System.currentTimeMillis();
+
+        Date expiresAt = decodedJwt.getExpiresAt();
+        if (expiresAt != null && now > expiresAt.getTime() + leewayMillis) {
+            return AuthTokenRejection.EXPIRED;
+        }
+
+        Date notBefore = decodedJwt.getNotBefore();
+        if (notBefore != null && now < notBefore.getTime() - leewayMillis) {
+            return AuthTokenRejection.NOT_YET_VALID;
+        }
+
+        Date issuedAt = decodedJwt.getIssuedAt();
+        if (issuedAt != null && now < issuedAt.getTime() - leewayMillis) {
+            return AuthTokenRejection.NOT_YET_VALID;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks the "iss" and "aud" claims against the configured identity provider values.
+     *
+     * @param decodedJwt the decoded, unverified JWT.
+     * @return the rejection reason, or null if issuer and audience are acceptable.
+     */
+    @Nullable
+    public AuthTokenRejection checkIssuerAndAudience(
+            @Nonnull DecodedJWT decodedJwt
+    ) {
+        if (!issuer.equals(decodedJwt.getIssuer())) {
+            return AuthTokenRejection.ISSUER;
+        }
+
+        List<String> tokenAudience = decodedJwt.getAudience();
+        if (tokenAudience == null || !tokenAudience.containsAll(audience)) {
+            return AuthTokenRejection.AUDIENCE;
+        }
+
+        return null;
+    }
+
+}
@@ -4,13 +4,17 @@ import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Priority;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.Priorities;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
 
 import com.codahale.metrics.annotation.Timed;
-import com.google.inject.Injector;
-import com.google.inject.Key;
-import io.github.groupease.config.guice.GroupeaseContextListener;
 import io.github.groupease.exception.NotSignedInException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,11 +23,30 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Filter that validates JWT authentication tokens on each request.
+ * On the response side, records how many verifications the request performed.
+ * A single instance serves all requests; the request-scoped {@link AuthContext} is resolved through
+ * an injected {@link Provider}, so no shared lock is taken on the request path.
  */
-public class JwtRequestFilter implements ContainerRequestFilter {
+@Priority(Priorities.AUTHENTICATION)
+@ThreadSafe
+public class JwtRequestFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    private final Provider<AuthContext> authContextProvider;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param authContextProvider provides the auth state for the current request.
+     */
+    @Inject
+    public JwtRequestFilter(
+            @Nonnull Provider<AuthContext> authContextProvider
+    ) {
+        this.authContextProvider = requireNonNull(authContextProvider);
+    }
+
     @Override
     @Timed
     public void filter(
@@ -32,11 +55,7 @@ public class JwtRequestFilter implements ContainerRequestFilter {
 
         requireNonNull(requestContext);
 
-        Injector guiceInjector = GroupeaseContextListener.getGuiceInjector();
-
-        String currentUserId = guiceInjector.getInstance(
-                Key.get(String.class, CurrentUserId.class)
-        );
+        String currentUserId = authContextProvider.get().getCurrentUserId();
 
         LOGGER.debug("Filtering request using current user ID '{}'", currentUserId);
 
@@ -46,4 +65,14 @@ public class JwtRequestFilter implements ContainerRequestFilter {
 
     }
 
+    @Override
+    public void filter(
+            @Nonnull ContainerRequestContext requestContext,
+            @Nonnull ContainerResponseContext responseContext
+    ) throws IOException {
+
+        authContextProvider.get().recordVerificationCount();
+
+    }
+
 }
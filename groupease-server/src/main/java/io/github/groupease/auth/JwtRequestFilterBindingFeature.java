@@ -1,23 +1,112 @@
 package io.github.groupease.auth;
 
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AnnotatedElement;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
 import javax.ws.rs.container.DynamicFeature;
 import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.FeatureContext;
 
 import com.codahale.metrics.annotation.Timed;
+import io.github.groupease.db.ChannelRoleDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
 
 /**
- * Feature that binds the {@link JwtRequestFilter}.
+ * Feature that binds auth filters to each resource method, based on its auth annotations.
+ * Annotations are evaluated once, when the application starts:
+ * <ul>
+ *     <li>{@link Public} methods get no auth filters.</li>
+ *     <li>All other methods get the {@link JwtRequestFilter}; {@link Authenticated} only makes this explicit.</li>
+ *     <li>{@link ChannelOwnerRequired} methods also get a {@link ChannelOwnerFilter}.</li>
+ * </ul>
+ * Method annotations take precedence over class annotations.
  */
 public class JwtRequestFilterBindingFeature implements DynamicFeature {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final JwtRequestFilter jwtRequestFilter;
+    private final Provider<AuthContext> authContextProvider;
+    private final ChannelRoleDao channelRoleDao;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param jwtRequestFilter the shared filter instance to bind.
+     * @param authContextProvider provides the auth state for the current request to role filters.
+     * @param channelRoleDao to look up channel ownership in role filters.
+     */
+    @Inject
+    public JwtRequestFilterBindingFeature(
+            @Nonnull JwtRequestFilter jwtRequestFilter,
+            @Nonnull Provider<AuthContext> authContextProvider,
+            @Nonnull ChannelRoleDao channelRoleDao
+    ) {
+        this.jwtRequestFilter = requireNonNull(jwtRequestFilter);
+        this.authContextProvider = requireNonNull(authContextProvider);
+        this.channelRoleDao = requireNonNull(channelRoleDao);
+    }
+
     @Override
     @Timed
     public void configure(
             ResourceInfo resourceInfo,
             FeatureContext context
     ) {
-        context.register(JwtRequestFilter.class);
+        AnnotatedElement method = resourceInfo.getResourceMethod();
+        AnnotatedElement resourceClass = resourceInfo.getResourceClass();
+
+        if (isPublic(method, resourceClass)) {
+            LOGGER.debug("Binding no auth filters to public resource method '{}'", method);
+            return;
+        }
+
+        context.register(jwtRequestFilter);
+
+        ChannelOwnerRequired channelOwnerRequired = getAnnotation(method, ChannelOwnerRequired.class);
+
+        if (channelOwnerRequired != null) {
+            context.register(
+                    new ChannelOwnerFilter(
+                            channelOwnerRequired.value(),
+                            authContextProvider,
+                            channelRoleDao
+                    )
+            );
+        }
+    }
+
+    private static boolean isPublic(
+            @Nullable AnnotatedElement method,
+            @Nullable AnnotatedElement resourceClass
+    ) {
+        if (getAnnotation(method, Public.class) != null) {
+            return true;
+        }
+
+        if (getAnnotation(method, Authenticated.class) != null
+                || getAnnotation(method, ChannelOwnerRequired.class) != null) {
+            return false;
+        }
+
+        return getAnnotation(resourceClass, Authenticated.class) == null
+                && getAnnotation(resourceClass, Public.class) != null;
+    }
+
+    @Nullable
+    private static <T extends Annotation> T getAnnotation(
+            @Nullable AnnotatedElement element,
+            @Nonnull Class<T> annotationType
+    ) {
+        return element == null ? null : element.getAnnotation(annotationType);
     }
 
 }
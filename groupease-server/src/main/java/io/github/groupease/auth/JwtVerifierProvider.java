@@ -1,62 +1,65 @@
 package io.github.groupease.auth;
 
-import java.util.List;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
-import com.auth0.jwt.JWT;
+import com.auth0.jwk.Jwk;
 import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.codahale.metrics.annotation.Timed;
-import com.google.common.collect.Iterables;
-import com.typesafe.config.Config;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Provides a {@link JWTVerifier} for validating the auth token for the current request.
+ * Verifiers are built once per signing key and reused from the {@link JwtVerifierRegistry}.
  */
 public class JwtVerifierProvider implements Provider<JWTVerifier> {
 
-    private final Provider<Algorithm> algorithmProvider;
-    private final String issuer;
-    private final List<String> audience;
-    private final long leeway;
+    private final RequestJwkProvider jwkProvider;
+    private final JwtVerifierRegistry jwtVerifierRegistry;
 
+    /**
+     * Injectable constructor.
+     *
+     * @param jwkProvider to get the {@link Jwk} to use to validate the auth token for the current request.
+     * @param jwtVerifierRegistry holds the prebuilt verifier for each signing key.
+     */
     @Inject
     public JwtVerifierProvider(
-            @Nonnull Provider<Algorithm> algorithmProvider,
-            @Nonnull Config config
+            @Nonnull RequestJwkProvider jwkProvider,
+            @Nonnull JwtVerifierRegistry jwtVerifierRegistry
     ) {
-        this.algorithmProvider = requireNonNull(algorithmProvider);
-        requireNonNull(config);
-        issuer = config.getString("groupease.auth.jwtVerification.issuer");
-        audience = config.getStringList("groupease.auth.jwtVerification.audience");
-        leeway = config.getLong("groupease.auth.jwtVerification.leeway");
+        this.jwkProvider = requireNonNull(jwkProvider);
+        this.jwtVerifierRegistry = requireNonNull(jwtVerifierRegistry);
     }
 
     @Override
     @Nullable
     @Timed
     public JWTVerifier get() {
-        Algorithm algorithm = algorithmProvider.get();
 
-        JWTVerifier jwtVerifier = null;
+        Jwk jwk = jwkProvider.get();
+
+        return jwk == null ? null : jwtVerifierRegistry.getVerifier(jwk);
+    }
 
-        if (algorithm != null) {
-            jwtVerifier = JWT.require(algorithm)
-                    .withIssuer(issuer)
-                    .withAudience(
-                            Iterables.toArray(audience, String.class)
-                    )
-                    .acceptLeeway(leeway)
-                    .build();
-        }
+    /**
+     * Gets the verifier for the signing key named by an already decoded auth token.
+     *
+     * @param decodedJwt the decoded, unverified auth token.
+     * @return the verifier, or null if the token's key ID (kid) is missing or unknown.
+     */
+    @Nullable
+    @Timed(name = "verifierLookup")
+    public JWTVerifier get(
+            @Nonnull DecodedJWT decodedJwt
+    ) {
+        Jwk jwk = jwkProvider.get(decodedJwt);
 
-        return jwtVerifier;
+        return jwk == null ? null : jwtVerifierRegistry.getVerifier(jwk);
     }
 
 }
@@ -0,0 +1,241 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import com.auth0.jwk.InvalidPublicKeyException;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Registry of prebuilt {@link Algorithm} and {@link JWTVerifier} instances keyed by JWK key ID (kid).
+ * Each is built once when a key is first seen and reused until the key is removed by key rotation.
+ * The required issuer, audience and leeway are read from configuration once, at construction.
+ */
+@ThreadSafe
+public class JwtVerifierRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final ConcurrentMap<String, KeyVerifier> keyVerifiers = new ConcurrentHashMap<>();
+
+    private final String issuer;
+    private final String[] audience;
+    private final long leeway;
+
+    private final Timer constructionTimer;
+    private final Counter invalidKeyCounter;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     * @param metricRegistry to record verifier construction time, invalid keys and hit ratio.
+     */
+    @Inject
+    public JwtVerifierRegistry(
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        requireNonNull(config);
+        requireNonNull(metricRegistry);
+        issuer = config.getString("groupease.auth.jwtVerification.issuer");
+        List<String> audienceList = config.getStringList("groupease.auth.jwtVerification.audience");
+        audience = Iterables.toArray(audienceList, String.class);
+        leeway = config.getLong("groupease.auth.jwtVerification.leeway");
+
+        constructionTimer = metricRegistry.timer(name(JwtVerifierRegistry.class, "verifierConstruction"));
+        invalidKeyCounter = metricRegistry.counter(name(JwtVerifierRegistry.class, "invalidKeys"));
+        hitCounter = metricRegistry.counter(name(JwtVerifierRegistry.class, "hits"));
+        missCounter = metricRegistry.counter(name(JwtVerifierRegistry.class, "misses"));
+        metricRegistry.register(name(JwtVerifierRegistry.class, "hitRatio"), new HitRatioGauge(hitCounter, missCounter));
+    }
+
+    /**
+     * Gets the {@link Algorithm} for the provided {@link Jwk}.
+     *
+     * @param jwk the key to verify signatures with.
+     * @return the algorithm, or null if the JWK does not hold a valid public key.
+     */
+    @Nullable
+    public Algorithm getAlgorithm(
+            @Nonnull Jwk jwk
+    ) {
+        KeyVerifier keyVerifier = getKeyVerifier(jwk);
+        return keyVerifier == null ? null : keyVerifier.getAlgorithm();
+    }
+
+    /**
+     * Gets the {@link JWTVerifier} for the provided {@link Jwk}.
+     *
+     * @param jwk the key to verify signatures with.
+     * @return the verifier, or null if the JWK does not hold a valid public key.
+     */
+    @Nullable
+    public JWTVerifier getVerifier(
+            @Nonnull Jwk jwk
+    ) {
+        KeyVerifier keyVerifier = getKeyVerifier(jwk);
+        return keyVerifier == null ? null : keyVerifier.getJwtVerifier();
+    }
+
+    /**
+     * Removes the prebuilt instances for a key ID that is no longer published.
+     *
+     * @param keyId the key ID (kid) to remove.
+     */
+    public void remove(
+            @Nullable String keyId
+    ) {
+        if (keyVerifiers.remove(Strings.nullToEmpty(keyId)) != null) {
+            LOGGER.info("Removed JWT verifier for rotated key ID (kid) '{}'", keyId);
+        }
+    }
+
+    /**
+     * Gets the number of keys with prebuilt verifiers.
+     *
+     * @return the registry size.
+     */
+    public int size() {
+        return keyVerifiers.size();
+    }
+
+    @Nullable
+    private KeyVerifier getKeyVerifier(
+            @Nonnull Jwk jwk
+    ) {
+        requireNonNull(jwk);
+
+        String keyId = Strings.nullToEmpty(jwk.getId());
+
+        KeyVerifier existing = keyVerifiers.get(keyId);
+
+        /* Fast path: the same JWK instance the verifier was built from. */
+        if (existing != null && existing.getJwk() == jwk) {
+            hitCounter.inc();
+            return existing;
+        }
+
+        PublicKey publicKey;
+        try {
+            publicKey = jwk.getPublicKey();
+        } catch (InvalidPublicKeyException invalidPublicKeyException) {
+            /* Log issue, and continue to return null. */
+            invalidKeyCounter.inc();
+            LOGGER.warn(
+                    "Failure to create JWT Algorithm using JWK for key ID (kid) '" + keyId + "'",
+                    invalidPublicKeyException
+            );
+            return null;
+        }
+
+        /* The key type is chosen by the key set, so a key we cannot verify RS256 with is rejected, not cast. */
+        if (!(publicKey instanceof RSAPublicKey)) {
+            invalidKeyCounter.inc();
+            LOGGER.warn("JWK for key ID (kid) '{}' is not an RSA public key: {}", keyId, publicKey.getAlgorithm());
+            return null;
+        }
+
+        KeyVerifier keyVerifier;
+
+        if (existing != null && existing.getPublicKey().equals(publicKey)) {
+            /* Re-fetched JWK with the same key. Keep the prebuilt instances. */
+            hitCounter.inc();
+            keyVerifier = new KeyVerifier(jwk, publicKey, existing.getAlgorithm(), existing.getJwtVerifier());
+        } else {
+            LOGGER.info("Building JWT verifier for key ID (kid) '{}'", keyId);
+            missCounter.inc();
+
+            try (Timer.Context ignored = constructionTimer.time()) {
+                Algorithm algorithm = Algorithm.RSA256(
+                        (RSAPublicKey) publicKey,
+                        null
+                );
+
+                JWTVerifier jwtVerifier = JWT.require(algorithm)
+                        .withIssuer(issuer)
+                        .withAudience(audience)
+                        .acceptLeeway(leeway)
+                        .build();
+
+                keyVerifier = new KeyVerifier(jwk, publicKey, algorithm, jwtVerifier);
+            }
+        }
+
+        keyVerifiers.put(keyId, keyVerifier);
+
+        return keyVerifier;
+    }
+
+    /**
+     * Prebuilt verification instances for a single key.
+     */
+    @Immutable
+    private static class KeyVerifier {
+
+        private final Jwk jwk;
+        private final PublicKey publicKey;
+        private final Algorithm algorithm;
+        private final JWTVerifier jwtVerifier;
+
+        private KeyVerifier(
+                @Nonnull Jwk jwk,
+                @Nonnull PublicKey publicKey,
+                @Nonnull Algorithm algorithm,
+                @Nonnull JWTVerifier jwtVerifier
+        ) {
+            this.jwk = jwk;
+            this.publicKey = publicKey;
+            this.algorithm = algorithm;
+            this.jwtVerifier = jwtVerifier;
+        }
+
+        @Nonnull
+        private Jwk getJwk() {
+            return jwk;
+        }
+
+        @Nonnull
+        private PublicKey getPublicKey() {
+            return publicKey;
+        }
+
+        @Nonnull
+        private Algorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        @Nonnull
+        private JWTVerifier getJwtVerifier() {
+            return jwtVerifier;
+        }
+
+    }
+
+}
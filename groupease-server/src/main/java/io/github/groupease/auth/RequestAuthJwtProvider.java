@@ -0,0 +1,42 @@
+package io.github.groupease.auth;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.annotation.Timed;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Provides the validated and trusted {@link DecodedJWT} held by the current request's {@link AuthContext}.
+ * The auth token is verified at most once per request no matter how many times this is called.
+ */
+@Immutable
+public class RequestAuthJwtProvider implements Provider<DecodedJWT> {
+
+    private final Provider<AuthContext> authContextProvider;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param authContextProvider provides the {@link AuthContext} for the current request.
+     */
+    @Inject
+    public RequestAuthJwtProvider(
+            @Nonnull Provider<AuthContext> authContextProvider
+    ) {
+        this.authContextProvider = requireNonNull(authContextProvider);
+    }
+
+    @Nullable
+    @Override
+    @Timed
+    public DecodedJWT get() {
+        return authContextProvider.get().getVerifiedJwt();
+    }
+
+}
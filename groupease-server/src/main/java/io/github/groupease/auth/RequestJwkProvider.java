@@ -10,11 +10,15 @@ import javax.inject.Provider;
 import com.auth0.jwk.Jwk;
 import com.auth0.jwk.JwkException;
 import com.auth0.jwk.JwkProvider;
-import com.auth0.jwt.JWT;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -26,46 +30,77 @@ public class RequestJwkProvider implements Provider<Jwk> {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final JwkProvider jwkProvider;
-    private final Provider<String> authTokenProvider;
+    private final Provider<AuthContext> authContextProvider;
+    private final JwtVerifierRegistry jwtVerifierRegistry;
+    private final Counter missingKeyIdCounter;
+    private final Counter unknownKeyIdCounter;
+    private final Counter jwkFailureCounter;
 
     /**
      * Injectable constructor.
      *
      * @param jwkProvider to retrieve the JWK for a given key ID (kid).
-     * @param authTokenProvider to get the potentially null auth token for current request.
+     * @param authContextProvider to get the potentially null decoded auth token for current request.
+     * @param jwtVerifierRegistry to drop prebuilt verifiers for keys no longer published.
+     * @param metricRegistry to count key ID (kid) failures.
      */
     @Inject
     public RequestJwkProvider(
             @Nonnull JwkProvider jwkProvider,
-            @Nonnull @AuthToken Provider<String> authTokenProvider
+            @Nonnull Provider<AuthContext> authContextProvider,
+            @Nonnull JwtVerifierRegistry jwtVerifierRegistry,
+            @Nonnull MetricRegistry metricRegistry
     ) {
         this.jwkProvider = requireNonNull(jwkProvider);
-        this.authTokenProvider = requireNonNull(authTokenProvider);
+        this.authContextProvider = requireNonNull(authContextProvider);
+        this.jwtVerifierRegistry = requireNonNull(jwtVerifierRegistry);
+        requireNonNull(metricRegistry);
+        missingKeyIdCounter = metricRegistry.counter(name(RequestJwkProvider.class, "missingKeyId"));
+        unknownKeyIdCounter = metricRegistry.counter(name(RequestJwkProvider.class, "unknownKeyId"));
+        jwkFailureCounter = metricRegistry.counter(name(RequestJwkProvider.class, "jwkFailures"));
     }
 
     @Override
     @Nullable
-    @Timed
     public Jwk get() {
 
-        Jwk jwk = null;
-
-        String authToken = authTokenProvider.get();
-
-        if (authToken != null) {
+        /* Decoded once per request by the AuthContext. JWT authenticity NOT validated here. */
+        DecodedJWT decodedJwt = authContextProvider.get().getDecodedJwt();
 
-            /* Decode authToken to get key ID (kid). JWT authenticity NOT validated here. */
-            String keyId = JWT.decode(authToken).getKeyId();
+        return decodedJwt == null ? null : get(decodedJwt);
+    }
 
-            LOGGER.debug("JWK Key ID for request: '{}'", keyId);
+    /**
+     * Gets the {@link Jwk} named by the key ID (kid) of an already decoded auth token.
+     *
+     * @param decodedJwt the decoded, unverified auth token.
+     * @return the signing key, or null if the key ID is missing or unknown.
+     */
+    @Nullable
+    @Timed(name = "jwkResolution")
+    public Jwk get(
+            @Nonnull DecodedJWT decodedJwt
+    ) {
+        Jwk jwk = null;
 
-            if (keyId != null) {
-                try {
-                    jwk = jwkProvider.get(keyId);
-                } catch (JwkException jwkException) {
-                    /* Log bad request criteria, and continue to return null. */
-                    LOGGER.warn("Request specified invalid JWK key ID (kid)", jwkException);
-                }
+        String keyId = decodedJwt.getKeyId();
+
+        LOGGER.debug("JWK Key ID for request: '{}'", keyId);
+
+        if (keyId == null) {
+            missingKeyIdCounter.inc();
+        } else {
+            try {
+                jwk = jwkProvider.get(keyId);
+            } catch (SigningKeyNotFoundException signingKeyNotFoundException) {
+                /* Key rotated out of the JWKS, so its prebuilt verifier is no longer needed. */
+                unknownKeyIdCounter.inc();
+                jwtVerifierRegistry.remove(keyId);
+                LOGGER.warn("Request specified unknown JWK key ID (kid)", signingKeyNotFoundException);
+            } catch (JwkException jwkException) {
+                /* Log bad request criteria, and continue to return null. */
+                jwkFailureCounter.inc();
+                LOGGER.warn("Request specified invalid JWK key ID (kid)", jwkException);
             }
         }
 
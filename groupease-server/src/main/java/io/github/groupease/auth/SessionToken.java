@@ -0,0 +1,69 @@
+package io.github.groupease.auth;
+
+import java.time.Instant;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Server-issued session token, sent by the client as a bearer token in place of the identity provider's token.
+ */
+@Immutable
+public class SessionToken {
+
+    private final String token;
+    private final Instant expiresAt;
+
+    /**
+     * Constructor.
+     *
+     * @param token the encoded, signed token.
+     * @param expiresAt when the token expires.
+     */
+    public SessionToken(
+            @Nonnull String token,
+            @Nonnull Instant expiresAt
+    ) {
+        this.token = requireNonNull(token);
+        this.expiresAt = requireNonNull(expiresAt);
+    }
+
+    @Nonnull
+    public String getToken() {
+        return token;
+    }
+
+    @Nonnull
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(
+            @Nullable Object o
+    ) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    @Nonnull
+    public String toString() {
+        /* Never log the token itself. */
+        return new ToStringBuilder(this)
+                .append("expiresAt", expiresAt)
+                .toString();
+    }
+
+}
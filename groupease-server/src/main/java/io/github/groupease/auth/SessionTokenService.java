@@ -0,0 +1,161 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Issues and verifies short-lived, HMAC-SHA256 signed session tokens.
+ * A session token is issued once the identity provider's RS256 token has been verified, and carries the
+ * internal user ID, so later requests need only a keyed hash to verify and no lookup by provider user ID.
+ */
+@ThreadSafe
+public class SessionTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /** Issuer ("iss") claim of session tokens. */
+    public static final String ISSUER = "groupease";
+
+    /** Claim holding the internal user ID. */
+    public static final String USER_ID_CLAIM = "uid";
+
+    private static final String ALGORITHM = "HS256";
+
+    private static final int GENERATED_SECRET_BYTES = 32;
+
+    private final Algorithm algorithm;
+    private final JWTVerifier jwtVerifier;
+    private final long ttlMillis;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     */
+    @Inject
+    public SessionTokenService(
+            @Nonnull Config config
+    ) {
+        requireNonNull(config);
+
+        String secret = config.getString("groupease.auth.sessionToken.secret");
+        byte[] secretBytes;
+
+        if (secret.isEmpty()) {
+            LOGGER.warn("No session token secret configured. Generated a random one; "
+                    + "session tokens will not be accepted by other instances or after a restart.");
+            secretBytes = new byte[GENERATED_SECRET_BYTES];
+            new SecureRandom().nextBytes(secretBytes);
+        } else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+
+        algorithm = Algorithm.HMAC256(secretBytes);
+
+        jwtVerifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .acceptLeeway(config.getLong("groupease.auth.jwtVerification.leeway"))
+                .build();
+
+        ttlMillis = config.getDuration("groupease.auth.sessionToken.ttl", TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Issues a session token for a user.
+     *
+     * @param userId the internal user ID.
+     * @param providerUserId the identity provider's ID for the user, used as the subject.
+     * @return the new session token.
+     */
+    @Nonnull
+    public SessionToken issue(
+            long userId,
+            @Nonnull String providerUserId
+    ) {
+        requireNonNull(providerUserId);
+
+        long now = System.currentTimeMillis();
+        Date expiresAt = new Date(now + ttlMillis);
+
+        String token = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject(providerUserId)
+                .withClaim(USER_ID_CLAIM, userId)
+                .withIssuedAt(new Date(now))
+                .withExpiresAt(expiresAt)
+                .sign(algorithm);
+
+        return new SessionToken(token, expiresAt.toInstant());
+    }
+
+    /**
+     * Checks whether a decoded token claims to be a session token. Authenticity is NOT validated here.
+     *
+     * @param decodedJwt the decoded, unverified JWT.
+     * @return true if the token is signed with HS256 and names this server as its issuer.
+     */
+    public boolean isSessionToken(
+            @Nonnull DecodedJWT decodedJwt
+    ) {
+        return ALGORITHM.equals(decodedJwt.getAlgorithm()) && ISSUER.equals(decodedJwt.getIssuer());
+    }
+
+    /**
+     * Verifies a session token.
+     *
+     * @param authToken the encoded session token.
+     * @return the verified JWT, or null if the token is not a valid session token.
+     */
+    @Nullable
+    public DecodedJWT verify(
+            @Nonnull String authToken
+    ) {
+        try {
+            return jwtVerifier.verify(authToken);
+        } catch (JWTVerificationException jwtVerificationException) {
+            LOGGER.warn("Invalid session token JWT!", jwtVerificationException);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the internal user ID from a verified session token.
+     *
+     * @param verifiedJwt a verified JWT.
+     * @return the internal user ID, or null if the JWT is not a session token.
+     */
+    @Nullable
+    public static Long getUserId(
+            @Nonnull DecodedJWT verifiedJwt
+    ) {
+        if (!ISSUER.equals(verifiedJwt.getIssuer())) {
+            return null;
+        }
+
+        Claim userIdClaim = verifiedJwt.getClaim(USER_ID_CLAIM);
+
+        return userIdClaim.isNull() ? null : userIdClaim.asLong();
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * REST-ful web service for exchanging an identity provider token for a {@link SessionToken}.
+ */
+@Path("session-tokens")
+@Produces(MediaType.APPLICATION_JSON)
+@Immutable
+public class SessionTokenWebService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Provider<AuthContext> authContextProvider;
+    private final UserService userService;
+    private final SessionTokenService sessionTokenService;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param authContextProvider provides the auth state for the current request.
+     * @param userService to ensure the current user is saved and get their internal ID.
+     * @param sessionTokenService to issue the session token.
+     */
+    @Inject
+    public SessionTokenWebService(
+            @Nonnull Provider<AuthContext> authContextProvider,
+            @Nonnull UserService userService,
+            @Nonnull SessionTokenService sessionTokenService
+    ) {
+        this.authContextProvider = requireNonNull(authContextProvider);
+        this.userService = requireNonNull(userService);
+        this.sessionTokenService = requireNonNull(sessionTokenService);
+    }
+
+    /**
+     * Issue a session token for the current user.
+     * Must be called with the identity provider's token, not with an earlier session token.
+     *
+     * @return the new {@link SessionToken}.
+     */
+    @POST
+    @Timed
+    @Nonnull
+    public SessionToken create() {
+        LOGGER.debug("SessionTokenWebService.create() called.");
+
+        if (authContextProvider.get().getSessionUserId() != null) {
+            throw new SessionTokenRenewalForbiddenException(
+                    "Session tokens can only be issued for identity provider tokens."
+            );
+        }
+
+        GroupeaseUser currentUser = userService.updateCurrentUser();
+
+        return sessionTokenService.issue(
+                currentUser.getId(),
+                currentUser.getProviderUserId()
+        );
+    }
+
+}
@@ -0,0 +1,73 @@
+package io.github.groupease.auth;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.google.common.collect.Iterables;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Mints RS256 auth tokens that pass the full identity provider verification chain,
+ * for load tests run against a local key set instead of the identity provider.
+ * Never use with a production signing key.
+ */
+@Immutable
+public class TestTokenMinter {
+
+    private final Algorithm algorithm;
+    private final String keyId;
+    private final String issuer;
+    private final String[] audience;
+
+    /**
+     * Constructor.
+     *
+     * @param privateKey the private key matching a public key in the configured key set.
+     * @param keyId the key ID (kid) of that public key.
+     * @param issuer the Issuer ("iss") claim value.
+     * @param audience the Audience ("aud") claim values.
+     */
+    public TestTokenMinter(
+            @Nonnull RSAPrivateKey privateKey,
+            @Nonnull String keyId,
+            @Nonnull String issuer,
+            @Nonnull List<String> audience
+    ) {
+        this.algorithm = Algorithm.RSA256(null, requireNonNull(privateKey));
+        this.keyId = requireNonNull(keyId);
+        this.issuer = requireNonNull(issuer);
+        this.audience = Iterables.toArray(audience, String.class);
+    }
+
+    /**
+     * Mints a signed auth token for a user.
+     *
+     * @param providerUserId the Subject ("sub") claim value.
+     * @param ttlMillis how long the token is valid, in milliseconds.
+     * @return the encoded auth token.
+     */
+    @Nonnull
+    public String mint(
+            @Nonnull String providerUserId,
+            long ttlMillis
+    ) {
+        long now = System.currentTimeMillis();
+
+        return JWT.create()
+                .withKeyId(keyId)
+                .withIssuer(issuer)
+                .withAudience(audience)
+                .withSubject(requireNonNull(providerUserId))
+                .withIssuedAt(new Date(now))
+                .withExpiresAt(new Date(now + ttlMillis))
+                .sign(algorithm);
+    }
+
+}
@@ -0,0 +1,136 @@
+package io.github.groupease.auth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Loads the JWK set from the jwks.json file in the "well-known" directory of the configured domain,
+ * or from any other JWKS document URL, such as a local file or classpath resource.
+ * Fetches with connect and read timeouts, so a hung identity provider cannot block the refresh thread.
+ * Does not provide any caching.
+ */
+@Immutable
+public class UrlJwkSetSource implements JwkSetSource {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<Map<String, List<Map<String, Object>>>> JWKS_TYPE =
+            new TypeReference<Map<String, List<Map<String, Object>>>>() {
+            };
+
+    private final URL jwksUrl;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     */
+    @Inject
+    public UrlJwkSetSource(
+            @Nonnull Config config
+    ) {
+        this(forDomain(config.getString("groupease.auth.jwkDomain")), config);
+    }
+
+    /**
+     * Constructor for a JWKS document at a specific URL.
+     *
+     * @param jwksUrl the URL of the JWKS document.
+     * @param config for getting the fetch timeouts.
+     */
+    public UrlJwkSetSource(
+            @Nonnull URL jwksUrl,
+            @Nonnull Config config
+    ) {
+        this(
+                jwksUrl,
+                Math.toIntExact(config.getDuration("groupease.auth.jwks.connectTimeout", TimeUnit.MILLISECONDS)),
+                Math.toIntExact(config.getDuration("groupease.auth.jwks.readTimeout", TimeUnit.MILLISECONDS))
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param jwksUrl the URL of the JWKS document.
+     * @param connectTimeoutMillis how long to wait to connect, in milliseconds.
+     * @param readTimeoutMillis how long to wait for each read, in milliseconds.
+     */
+    UrlJwkSetSource(
+            @Nonnull URL jwksUrl,
+            int connectTimeoutMillis,
+            int readTimeoutMillis
+    ) {
+        this.jwksUrl = requireNonNull(jwksUrl);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    @Nonnull
+    @Override
+    public List<Jwk> getAll() throws JwkException {
+        Map<String, List<Map<String, Object>>> document;
+        try {
+            URLConnection connection = jwksUrl.openConnection();
+            connection.setConnectTimeout(connectTimeoutMillis);
+            connection.setReadTimeout(readTimeoutMillis);
+            connection.setRequestProperty("Accept", "application/json");
+
+            try (InputStream inputStream = connection.getInputStream()) {
+                document = OBJECT_MAPPER.readValue(inputStream, JWKS_TYPE);
+            }
+        } catch (IOException ioException) {
+            throw new SigningKeyNotFoundException("Cannot obtain JWKS from " + jwksUrl, ioException);
+        }
+
+        List<Map<String, Object>> keys = document == null ? null : document.get("keys");
+
+        if (keys == null || keys.isEmpty()) {
+            throw new SigningKeyNotFoundException("No keys found in " + jwksUrl, null);
+        }
+
+        List<Jwk> jwks = new ArrayList<>(keys.size());
+        for (Map<String, Object> values : keys) {
+            jwks.add(Jwk.fromValues(values));
+        }
+        return jwks;
+    }
+
+    /**
+     * Gets the URL of the jwks.json file in the "well-known" directory of a domain.
+     */
+    @Nonnull
+    private static URL forDomain(
+            @Nonnull String domain
+    ) {
+        String base = domain.startsWith("http") ? domain : "https://" + domain;
+        try {
+            return new URL(new URL(base), "/.well-known/jwks.json");
+        } catch (MalformedURLException malformedURLException) {
+            throw new IllegalArgumentException("Invalid JWK domain '" + domain + "'", malformedURLException);
+        }
+    }
+
+}
@@ -1,65 +1,193 @@
 package io.github.groupease.auth;
 
 import java.lang.invoke.MethodHandles;
+import java.util.EnumMap;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Provides the validated and trusted {@link DecodedJWT} for the auth token on the current request.
+ * The {@link AuthContext} decodes the token once through {@link #decode(String)} and passes the result to
+ * {@link #verify(String, DecodedJWT)}, which hands it on to the key lookup, so no stage decodes it again.
+ * Validation runs cheapest stage first, and stops at the first failing stage:
+ * structural decode, then time claims, then issuer and audience, then key lookup, then signature.
+ * Each rejection increments the counter for its {@link AuthTokenRejection} reason.
+ * Server-issued session tokens are verified by the {@link SessionTokenService} with a keyed hash.
+ * Identity provider tokens already verified on an earlier request are served from the {@link VerifiedTokenCache}.
  */
 public class ValidatedAuthJwtProvider implements Provider<DecodedJWT> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final Provider<String> authTokenProvider;
-    private final Provider<JWTVerifier> jwtVerifierProvider;
+    private final JwtVerifierProvider jwtVerifierProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SessionTokenService sessionTokenService;
+    private final JwtClaimChecker jwtClaimChecker;
+    private final Map<AuthTokenRejection, Counter> rejectionCounters = new EnumMap<>(AuthTokenRejection.class);
+    private final Timer decodeTimer;
+    private final Timer signatureVerificationTimer;
 
     /**
      * Injectable constructor.
      *
      * @param authTokenProvider provides the encoded auth token from the request header.
-     * @param jwtVerifierProvider provides the verifier for the JWT auth token.
+     * @param jwtVerifierProvider provides the verifier for the signing key of a decoded JWT auth token.
+     * @param verifiedTokenCache cache of previously verified auth tokens.
+     * @param sessionTokenService verifies server-issued session tokens.
+     * @param jwtClaimChecker runs the cheap claim checks before key lookup.
+     * @param metricRegistry to time decode and signature verification, and count rejections by reason.
      */
     @Inject
     public ValidatedAuthJwtProvider(
             @Nonnull @AuthToken Provider<String> authTokenProvider,
-            @Nonnull Provider<JWTVerifier> jwtVerifierProvider
+            @Nonnull JwtVerifierProvider jwtVerifierProvider,
+            @Nonnull VerifiedTokenCache verifiedTokenCache,
+            @Nonnull SessionTokenService sessionTokenService,
+            @Nonnull JwtClaimChecker jwtClaimChecker,
+            @Nonnull MetricRegistry metricRegistry
     ) {
         this.authTokenProvider = requireNonNull(authTokenProvider);
         this.jwtVerifierProvider = requireNonNull(jwtVerifierProvider);
+        this.verifiedTokenCache = requireNonNull(verifiedTokenCache);
+        this.sessionTokenService = requireNonNull(sessionTokenService);
+        this.jwtClaimChecker = requireNonNull(jwtClaimChecker);
+        requireNonNull(metricRegistry);
+
+        decodeTimer = metricRegistry.timer(name(ValidatedAuthJwtProvider.class, "decode"));
+        signatureVerificationTimer = metricRegistry.timer(name(ValidatedAuthJwtProvider.class, "signatureVerification"));
+
+        for (AuthTokenRejection rejection : AuthTokenRejection.values()) {
+            rejectionCounters.put(
+                    rejection,
+                    metricRegistry.counter(name(ValidatedAuthJwtProvider.class, "rejected", rejection.getMetricName()))
+            );
+        }
     }
 
+    /**
+     * Decodes and verifies the auth token on the current request.
+     * The request pipeline goes through the {@link AuthContext} instead, which decodes the token only once.
+     *
+     * @return the verified JWT, or null if the request has no valid auth token.
+     */
     @Override
     @Nullable
     @Timed
     public DecodedJWT get() {
 
         String authToken = authTokenProvider.get();
-        JWTVerifier jwtVerifier = jwtVerifierProvider.get();
 
-        DecodedJWT validAuthJwt = null;
+        return authToken == null ? null : verify(authToken, decode(authToken));
+    }
+
+    /**
+     * Structurally decodes an auth token. JWT authenticity is NOT validated here.
+     *
+     * @param authToken the encoded auth token.
+     * @return the decoded, unverified JWT, or null if the token is malformed.
+     */
+    @Nullable
+    public DecodedJWT decode(
+            @Nonnull String authToken
+    ) {
+        try (Timer.Context ignored = decodeTimer.time()) {
+            return JWT.decode(authToken);
+        } catch (JWTDecodeException jwtDecodeException) {
+            LOGGER.warn("Malformed auth token JWT!", jwtDecodeException);
+            return null;
+        }
+    }
+
+    /**
+     * Verifies an auth token that has already been decoded.
+     *
+     * @param authToken the encoded auth token.
+     * @param decodedJwt the token as returned by {@link #decode(String)}.
+     * @return the verified JWT, or null if the token is not valid.
+     */
+    @Nullable
+    @Timed
+    public DecodedJWT verify(
+            @Nonnull String authToken,
+            @Nullable DecodedJWT decodedJwt
+    ) {
+        /* Stage 1: structural decode. */
+        if (decodedJwt == null) {
+            return reject(AuthTokenRejection.MALFORMED);
+        }
+
+        /* Stage 2: expiration and not-before, allowing for leeway. */
+        AuthTokenRejection rejection = jwtClaimChecker.checkTimes(decodedJwt);
+        if (rejection != null) {
+            return reject(rejection);
+        }
+
+        /* Session tokens need only a keyed hash, with no key lookup. */
+        if (sessionTokenService.isSessionToken(decodedJwt)) {
+            DecodedJWT validSessionJwt = sessionTokenService.verify(authToken);
+            return validSessionJwt == null ? reject(AuthTokenRejection.SIGNATURE) : validSessionJwt;
+        }
+
+        /* Stage 3: issuer and audience. */
+        rejection = jwtClaimChecker.checkIssuerAndAudience(decodedJwt);
+        if (rejection != null) {
+            return reject(rejection);
+        }
+
+        /* Skip key lookup and signature verification for recently verified tokens. */
+        DecodedJWT validAuthJwt = verifiedTokenCache.get(authToken);
 
-        if (authToken != null && jwtVerifier != null) {
-            try {
-                validAuthJwt = jwtVerifier.verify(authToken);
-            } catch (JWTVerificationException jwtVerificationException) {
-                LOGGER.warn("Invalid auth token JWT!", jwtVerificationException);
-            }
+        if (validAuthJwt != null) {
+            return validAuthJwt;
         }
 
+        /* Stage 4: key lookup. */
+        JWTVerifier jwtVerifier = jwtVerifierProvider.get(decodedJwt);
+
+        if (jwtVerifier == null) {
+            return reject(AuthTokenRejection.UNKNOWN_KEY);
+        }
+
+        /* Stage 5: signature. */
+        try (Timer.Context ignored = signatureVerificationTimer.time()) {
+            validAuthJwt = jwtVerifier.verify(authToken);
+        } catch (JWTVerificationException jwtVerificationException) {
+            LOGGER.warn("Invalid auth token JWT!", jwtVerificationException);
+            return reject(AuthTokenRejection.SIGNATURE);
+        }
+
+        verifiedTokenCache.put(authToken, validAuthJwt);
+
         return validAuthJwt;
     }
 
+    @Nullable
+    private DecodedJWT reject(
+            @Nonnull AuthTokenRejection rejection
+    ) {
+        LOGGER.debug("Rejected auth token JWT: {}", rejection);
+        rejectionCounters.get(rejection).inc();
+        return null;
+    }
+
 }
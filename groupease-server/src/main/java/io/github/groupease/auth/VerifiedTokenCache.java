@@ -0,0 +1,137 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded cache of auth tokens that have already passed full signature verification.
+ * Entries are keyed by a SHA-256 digest of the encoded token, so the token itself is never retained.
+ * An entry is no longer served once its "exp" claim minus the configured leeway has passed,
+ * and the least recently used entries are evicted when the cache is full.
+ */
+@ThreadSafe
+public class VerifiedTokenCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Cache<HashCode, DecodedJWT> cache;
+    private final long leewayMillis;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     * @param metricRegistry to record cache hits, misses and hit ratio.
+     */
+    @Inject
+    public VerifiedTokenCache(
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        requireNonNull(config);
+        requireNonNull(metricRegistry);
+
+        leewayMillis = TimeUnit.SECONDS.toMillis(
+                config.getLong("groupease.auth.jwtVerification.leeway")
+        );
+
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(config.getLong("groupease.auth.verifiedTokenCache.maximumSize"))
+                .build();
+
+        hitCounter = metricRegistry.counter(name(VerifiedTokenCache.class, "hits"));
+        missCounter = metricRegistry.counter(name(VerifiedTokenCache.class, "misses"));
+        metricRegistry.register(name(VerifiedTokenCache.class, "hitRatio"), new HitRatioGauge(hitCounter, missCounter));
+    }
+
+    /**
+     * Gets the previously verified JWT for the encoded auth token, if still usable.
+     *
+     * @param authToken the encoded auth token.
+     * @return the verified JWT, or null on a cache miss.
+     */
+    @Nullable
+    public DecodedJWT get(
+            @Nonnull String authToken
+    ) {
+        HashCode key = digest(authToken);
+
+        DecodedJWT verifiedJwt = cache.getIfPresent(key);
+
+        if (verifiedJwt != null && !isUsable(verifiedJwt)) {
+            LOGGER.debug("Evicting expired verified auth token.");
+            cache.invalidate(key);
+            verifiedJwt = null;
+        }
+
+        if (verifiedJwt == null) {
+            missCounter.inc();
+        } else {
+            hitCounter.inc();
+        }
+
+        return verifiedJwt;
+    }
+
+    /**
+     * Stores a JWT that has passed full verification.
+     * Tokens without an "exp" claim, or already past it, are not cached.
+     *
+     * @param authToken the encoded auth token.
+     * @param verifiedJwt the verified JWT for the token.
+     */
+    public void put(
+            @Nonnull String authToken,
+            @Nonnull DecodedJWT verifiedJwt
+    ) {
+        if (isUsable(verifiedJwt)) {
+            cache.put(digest(authToken), verifiedJwt);
+        }
+    }
+
+    /**
+     * Gets the approximate number of cached tokens.
+     *
+     * @return the cache size.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    private boolean isUsable(
+            @Nonnull DecodedJWT verifiedJwt
+    ) {
+        Date expiresAt = verifiedJwt.getExpiresAt();
+        return expiresAt != null && System.currentTimeMillis() < expiresAt.getTime() - leewayMillis;
+    }
+
+    private static HashCode digest(
+            @Nonnull String authToken
+    ) {
+        return Hashing.sha256().hashString(authToken, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,158 @@
+package io.github.groupease.channel;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.google.common.base.Ticker;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory directory of every {@link Channel}, served as an immutable {@link ChannelDirectorySnapshot}.
+ * The {@link JpaChannelDao} calls {@link #invalidate()} once a transaction that changed a channel completes,
+ * so this instance's own changes are seen on the next read. Changes made by other server instances are seen
+ * once the snapshot is older than its maximum age. The first read after either reloads the snapshot from the
+ * {@link ChannelDao} and swaps it in whole; every other read is served from memory.
+ */
+@ThreadSafe
+public class ChannelDirectory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Provider<ChannelDao> channelDaoProvider;
+
+    private final long maxAgeNanos;
+
+    private final Ticker ticker;
+
+    /* Moves on every local change, so a snapshot loaded before the change is known to be stale. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Object loadLock = new Object();
+
+    /* The snapshot together with the generation and time it was loaded at, swapped in whole. */
+    private volatile Loaded loaded;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param channelDaoProvider provides the {@link ChannelDao} to load snapshots from.
+     * @param config for getting the maximum age of a snapshot.
+     */
+    @Inject
+    public ChannelDirectory(
+            @Nonnull Provider<ChannelDao> channelDaoProvider,
+            @Nonnull Config config
+    ) {
+        this(
+                channelDaoProvider,
+                config.getDuration("groupease.channel.directory.maxAge", TimeUnit.NANOSECONDS),
+                Ticker.systemTicker()
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param channelDaoProvider provides the {@link ChannelDao} to load snapshots from.
+     * @param maxAgeNanos how long a snapshot is served before it is reloaded, in nanoseconds.
+     * @param ticker the time source for snapshot ages.
+     */
+    ChannelDirectory(
+            @Nonnull Provider<ChannelDao> channelDaoProvider,
+            long maxAgeNanos,
+            @Nonnull Ticker ticker
+    ) {
+        this.channelDaoProvider = requireNonNull(channelDaoProvider);
+        this.maxAgeNanos = maxAgeNanos;
+        this.ticker = requireNonNull(ticker);
+    }
+
+    /**
+     * Gets the current snapshot, loading it if a change has completed since the last load
+     * or the last load is older than the maximum age. Concurrent readers of a stale directory share one load.
+     *
+     * @return the current {@link ChannelDirectorySnapshot}.
+     */
+    @Nonnull
+    public ChannelDirectorySnapshot get() {
+        Loaded current = loaded;
+
+        if (isCurrent(current)) {
+            return current.snapshot;
+        }
+
+        synchronized (loadLock) {
+            current = loaded;
+
+            if (!isCurrent(current)) {
+                /* Read the generation before loading, so a change completing mid-load leaves this snapshot stale. */
+                long loadGeneration = generation.get();
+                long loadedAtNanos = ticker.read();
+
+                current = new Loaded(
+                        new ChannelDirectorySnapshot(channelDaoProvider.get().list()),
+                        loadGeneration,
+                        loadedAtNanos
+                );
+                loaded = current;
+                LOGGER.debug("Loaded {} channels into directory version {}.",
+                        current.snapshot.getChannels().size(), current.snapshot.getVersion());
+            }
+
+            return current.snapshot;
+        }
+    }
+
+    /**
+     * Marks the directory stale, so the next read reloads it.
+     * Call only once the change is committed, or rolled back, so the reload cannot miss or keep it.
+     */
+    public void invalidate() {
+        long newGeneration = generation.incrementAndGet();
+        LOGGER.debug("Channel directory invalidated; now generation {}.", newGeneration);
+    }
+
+    private boolean isCurrent(
+            Loaded current
+    ) {
+        return current != null
+                && current.generation == generation.get()
+                && ticker.read() - current.loadedAtNanos < maxAgeNanos;
+    }
+
+    /**
+     * A loaded snapshot, with the generation and time it was loaded at.
+     */
+    @Immutable
+    private static final class Loaded {
+
+        private final ChannelDirectorySnapshot snapshot;
+
+        private final long generation;
+
+        private final long loadedAtNanos;
+
+        private Loaded(
+                @Nonnull ChannelDirectorySnapshot snapshot,
+                long generation,
+                long loadedAtNanos
+        ) {
+            this.snapshot = snapshot;
+            this.generation = generation;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package io.github.groupease.channel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Every {@link Channel} in the system, ordered by name, as loaded by the {@link ChannelDirectory}.
+ * The version is a fingerprint of the channels themselves, so every server instance holding the same
+ * channels reports the same version, and any change to a channel changes it.
+ */
+@Immutable
+public final class ChannelDirectorySnapshot {
+
+    private final long version;
+    private final List<Channel> channels;
+
+    /**
+     * Constructor.
+     *
+     * @param channels every {@link Channel} instance, ordered by name.
+     */
+    public ChannelDirectorySnapshot(
+            @Nonnull List<Channel> channels
+    ) {
+        this.channels = ImmutableList.copyOf(channels);
+        this.version = fingerprint(this.channels);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Nonnull
+    public List<Channel> getChannels() {
+        return channels;
+    }
+
+    private static long fingerprint(
+            @Nonnull List<Channel> channels
+    ) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(channels.size());
+
+        for (Channel channel : channels) {
+            /* Lengths go first, so text moving between name and description still changes the fingerprint. */
+            hasher.putLong(channel.getId())
+                    .putInt(channel.getName().length())
+                    .putString(channel.getName(), StandardCharsets.UTF_8)
+                    .putInt(channel.getDescription().length())
+                    .putString(channel.getDescription(), StandardCharsets.UTF_8)
+                    .putLong(channel.getLastUpdatedOn().toEpochMilli());
+        }
+
+        return hasher.hash().asLong();
+    }
+
+    @Override
+    public boolean equals(
+            @Nullable Object o
+    ) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+
+}
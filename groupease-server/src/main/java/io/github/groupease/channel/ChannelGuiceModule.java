@@ -1,5 +1,7 @@
 package io.github.groupease.channel;
 
+import javax.inject.Singleton;
+
 import com.google.inject.AbstractModule;
 
 /**
@@ -12,6 +14,7 @@ public class ChannelGuiceModule extends AbstractModule {
         //bind(ChannelDao.class).to(MockChannelDao.class);
         bind(ChannelDao.class).to(JpaChannelDao.class);
         bind(ChannelService.class).to(DefaultChannelService.class);
+        bind(ChannelDirectory.class).in(Singleton.class);
     }
 
 }
@@ -17,15 +17,19 @@ public interface ChannelService {
     @Nonnull
     List<Channel> list();
 
+    /**
+     * Fetch the current version of the directory of all {@link Channel} instances.
+     *
+     * @return the current {@link ChannelDirectorySnapshot}.
+     */
+    @Nonnull
+    ChannelDirectorySnapshot getDirectory();
+
     /**
      * Fetch all {@link Channel} instances of which the provided user ID is a member.
      *
-<<<<<<< HEAD
      * @param userId of the user to look up.
      * @return the list of all {@link Channel} instances that include the userId as a member.
-=======
-     * @return the list of all {@link Channel} instances that include the memberId.
->>>>>>> changes
      */
     @Nonnull
     List<Channel> list(
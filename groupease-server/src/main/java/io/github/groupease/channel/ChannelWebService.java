@@ -1,7 +1,6 @@
 package io.github.groupease.channel;
 
 import java.lang.invoke.MethodHandles;
-import java.util.List;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -16,9 +15,15 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import com.codahale.metrics.annotation.Timed;
+import io.github.groupease.auth.ChannelOwnerRequired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,21 +54,42 @@ public class ChannelWebService {
     }
 
     /**
-     * Fetch all {@link Channel} instances in the system.
+     * Fetch all {@link Channel} instances in the system, or those the user is a member of.
+     * The full list carries the directory version as its ETag, so clients can revalidate with
+     * {@code If-None-Match} and get a 304 response while no channel has changed.
      *
-     * @return the list of all {@link Channel} instances.
+     * @param userId the optional ID of the member whose channels to fetch.
+     * @param request the request, for evaluating {@code If-None-Match}.
+     * @return the list of {@link Channel} instances.
      */
     @GET
     @Timed
     @Nonnull
-    public List<Channel> list(
-            @QueryParam("userId") Long userId
+    public Response list(
+            @QueryParam("userId") Long userId,
+            @Context Request request
     ) {
         LOGGER.debug("ChannelWebService.list() called with memberId: '{}'.", userId);
         if (userId != null) {
-            return channelService.list(userId);
-        } else 
-            return channelService.list();
+            return Response.ok(channelService.list(userId)).build();
+        }
+
+        ChannelDirectorySnapshot directory = channelService.getDirectory();
+        EntityTag entityTag = new EntityTag(Long.toString(directory.getVersion()));
+
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoCache(true);
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+
+        if (notModified != null) {
+            return notModified.tag(entityTag).cacheControl(cacheControl).build();
+        }
+
+        return Response.ok(directory.getChannels())
+                .tag(entityTag)
+                .cacheControl(cacheControl)
+                .build();
     }
 
     /**
@@ -94,6 +120,7 @@ public class ChannelWebService {
     @PUT
     @Path("{id}")
     @Consumes(MediaType.APPLICATION_JSON)
+    @ChannelOwnerRequired("id")
     @Timed
     @Nonnull
     public Channel update(
@@ -133,6 +160,7 @@ public class ChannelWebService {
      */
     @DELETE
     @Path("{id}")
+    @ChannelOwnerRequired("id")
     @Timed
     public void delete(
             @PathParam("id") Long id
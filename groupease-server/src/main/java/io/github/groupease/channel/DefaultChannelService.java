@@ -24,17 +24,21 @@ public class DefaultChannelService implements ChannelService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final ChannelDao channelDao;
+    private final ChannelDirectory channelDirectory;
 
     /**
      * Injectable constructor.
      *
      * @param channelDao {@link ChannelDao} instance.
+     * @param channelDirectory serves the list of all channels from memory.
      */
     @Inject
     public DefaultChannelService(
-            @Nonnull ChannelDao channelDao
+            @Nonnull ChannelDao channelDao,
+            @Nonnull ChannelDirectory channelDirectory
     ) {
         this.channelDao = requireNonNull(channelDao);
+        this.channelDirectory = requireNonNull(channelDirectory);
     }
 
     @Nonnull
@@ -42,7 +46,15 @@ public class DefaultChannelService implements ChannelService {
     @Timed
     public List<Channel> list() {
         LOGGER.debug("DefaultChannelService.list() called.");
-        return channelDao.list();
+        return channelDirectory.get().getChannels();
+    }
+
+    @Nonnull
+    @Override
+    @Timed
+    public ChannelDirectorySnapshot getDirectory() {
+        LOGGER.debug("DefaultChannelService.getDirectory() called.");
+        return channelDirectory.get();
     }
 
     @Nonnull
@@ -80,25 +92,8 @@ public class DefaultChannelService implements ChannelService {
             throw new ChannelNameMissingException("Channel name is required.");
         }
 
-<<<<<<< HEAD
-        /* Confirm current user is owner of channel. */
-
-        /* Get current user. */
-        GroupeaseUser currentUser = getCurrentUser();
-
-        /* Get channel member. */
-        Member member = memberDao.getForUser(
-                currentUser.getId(),
-                toUpdate.getId()
-        );
-
-        if (member == null || !member.isOwner()) {
-            throw new ChannelEditByNonOwnerException();
-        }
-=======
         /* Confirm toUpdate exists and current user has access. */
         channelDao.getById(toUpdate.getId());
->>>>>>> changes
 
         return channelDao.update(toUpdate);
     }
@@ -136,23 +131,6 @@ public class DefaultChannelService implements ChannelService {
         /* Confirm channel to delete exists and current user has access. */
         channelDao.getById(id);
 
-<<<<<<< HEAD
-        /* Get current user. */
-        GroupeaseUser currentUser = getCurrentUser();
-
-        /* Get channel member. */
-        Member member = memberDao.getForUser(
-                currentUser.getId(),
-                id
-        );
-
-        if (member == null || !member.isOwner()) {
-            throw new ChannelEditByNonOwnerException();
-        }
-
-        /* Delete channel. */
-=======
->>>>>>> changes
         channelDao.delete(id);
     }
 
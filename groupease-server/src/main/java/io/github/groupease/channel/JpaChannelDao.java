@@ -9,8 +9,11 @@ import javax.annotation.concurrent.Immutable;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
+import javax.transaction.Synchronization;
 
 import com.codahale.metrics.annotation.Timed;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,17 +28,21 @@ public class JpaChannelDao implements ChannelDao {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final EntityManager entityManager;
+    private final ChannelDirectory channelDirectory;
 
     /**
      * Injectable constructor.
      *
      * @param entityManager to talk to the database.
+     * @param channelDirectory to invalidate when channels change.
      */
     @Inject
     public JpaChannelDao(
-            @Nonnull EntityManager entityManager
+            @Nonnull EntityManager entityManager,
+            @Nonnull ChannelDirectory channelDirectory
     ) {
         this.entityManager = requireNonNull(entityManager);
+        this.channelDirectory = requireNonNull(channelDirectory);
     }
 
     @Nonnull
@@ -120,6 +127,7 @@ public class JpaChannelDao implements ChannelDao {
         LOGGER.debug("JpaChannelDao.update({}) called.", toUpdate);
 
         ChannelDto channelDto = entityManager.merge(toUpdate);
+        invalidateDirectoryOnCompletion();
 
         /* Refresh instance. */
         entityManager.flush();
@@ -138,6 +146,7 @@ public class JpaChannelDao implements ChannelDao {
         LOGGER.debug("JpaChannelDao.create({}) called.", toCreate);
 
         entityManager.persist(toCreate);
+        invalidateDirectoryOnCompletion();
 
         /* Refresh instance. */
         entityManager.flush();
@@ -162,6 +171,32 @@ public class JpaChannelDao implements ChannelDao {
         }
 
         entityManager.remove(channelDto);
+        invalidateDirectoryOnCompletion();
+    }
+
+    /**
+     * Invalidates the {@link ChannelDirectory} once the current transaction completes, so a reload cannot
+     * read the directory before the change is visible. Rollbacks invalidate too, in case a read inside the
+     * transaction loaded the uncommitted change.
+     */
+    private void invalidateDirectoryOnCompletion() {
+        Transaction transaction = entityManager.unwrap(Session.class).getTransaction();
+
+        if (!transaction.isActive()) {
+            channelDirectory.invalidate();
+            return;
+        }
+
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                channelDirectory.invalidate();
+            }
+        });
     }
 
 }
@@ -154,7 +154,6 @@ public class DefaultChannelMemberService implements ChannelMemberService {
 
     @Override
     @Timed
-    @Transactional
     public void delete(
             long memberId
     ) {
@@ -163,11 +162,17 @@ public class DefaultChannelMemberService implements ChannelMemberService {
                 memberId
         );
 
+        /* Resolve the current user first, as it may wait on the identity provider. The delete is transactional. */
+        GroupeaseUser currentUser = getCurrentUser();
+
         Member memberToDelete = getByMemberId(memberId);
 
         long channelId = memberToDelete.getChannel().getId();
 
-        Member currentMember = getForCurrentUser(channelId);
+        Member currentMember = getForUser(
+                channelId,
+                currentUser.getId()
+        );
 
         if (currentMember.isOwner() || currentMember.getId().equals(memberId)) {
             memberDao.delete(memberToDelete);
@@ -178,8 +183,8 @@ public class DefaultChannelMemberService implements ChannelMemberService {
     }
 
     private GroupeaseUser getCurrentUser() {
-        /* Get current user, ensuring saved in DB and refreshing from source. */
-        return userService.updateCurrentUser();
+        /* Get current user, ensuring saved in DB. Refreshed from source only when the saved profile is stale. */
+        return userService.getCurrentUser();
     }
 
 }
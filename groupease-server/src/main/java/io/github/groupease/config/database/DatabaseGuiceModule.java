@@ -4,10 +4,12 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
+import javax.inject.Singleton;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.persist.jpa.JpaPersistModule;
 import com.typesafe.config.Config;
+import io.github.groupease.db.ChannelRoleCache;
 
 import static java.util.Objects.requireNonNull;
 
@@ -42,6 +44,9 @@ public class DatabaseGuiceModule extends AbstractModule {
                 new JpaPersistModule(persistenceUnitName)
                         .properties(dbProperties)
         );
+
+        /* Roles shared by all requests, invalidated as members change. */
+        bind(ChannelRoleCache.class).in(Singleton.class);
     }
 
     private Map<String, String> getDbProperties() {
@@ -80,6 +85,11 @@ public class DatabaseGuiceModule extends AbstractModule {
                 dbPropertyConfig.getString("formatSql")
         );
 
+        dbProperties.put(
+                "hibernate.connection.handling_mode",
+                dbPropertyConfig.getString("connectionHandlingMode")
+        );
+
         return dbProperties;
     }
 
@@ -2,11 +2,15 @@ package io.github.groupease.config.guice;
 
 import java.lang.invoke.MethodHandles;
 
+import javax.servlet.ServletContextEvent;
+import javax.ws.rs.client.Client;
+
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.servlet.GuiceServletContextListener;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import io.github.groupease.auth.JwksKeyStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,4 +62,15 @@ public class GroupeaseContextListener extends GuiceServletContextListener {
         return GroupeaseContextListener.getGuiceInjector();
     }
 
+    @Override
+    public void contextDestroyed(ServletContextEvent servletContextEvent) {
+        /* Stop background threads so they do not outlive the app. */
+        GroupeaseContextListener.getGuiceInjector().getInstance(JwksKeyStore.class).close();
+
+        /* Close pooled HTTP connections. */
+        GroupeaseContextListener.getGuiceInjector().getInstance(Client.class).close();
+
+        super.contextDestroyed(servletContextEvent);
+    }
+
 }
@@ -1,10 +1,13 @@
 package io.github.groupease.config.guice;
 
 import javax.annotation.Nonnull;
+import javax.inject.Singleton;
 import javax.ws.rs.client.Client;
 
+import com.codahale.metrics.MetricRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
+import com.palominolabs.metrics.guice.MetricsInstrumentationModule;
 import com.typesafe.config.Config;
 import io.github.groupease.auth.AuthGuiceModule;
 import io.github.groupease.channel.ChannelGuiceModule;
@@ -21,6 +24,7 @@ import static java.util.Objects.requireNonNull;
 public class GroupeaseGuiceModule extends AbstractModule {
 
     private final Config config;
+    private final MetricRegistry metricRegistry = new MetricRegistry();
 
     /**
      * Constructor.
@@ -44,9 +48,17 @@ public class GroupeaseGuiceModule extends AbstractModule {
         install(new GroupeaseServletGuiceModule());
         install(new UserGuiceModule());
 
+        /* Record @Timed and other metrics annotations on Guice-constructed instances. */
+        install(
+                MetricsInstrumentationModule.builder()
+                        .withMetricRegistry(metricRegistry)
+                        .build()
+        );
+
         /* Add bindings. */
-        bind(Client.class).toProvider(ClientProvider.class);
+        bind(Client.class).toProvider(ClientProvider.class).in(Singleton.class);
         bind(Config.class).toInstance(config);
+        bind(MetricRegistry.class).toInstance(metricRegistry);
         bind(ObjectMapper.class).toProvider(ObjectMapperProvider.class);
     }
 
@@ -5,9 +5,14 @@ import java.util.Map;
 
 import javax.inject.Singleton;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.servlets.MetricsServlet;
+import com.google.inject.Provides;
 import com.google.inject.persist.PersistFilter;
 import com.google.inject.servlet.ServletModule;
+import io.github.groupease.auth.AdminTokenFilter;
 import io.github.groupease.config.jersey.GroupeaseJerseyConfig;
+import io.github.groupease.user.avatar.AvatarServlet;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.TracingConfig;
 import org.glassfish.jersey.servlet.ServletContainer;
@@ -21,13 +26,20 @@ public class GroupeaseServletGuiceModule extends ServletModule {
     @Override
     protected void configureServlets() {
         configureJpaFilter();
+        configureAvatarServlet();
         configureJerseyFilter();
+        configureMetricsServlet();
     }
 
     private void configureJpaFilter() {
         filter("/*").through(PersistFilter.class);
     }
 
+    private void configureAvatarServlet() {
+        /* Registered before Jersey so that it takes these paths out of the /api/* mapping. */
+        serveRegex("^/api/users/[0-9]+/avatar$").with(AvatarServlet.class);
+    }
+
     private void configureJerseyFilter() {
 
         bind(ServletContainer.class).in(Singleton.class);
@@ -54,4 +66,24 @@ public class GroupeaseServletGuiceModule extends ServletModule {
 
     }
 
+    private void configureMetricsServlet() {
+        /* Not behind Jersey's auth filter, so guarded by its own token check and off by default. */
+        filter("/admin/*").through(AdminTokenFilter.class);
+        serve("/admin/metrics").with(MetricsServlet.class);
+    }
+
+    /**
+     * Provides the servlet exposing the application's metrics as JSON.
+     *
+     * @param metricRegistry the application's metrics.
+     * @return the metrics servlet.
+     */
+    @Provides
+    @Singleton
+    private MetricsServlet provideMetricsServlet(
+            MetricRegistry metricRegistry
+    ) {
+        return new MetricsServlet(metricRegistry);
+    }
+
 }
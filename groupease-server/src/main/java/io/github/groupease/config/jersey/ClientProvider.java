@@ -1,5 +1,7 @@
 package io.github.groupease.config.jersey;
 
+import java.util.concurrent.TimeUnit;
+
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import javax.inject.Inject;
@@ -7,36 +9,107 @@ import javax.inject.Provider;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import com.typesafe.config.Config;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Provides the configured Jersey client for communication with REST servers.
+ * The client sends requests through a pool of persistent (keep-alive) connections, and is meant to be
+ * bound as a singleton and shared by the whole process. Pool usage is exposed as gauges.
  */
 @Immutable
 public class ClientProvider implements Provider<Client> {
 
+    private static final String CONFIG_PATH = "groupease.http.client";
+
     private final ObjectMapperContextResolver objectMapperContextResolver;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
 
     /**
      * Injectable constructor.
      *
      * @param objectMapperContextResolver to register.
+     * @param config for getting timeouts and pool sizes.
+     * @param metricRegistry to expose connection pool usage.
      */
     @Inject
     public ClientProvider(
-            @Nonnull ObjectMapperContextResolver objectMapperContextResolver
+            @Nonnull ObjectMapperContextResolver objectMapperContextResolver,
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry
     ) {
         this.objectMapperContextResolver = requireNonNull(objectMapperContextResolver);
+        requireNonNull(metricRegistry);
+
+        Config clientConfig = config.getConfig(CONFIG_PATH);
+
+        connectTimeoutMillis = (int) clientConfig.getDuration("connectTimeout", TimeUnit.MILLISECONDS);
+        readTimeoutMillis = (int) clientConfig.getDuration("readTimeout", TimeUnit.MILLISECONDS);
+
+        connectionManager = new PoolingHttpClientConnectionManager(
+                clientConfig.getDuration("connectionTtl", TimeUnit.MILLISECONDS),
+                TimeUnit.MILLISECONDS
+        );
+        connectionManager.setMaxTotal(clientConfig.getInt("maxConnections"));
+        connectionManager.setDefaultMaxPerRoute(clientConfig.getInt("maxConnectionsPerRoute"));
+        connectionManager.setValidateAfterInactivity(
+                (int) clientConfig.getDuration("validateAfterInactivity", TimeUnit.MILLISECONDS)
+        );
+
+        metricRegistry.register(
+                name(ClientProvider.class, "pool", "leased"),
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getLeased()
+        );
+        metricRegistry.register(
+                name(ClientProvider.class, "pool", "available"),
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getAvailable()
+        );
+        metricRegistry.register(
+                name(ClientProvider.class, "pool", "pending"),
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getPending()
+        );
+        metricRegistry.register(
+                name(ClientProvider.class, "pool", "max"),
+                (Gauge<Integer>) () -> connectionManager.getTotalStats().getMax()
+        );
+        metricRegistry.register(
+                name(ClientProvider.class, "pool", "utilization"),
+                new RatioGauge() {
+                    @Override
+                    protected Ratio getRatio() {
+                        PoolStats poolStats = connectionManager.getTotalStats();
+                        return Ratio.of(poolStats.getLeased(), poolStats.getMax());
+                    }
+                }
+        );
     }
 
     @Nonnull
     @Override
     public Client get() {
-        return ClientBuilder.newClient()
+        ClientConfig clientConfig = new ClientConfig()
+                .connectorProvider(new ApacheConnectorProvider())
+                .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+                .property(ClientProperties.CONNECT_TIMEOUT, connectTimeoutMillis)
+                .property(ClientProperties.READ_TIMEOUT, readTimeoutMillis)
                 .register(objectMapperContextResolver)
                 .register(JacksonJaxbJsonProvider.class);
+
+        return ClientBuilder.newClient(clientConfig);
     }
 
 }
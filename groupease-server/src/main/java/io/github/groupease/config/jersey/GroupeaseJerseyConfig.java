@@ -6,6 +6,7 @@ import javax.annotation.Nonnull;
 import javax.inject.Inject;
 
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import com.google.inject.Injector;
 import io.github.groupease.auth.JwtRequestFilterBindingFeature;
 import io.github.groupease.config.guice.GroupeaseContextListener;
 import org.glassfish.hk2.api.ServiceLocator;
@@ -41,12 +42,12 @@ public class GroupeaseJerseyConfig extends ResourceConfig {
         /* Recursively scans this package for annotated REST Endpoints. */
         packages("io.github.groupease");
 
+        Injector guiceInjector = GroupeaseContextListener.getGuiceInjector();
+
         LOGGER.info("Loading Guice Bridge.");
         GuiceBridge.getGuiceBridge().initializeGuiceBridge(serviceLocator);
         GuiceIntoHK2Bridge guiceBridge = serviceLocator.getService(GuiceIntoHK2Bridge.class);
-        guiceBridge.bridgeGuiceInjector(
-                GroupeaseContextListener.getGuiceInjector()
-        );
+        guiceBridge.bridgeGuiceInjector(guiceInjector);
         LOGGER.info("Guice Bridge Loaded.");
 
         LOGGER.info("Registering Jersey Jackson.");
@@ -55,7 +56,7 @@ public class GroupeaseJerseyConfig extends ResourceConfig {
         LOGGER.info("Jersey Jackson Registered.");
 
         LOGGER.info("Registering Jersey JWT Authentication Filter.");
-        register(JwtRequestFilterBindingFeature.class);
+        register(guiceInjector.getInstance(JwtRequestFilterBindingFeature.class));
         LOGGER.info("Jersey JWT Authentication Filter Registered.");
 
         LOGGER.info("GroupeaseJerseyConfig Created.");
@@ -4,7 +4,6 @@ import com.google.inject.persist.Transactional;
 import io.github.groupease.model.Channel;
 import io.github.groupease.model.ChannelInvitation;
 import io.github.groupease.model.ChannelJoinRequest;
-import io.github.groupease.model.GroupeaseUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
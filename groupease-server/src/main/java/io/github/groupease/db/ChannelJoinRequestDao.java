@@ -2,7 +2,7 @@ package io.github.groupease.db;
 
 import com.google.inject.persist.Transactional;
 import io.github.groupease.model.ChannelJoinRequest;
-import io.github.groupease.model.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -0,0 +1,17 @@
+package io.github.groupease.db;
+
+/**
+ * A user's role in a channel.
+ */
+public enum ChannelRole {
+
+    /** Not a member of the channel. */
+    NONE,
+
+    /** A member, but not an owner, of the channel. */
+    MEMBER,
+
+    /** An owner of the channel. */
+    OWNER
+
+}
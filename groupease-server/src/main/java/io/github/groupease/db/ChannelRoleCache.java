@@ -0,0 +1,163 @@
+package io.github.groupease.db;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.typesafe.config.Config;
+import io.github.groupease.auth.HitRatioGauge;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded cache of each user's {@link ChannelRole} per channel, shared by all requests.
+ * The {@link MemberDao} invalidates an entry whenever it creates, updates or deletes the member it describes,
+ * both at the write and once its transaction completes, so a role loaded before the commit is not kept.
+ * Entries also expire after a configured time, which bounds staleness from writes made by other
+ * server instances.
+ */
+@ThreadSafe
+public class ChannelRoleCache {
+
+    private final Cache<RoleKey, ChannelRole> cache;
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     * @param metricRegistry to record cache hits, misses and hit ratio.
+     */
+    @Inject
+    public ChannelRoleCache(
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        requireNonNull(config);
+        requireNonNull(metricRegistry);
+
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(config.getLong("groupease.db.channelRoleCache.maximumSize"))
+                .expireAfterWrite(
+                        config.getDuration("groupease.db.channelRoleCache.ttl", TimeUnit.MILLISECONDS),
+                        TimeUnit.MILLISECONDS
+                )
+                .build();
+
+        hitCounter = metricRegistry.counter(name(ChannelRoleCache.class, "hits"));
+        missCounter = metricRegistry.counter(name(ChannelRoleCache.class, "misses"));
+        metricRegistry.register(name(ChannelRoleCache.class, "hitRatio"), new HitRatioGauge(hitCounter, missCounter));
+    }
+
+    /**
+     * Gets a user's role in a channel, loading and caching it on a miss.
+     *
+     * @param providerUserId the auth provider's ID for the user.
+     * @param channelId the ID of the channel.
+     * @param loader loads the role from the database.
+     * @return the role.
+     */
+    @Nonnull
+    public ChannelRole get(
+            @Nonnull String providerUserId,
+            long channelId,
+            @Nonnull Supplier<ChannelRole> loader
+    ) {
+        RoleKey key = new RoleKey(requireNonNull(providerUserId), channelId);
+
+        ChannelRole role = cache.getIfPresent(key);
+
+        if (role != null) {
+            hitCounter.inc();
+            return role;
+        }
+
+        missCounter.inc();
+
+        long invalidationsBeforeLoad = invalidationCount.get();
+
+        role = requireNonNull(loader.get());
+
+        cache.put(key, role);
+
+        /* An invalidation raced with the load, so the loaded role may predate the write. */
+        if (invalidationCount.get() != invalidationsBeforeLoad) {
+            cache.invalidate(key);
+        }
+
+        return role;
+    }
+
+    /**
+     * Drops the cached role of a user in a channel after its membership changed.
+     *
+     * @param providerUserId the auth provider's ID for the user.
+     * @param channelId the ID of the channel.
+     */
+    public void invalidate(
+            @Nonnull String providerUserId,
+            long channelId
+    ) {
+        invalidationCount.incrementAndGet();
+        cache.invalidate(new RoleKey(requireNonNull(providerUserId), channelId));
+    }
+
+    /**
+     * Gets the approximate number of cached roles.
+     *
+     * @return the cache size.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Cache key of a user in a channel.
+     */
+    @Immutable
+    private static class RoleKey {
+
+        private final String providerUserId;
+        private final long channelId;
+
+        private RoleKey(
+                @Nonnull String providerUserId,
+                long channelId
+        ) {
+            this.providerUserId = providerUserId;
+            this.channelId = channelId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof RoleKey)) {
+                return false;
+            }
+            RoleKey that = (RoleKey) other;
+            return channelId == that.channelId && providerUserId.equals(that.providerUserId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(providerUserId, channelId);
+        }
+
+    }
+
+}
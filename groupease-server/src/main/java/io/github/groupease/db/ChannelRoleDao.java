@@ -0,0 +1,124 @@
+package io.github.groupease.db;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import com.codahale.metrics.annotation.Timed;
+import com.google.inject.persist.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers channel role questions from the shared {@link ChannelRoleCache}, falling back to a single query
+ * that loads neither user nor member entities.
+ */
+public class ChannelRoleDao {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final Provider<EntityManager> entityManagerProvider;
+    private final ChannelRoleCache channelRoleCache;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param entityManagerProvider provides the {@link EntityManager} for the current unit of work.
+     * @param channelRoleCache shared cache of roles.
+     */
+    @Inject
+    public ChannelRoleDao(
+            @Nonnull Provider<EntityManager> entityManagerProvider,
+            @Nonnull ChannelRoleCache channelRoleCache
+    ) {
+        this.entityManagerProvider = requireNonNull(entityManagerProvider);
+        this.channelRoleCache = requireNonNull(channelRoleCache);
+    }
+
+    /**
+     * Gets a user's role in a channel.
+     *
+     * @param providerUserId the auth provider's ID for the user.
+     * @param channelId the ID of the channel.
+     * @return the role, {@link ChannelRole#NONE} if the user is not a member.
+     */
+    @Nonnull
+    @Timed
+    public ChannelRole getRole(
+            @Nonnull String providerUserId,
+            long channelId
+    ) {
+        return channelRoleCache.get(
+                providerUserId,
+                channelId,
+                () -> loadRole(providerUserId, channelId)
+        );
+    }
+
+    /**
+     * Checks whether a user is a member, or owner, of a channel.
+     *
+     * @param providerUserId the auth provider's ID for the user.
+     * @param channelId the ID of the channel.
+     * @return true if the user is a member of the channel.
+     */
+    public boolean isMember(
+            @Nonnull String providerUserId,
+            long channelId
+    ) {
+        return getRole(providerUserId, channelId) != ChannelRole.NONE;
+    }
+
+    /**
+     * Checks whether a user owns a channel.
+     *
+     * @param providerUserId the auth provider's ID for the user.
+     * @param channelId the ID of the channel.
+     * @return true if the user is an owner of the channel.
+     */
+    public boolean isOwner(
+            @Nonnull String providerUserId,
+            long channelId
+    ) {
+        return getRole(providerUserId, channelId) == ChannelRole.OWNER;
+    }
+
+    /**
+     * Loads a role in its own short transaction, so that the connection goes back to the pool when it ends
+     * instead of staying with the request's EntityManager. Not private, so Guice can intercept it.
+     */
+    @Nonnull
+    @Transactional
+    ChannelRole loadRole(
+            @Nonnull String providerUserId,
+            long channelId
+    ) {
+        LOGGER.debug("ChannelRoleDao.loadRole(user={}, channel={}) called.", providerUserId, channelId);
+
+        TypedQuery<Boolean> query = entityManagerProvider.get().createQuery(
+                "SELECT m.isOwner FROM Member m"
+                        + " WHERE m.userProfile.providerUserId = :providerUserId"
+                        + " AND m.channel.id = :channelId",
+                Boolean.class
+        );
+
+        query.setParameter("providerUserId", providerUserId);
+        query.setParameter("channelId", channelId);
+
+        List<Boolean> ownerFlags = query.getResultList();
+
+        if (ownerFlags.isEmpty()) {
+            return ChannelRole.NONE;
+        }
+
+        return ownerFlags.contains(Boolean.TRUE) ? ChannelRole.OWNER : ChannelRole.MEMBER;
+    }
+
+}
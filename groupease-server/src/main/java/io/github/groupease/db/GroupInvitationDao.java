@@ -3,7 +3,8 @@ package io.github.groupease.db;
 import com.google.inject.persist.Transactional;
 import io.github.groupease.model.Group;
 import io.github.groupease.model.GroupInvitation;
-import io.github.groupease.model.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -140,7 +141,11 @@ public class GroupInvitationDao
         LOGGER.debug("GroupInvitationDao.create(sender={}, recipient={}, group={}",
                 sender.getId(), recipient.getId(), group.getId());
 
-        GroupInvitation newInvitation = new GroupInvitation(sender, recipient, group);
+        GroupInvitation newInvitation = new GroupInvitation(
+                entityManager.getReference(GroupeaseUserDto.class, sender.getId()),
+                entityManager.getReference(GroupeaseUserDto.class, recipient.getId()),
+                group
+        );
 
         entityManager.persist(newInvitation);
 
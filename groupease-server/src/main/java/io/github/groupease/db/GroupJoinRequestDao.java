@@ -4,7 +4,8 @@ import com.google.inject.Inject;
 import com.google.inject.persist.Transactional;
 import io.github.groupease.model.Group;
 import io.github.groupease.model.GroupJoinRequest;
-import io.github.groupease.model.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,7 +52,11 @@ public class GroupJoinRequestDao
         LOGGER.debug("GroupJoinRequestDao.create(sender={}, group={}, comments={}",
                 sender.getId(), group.getId(), comments);
 
-        GroupJoinRequest newJoinRequest = new GroupJoinRequest(sender, group, comments);
+        GroupJoinRequest newJoinRequest = new GroupJoinRequest(
+                entityManager.getReference(GroupeaseUserDto.class, sender.getId()),
+                group,
+                comments
+        );
 
         entityManager.persist(newJoinRequest);
 
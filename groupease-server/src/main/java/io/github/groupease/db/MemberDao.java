@@ -7,20 +7,19 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
-import javax.persistence.EntityTransaction;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import javax.transaction.Synchronization;
 
-<<<<<<< HEAD
 import com.codahale.metrics.annotation.Timed;
-=======
-import static java.util.Objects.requireNonNull;
-
->>>>>>> changes
 import com.google.inject.persist.Transactional;
 import io.github.groupease.channelmember.ChannelMemberNotFoundException;
 import io.github.groupease.model.Channel;
-import io.github.groupease.model.GroupeaseUser;
 import io.github.groupease.model.Member;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,17 +30,21 @@ public class MemberDao {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final EntityManager entityManager;
+    private final ChannelRoleCache channelRoleCache;
 
     /**
      * Injectable constructor.
      *
      * @param entityManager to talk to the database.
+     * @param channelRoleCache to invalidate the roles of members as they change.
      */
     @Inject
     public MemberDao(
-            @Nonnull EntityManager entityManager
+            @Nonnull EntityManager entityManager,
+            @Nonnull ChannelRoleCache channelRoleCache
     ) {
         this.entityManager = requireNonNull(entityManager);
+        this.channelRoleCache = requireNonNull(channelRoleCache);
     }
 
     /**
@@ -56,16 +59,17 @@ public class MemberDao {
         LOGGER.debug("MemberDao.create(user={}, channel={}) called", userProfile.getName(), channel.getName());
 
         Member newMember = new Member();
-        newMember.setGroupeaseUser(userProfile);
+        newMember.setGroupeaseUser(entityManager.getReference(GroupeaseUserDto.class, userProfile.getId()));
         newMember.setChannel(channel);
 
         entityManager.persist(newMember);
 
+        invalidateRole(userProfile.getProviderUserId(), channel.getId());
+
         return newMember;
     }
 
     /**
-<<<<<<< HEAD
      * Creates a new {@link Member} in a channel
      * @param userId The unique ID of the user in the database being added to the channel
      * @param channelId The unique ID of the channel in the database
@@ -85,17 +89,19 @@ public class MemberDao {
         insertQuery.setParameter("isOwner", isOwner);
         insertQuery.executeUpdate();
 
-        return getForUser(userId, channelId);
+        Member member = getForUser(userId, channelId);
+
+        if (member != null) {
+            invalidateRole(member);
+        }
+
+        return member;
     }
 
     /**
      * Deletes a {@link Member} from the database which prevents a user from using the associated channel further.
      *
      * @param member The previously retrieved member object.
-=======
-     * Deletes a {@link Member} from the database which prevents a user from using the associated channel further
-     * @param member The previously retrieved member object. Do not supply a manually constructed member
->>>>>>> changes
      */
     @Transactional
     public void delete(
@@ -104,6 +110,8 @@ public class MemberDao {
         LOGGER.debug("MemberDao.delete({}) called", member);
 
         entityManager.remove(member);
+
+        invalidateRole(member);
     }
 
     /**
@@ -112,13 +120,9 @@ public class MemberDao {
      * @param channelId The ID of the channel
      * @return The matching member or null if none could be found
      */
-<<<<<<< HEAD
     @Nullable
     @Timed
     public Member getForUser(long userId, long channelId)
-=======
-    public Member getById(long userId, long channelId)
->>>>>>> changes
     {
         LOGGER.debug("MemberDao.getForUser(userId={}, channelId={})", userId, channelId);
 
@@ -134,7 +138,6 @@ public class MemberDao {
         }
         return result.get(0);
     }
-<<<<<<< HEAD
 
     @Nonnull
     @Timed
@@ -185,9 +188,47 @@ public class MemberDao {
         entityManager.flush();
         entityManager.refresh(member);
 
+        invalidateRole(member);
+
         return member;
     }
 
-=======
->>>>>>> changes
+    private void invalidateRole(
+            @Nonnull Member member
+    ) {
+        invalidateRole(
+                member.getGroupeaseUser().getProviderUserId(),
+                member.getChannel().getId()
+        );
+    }
+
+    /**
+     * Drops the cached role now and again once the current transaction completes.
+     * Until the commit, other requests still read the old membership, so a role they load in between
+     * would otherwise stay cached for the whole TTL. Rollbacks invalidate too, which is only a wasted reload.
+     */
+    private void invalidateRole(
+            @Nonnull String providerUserId,
+            long channelId
+    ) {
+        channelRoleCache.invalidate(providerUserId, channelId);
+
+        Transaction transaction = entityManager.unwrap(Session.class).getTransaction();
+
+        if (!transaction.isActive()) {
+            return;
+        }
+
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                channelRoleCache.invalidate(providerUserId, channelId);
+            }
+        });
+    }
+
 }
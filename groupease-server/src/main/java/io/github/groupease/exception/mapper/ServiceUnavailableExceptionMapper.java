@@ -0,0 +1,52 @@
+package io.github.groupease.exception.mapper;
+
+import java.lang.invoke.MethodHandles;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import com.codahale.metrics.annotation.Timed;
+import io.github.groupease.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link ExceptionMapper} for {@link ServiceUnavailableException}s.
+ * Returns a 503 service unavailable status code and the error as JSON.
+ */
+@Immutable
+@Provider
+public class ServiceUnavailableExceptionMapper implements ExceptionMapper<ServiceUnavailableException> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    @Nonnull
+    @Override
+    @Timed
+    public Response toResponse(
+            @Nonnull ServiceUnavailableException serviceUnavailableException
+    ) {
+        LOGGER.error("An exception was thrown and is being return to the client.", serviceUnavailableException);
+
+        requireNonNull(serviceUnavailableException);
+
+        /* Create payload to send to client. */
+        GroupeaseClientError groupeaseClientError = GroupeaseClientError.Builder
+                .from(serviceUnavailableException)
+                .build();
+
+        /* Return JSON response. */
+        return Response
+                .status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity(groupeaseClientError)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+}
@@ -1,4 +1,6 @@
 package io.github.groupease.model;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.hibernate.annotations.UpdateTimestamp;
 import javax.persistence.*;
 import java.time.Instant;
@@ -15,11 +17,11 @@ public class ChannelInvitation {
 
     @ManyToOne
     @JoinColumn(name = "SenderID", referencedColumnName = "ID")
-    private GroupeaseUser sentBy;
+    private GroupeaseUserDto sentBy;
 
     @ManyToOne
     @JoinColumn(name = "RecipientID", referencedColumnName = "ID")
-    private GroupeaseUser recipient;
+    private GroupeaseUserDto recipient;
 
     // Not currently in API documentation so commenting out for the time being
     //private String comments;
@@ -40,7 +42,7 @@ public class ChannelInvitation {
      * @return The recipient
      */
     public GroupeaseUser getRecipient() {
-        return recipient;
+        return recipient == null ? null : GroupeaseUser.Builder.from(recipient).build();
     }
 
     /**
@@ -48,7 +50,7 @@ public class ChannelInvitation {
      * @return The sender of the invitation
      */
     public GroupeaseUser getSentBy() {
-        return sentBy;
+        return sentBy == null ? null : GroupeaseUser.Builder.from(sentBy).build();
     }
 
     /**
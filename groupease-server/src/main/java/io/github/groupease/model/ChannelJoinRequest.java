@@ -1,5 +1,7 @@
 package io.github.groupease.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.hibernate.annotations.UpdateTimestamp;
 import javax.persistence.*;
 import java.time.Instant;
@@ -16,7 +18,7 @@ public class ChannelJoinRequest {
 
     @ManyToOne
     @JoinColumn(name = "UserID", referencedColumnName = "ID")
-    private GroupeaseUser requestor;
+    private GroupeaseUserDto requestor;
 
     private String comments;
 
@@ -61,7 +63,7 @@ public class ChannelJoinRequest {
      * @return The profile of the user that submitted the request
      */
     public GroupeaseUser getRequestor() {
-        return requestor;
+        return requestor == null ? null : GroupeaseUser.Builder.from(requestor).build();
     }
 
     /**
@@ -1,5 +1,7 @@
 package io.github.groupease.model;
 
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.hibernate.annotations.UpdateTimestamp;
 import javax.persistence.*;
@@ -18,11 +20,11 @@ public class GroupInvitation {
 
     @ManyToOne
     @JoinColumn(name = "SenderID", referencedColumnName = "ID")
-    private GroupeaseUser sender;
+    private GroupeaseUserDto sender;
 
     @ManyToOne
     @JoinColumn(name = "RecipientID", referencedColumnName = "ID")
-    private GroupeaseUser recipient;
+    private GroupeaseUserDto recipient;
 
     private String comments;
 
@@ -31,7 +33,7 @@ public class GroupInvitation {
 
     public GroupInvitation() {}
 
-    public GroupInvitation(GroupeaseUser sender, GroupeaseUser recipient, Group group)
+    public GroupInvitation(GroupeaseUserDto sender, GroupeaseUserDto recipient, Group group)
     {
         this.sender = sender;
         this.recipient = recipient;
@@ -67,7 +69,7 @@ public class GroupInvitation {
      * @return The user that sent the invitation
      */
     public GroupeaseUser getSender() {
-        return sender;
+        return sender == null ? null : GroupeaseUser.Builder.from(sender).build();
     }
 
     /**
@@ -75,7 +77,7 @@ public class GroupInvitation {
      * @return The user that is being invited to the group
      */
     public GroupeaseUser getRecipient() {
-        return recipient;
+        return recipient == null ? null : GroupeaseUser.Builder.from(recipient).build();
     }
 
     /**
@@ -1,9 +1,7 @@
 package io.github.groupease.model;
 
-<<<<<<< HEAD
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-=======
->>>>>>> changes
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.hibernate.annotations.UpdateTimestamp;
 import javax.persistence.*;
@@ -22,7 +20,7 @@ public class GroupJoinRequest {
 
     @ManyToOne
     @JoinColumn(name = "SenderID", referencedColumnName = "ID")
-    private GroupeaseUser sender;
+    private GroupeaseUserDto sender;
 
 
     private String comments;
@@ -33,7 +31,7 @@ public class GroupJoinRequest {
 
     public GroupJoinRequest() {}
 
-    public GroupJoinRequest(GroupeaseUser sender, Group group, String comments)
+    public GroupJoinRequest(GroupeaseUserDto sender, Group group, String comments)
     {
         this.sender = sender;
         this.group = group;
@@ -68,7 +66,7 @@ public class GroupJoinRequest {
      * Gets the {@link GroupeaseUser} that sent this join request
      * @return The user that sent the join request
      */
-    public GroupeaseUser getSender() { return sender; }
+    public GroupeaseUser getSender() { return sender == null ? null : GroupeaseUser.Builder.from(sender).build(); }
 
     /**
      * Gets the free text comments the sender submitted with the request
@@ -1,11 +1,5 @@
 package io.github.groupease.model;
 
-<<<<<<< HEAD
-=======
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import org.hibernate.annotations.UpdateTimestamp;
-
->>>>>>> changes
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.List;
@@ -21,7 +15,8 @@ import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUserDto;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -48,7 +43,7 @@ public class Member implements Serializable
 
     @ManyToOne
     @JoinColumn(name = "UserID", referencedColumnName = "ID")
-    private GroupeaseUser userProfile;
+    private GroupeaseUserDto userProfile;
 
     @ManyToMany(mappedBy = "members", fetch = FetchType.LAZY)
     private List<Group> groups;
@@ -75,7 +70,7 @@ public class Member implements Serializable
      * @return The user profile object
      */
     public GroupeaseUser getGroupeaseUser() {
-        return userProfile;
+        return userProfile == null ? null : GroupeaseUser.Builder.from(userProfile).build();
     }
 
     /**
@@ -109,7 +104,7 @@ public class Member implements Serializable
     }
 
     // Setter functions
-    public void setGroupeaseUser(@Nonnull GroupeaseUser userProfile)
+    public void setGroupeaseUser(@Nonnull GroupeaseUserDto userProfile)
     {
         this.userProfile = userProfile;
     }
@@ -118,7 +113,6 @@ public class Member implements Serializable
     {
         this.channel = channel;
     }
-<<<<<<< HEAD
 
     public void setOwner(boolean owner) {
         isOwner = owner;
@@ -142,6 +136,4 @@ public class Member implements Serializable
         return ToStringBuilder.reflectionToString(this);
     }
 
-=======
->>>>>>> changes
 }
@@ -2,23 +2,22 @@ package io.github.groupease.restendpoint;
 
 import com.codahale.metrics.annotation.Timed;
 import com.google.inject.persist.Transactional;
-import io.github.groupease.auth.CurrentUserId;
+import io.github.groupease.auth.CurrentUserContext;
 import io.github.groupease.db.ChannelInvitationDao;
-import io.github.groupease.db.GroupeaseUserDao;
+import io.github.groupease.db.ChannelRoleDao;
 import io.github.groupease.db.MemberDao;
-import io.github.groupease.user.UserNotFoundException;
 import io.github.groupease.exception.*;
 import io.github.groupease.model.Channel;
 import io.github.groupease.model.ChannelInvitation;
 import io.github.groupease.model.Member;
-import io.github.groupease.model.GroupeaseUser;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserDao;
 import io.github.groupease.util.ChannelInvitationCreateWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import java.lang.invoke.MethodHandles;
@@ -28,21 +27,23 @@ import java.util.List;
 @Produces(MediaType.APPLICATION_JSON)
 public class ChannelInvitationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
-    private final Provider<String> currentUserIdProvider;
+    private final CurrentUserContext currentUserContext;
     private final ChannelInvitationDao invitationDao;
-    private final GroupeaseUserDao userDao;
+    private final UserDao userDao;
     private final MemberDao memberDao;
-    private GroupeaseUser loggedOnUser;
+    private final ChannelRoleDao channelRoleDao;
 
     @Inject
     public ChannelInvitationService(@Nonnull ChannelInvitationDao invitationDao,
-                                    @Nonnull GroupeaseUserDao userDao, @Nonnull MemberDao memberDao,
-                                    @Nonnull @CurrentUserId Provider<String> currentUserIdProvider)
+                                    @Nonnull UserDao userDao, @Nonnull MemberDao memberDao,
+                                    @Nonnull ChannelRoleDao channelRoleDao,
+                                    @Nonnull CurrentUserContext currentUserContext)
     {
-        this.currentUserIdProvider = currentUserIdProvider;
+        this.currentUserContext = currentUserContext;
         this.invitationDao = invitationDao;
         this.userDao = userDao;
         this.memberDao = memberDao;
+        this.channelRoleDao = channelRoleDao;
     }
 
     /**
@@ -115,10 +116,6 @@ public class ChannelInvitationService {
 
         // Verify that the recipient exists
         GroupeaseUser recipientProfile = userDao.getById(wrapper.recipient.id);
-        if(recipientProfile == null)
-        {
-            throw new UserNotFoundException();
-        }
 
         // Check that the recipient hasn't already received an invitation to this channel
         List<ChannelInvitation> invitations =
@@ -129,14 +126,13 @@ public class ChannelInvitationService {
         }
 
         // Verify that the recipient isn't already a member
-        if(recipientProfile.getMemberList().stream()
-                .anyMatch(member -> member.getChannel().getId() == wrapper.channel.id))
+        if(channelRoleDao.isMember(recipientProfile.getProviderUserId(), wrapper.channel.id))
         {
             throw new AlreadyMemberException("Cannot invite a user to a channel the user is already a member of");
         }
 
         return invitationDao
-                .create(loggedOnUser.getId(), recipientProfile.getId(), wrapper.channel.id);
+                .create(currentUserContext.getUserId(), recipientProfile.getId(), wrapper.channel.id);
     }
 
     /**
@@ -226,16 +222,7 @@ public class ChannelInvitationService {
 
     private void verifyLoggedInUser(@PathParam("userId") long userId)
     {
-        if(loggedOnUser == null)
-        {
-            loggedOnUser = userDao.getByProviderId(currentUserIdProvider.get());
-            if(loggedOnUser == null)
-            {
-                LOGGER.debug("verifyLoggedInUser({}): No profile for logged on user in database", userId);
-                throw new UserNotFoundException("Currently logged in user has no profile");
-            }
-        }
-        if(loggedOnUser.getId() != userId)
+        if(currentUserContext.getUserId() != userId)
         {
             throw new UserMismatchException("Logged in user does not match the provided user id");
         }
@@ -248,11 +235,6 @@ public class ChannelInvitationService {
 
     private boolean isChannelOwner(long channelId)
     {
-        if(loggedOnUser == null) {
-            loggedOnUser = userDao.getByProviderId(currentUserIdProvider.get());
-        }
-
-        return loggedOnUser.getMemberList().stream()
-                    .anyMatch(member -> member.isOwner() && member.getChannel().getId() == channelId);
+        return currentUserContext.isChannelOwner(channelId);
     }
 }
@@ -2,21 +2,18 @@ package io.github.groupease.restendpoint;
 
 import com.codahale.metrics.annotation.Timed;
 import com.google.inject.persist.Transactional;
-import io.github.groupease.auth.CurrentUserId;
-import io.github.groupease.db.GroupeaseUserDao;
+import io.github.groupease.auth.ChannelOwnerRequired;
+import io.github.groupease.auth.CurrentUserContext;
 import io.github.groupease.db.MemberDao;
-import io.github.groupease.user.UserNotFoundException;
 import io.github.groupease.db.ChannelJoinRequestDao;
 import io.github.groupease.exception.*;
 import io.github.groupease.model.ChannelJoinRequest;
 import io.github.groupease.model.Member;
-import io.github.groupease.model.GroupeaseUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import java.lang.invoke.MethodHandles;
@@ -30,18 +27,15 @@ public class ChannelJoinRequestService
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final ChannelJoinRequestDao requestDao;
     private final MemberDao memberDao;
-    private final GroupeaseUserDao userDao;
-    private final Provider<String> currentUserIdProvider;
+    private final CurrentUserContext currentUserContext;
 
     @Inject
     public ChannelJoinRequestService(@Nonnull ChannelJoinRequestDao requestDao, 
-                                     @Nonnull MemberDao memberDao, @Nonnull GroupeaseUserDao userDao,
-                                     @Nonnull @CurrentUserId Provider<String> currentUserIdProvider)
+                                     @Nonnull MemberDao memberDao, @Nonnull CurrentUserContext currentUserContext)
     {
         this.requestDao = requestDao;
         this.memberDao = memberDao;
-        this.userDao = userDao;
-        this.currentUserIdProvider = currentUserIdProvider;
+        this.currentUserContext = currentUserContext;
     }
 
     /**
@@ -66,8 +60,7 @@ public class ChannelJoinRequestService
         else
         {
             // Return only a request from this user
-            GroupeaseUser userProfile = userDao.getByProviderId(currentUserIdProvider.get());
-            return requestDao.listInChannel(channelId, userProfile);
+            return requestDao.listInChannel(channelId, currentUserContext.getUser());
         }
     }
 
@@ -102,8 +95,7 @@ public class ChannelJoinRequestService
         else
         {
             // Return only a request from this user
-            GroupeaseUser userProfile = userDao.getByProviderId(currentUserIdProvider.get());
-            if(userProfile.getId().equals(request.getRequestor().getId()))
+            if(currentUserContext.isCurrentUser(request.getRequestor()))
             {
                 return request;
             }
@@ -128,27 +120,23 @@ public class ChannelJoinRequestService
     {
         LOGGER.trace("ChannelJoinRequestService.create(channel={}, comments={})", channelId, wrapper.comments);
 
-        GroupeaseUser profile = userDao.getByProviderId(currentUserIdProvider.get());
-        if(profile == null)
-        {
-            throw new UserNotFoundException();
-        }
+        long userId = currentUserContext.getUserId();
 
         // Check if an existing join request for this user and channel already exists
-        ChannelJoinRequest existing = requestDao.getForUser(channelId, profile.getId());
+        ChannelJoinRequest existing = requestDao.getForUser(channelId, userId);
         if(existing != null)
         {
             throw new DuplicateChannelJoinRequestException("You have already sent a request to join that channel");
         }
 
         // Check if the user is already a member of the channel
-        if(profile.getMemberList().stream().anyMatch(match -> match.getChannel().getId() == channelId))
+        if(currentUserContext.isChannelMember(channelId))
         {
             throw new AlreadyMemberException("User cannot request to join channel the user is already a member of");
         }
 
         // No existing join request in this channel for this user, so create one and return it
-        return requestDao.create(channelId, profile.getId(), wrapper.comments);
+        return requestDao.create(channelId, userId, wrapper.comments);
     }
 
     /**
@@ -159,6 +147,7 @@ public class ChannelJoinRequestService
      */
     @POST
     @Path("{requestId}/acceptance")
+    @ChannelOwnerRequired
     @Timed
     @Transactional
     public void accept(@PathParam("channelId") long channelId,  @PathParam("requestId") long requestId)
@@ -172,13 +161,7 @@ public class ChannelJoinRequestService
             throw new ChannelJoinRequestNotFoundException();
         }
 
-        // User must be a channel owner to accept
-        if(!isChannelOwner(channelId))
-        {
-            throw new NotChannelOwnerException();
-        }
-
-        // Current user is a channel owner so create a new member object
+        // Current user is a channel owner (checked by the ChannelOwnerFilter), so create a new member object
         Member newMember = memberDao.create(request.getRequestor(), request.getChannel());
         if(newMember == null)
         {
@@ -196,6 +179,7 @@ public class ChannelJoinRequestService
      */
     @POST
     @Path("{requestId}/rejection")
+    @ChannelOwnerRequired
     @Timed
     @Transactional
     public void reject(@PathParam("channelId") long channelId, @PathParam("requestId") long requestId)
@@ -209,11 +193,7 @@ public class ChannelJoinRequestService
             throw new ChannelJoinRequestNotFoundException();
         }
 
-        // User must be a channel owner to reject
-        if(!isChannelOwner(channelId))
-        {
-            throw new NotChannelOwnerException();
-        }
+        // User must be a channel owner to reject (checked by the ChannelOwnerFilter)
 
         // At least for now, reject is a delete (no status field etc. recording the change)
         // In the future, maybe send an email? (Would require recording opt-in to receive email
@@ -240,12 +220,7 @@ public class ChannelJoinRequestService
         ChannelJoinRequest request = requestDao.getById(requestId);
         if(request != null)
         {
-            GroupeaseUser currentUser = userDao.getByProviderId(currentUserIdProvider.get());
-            if(currentUser == null)
-            {
-                throw new UserNotFoundException("Currently logged in user has no profile");
-            }
-            if(!request.getRequestor().getId().equals(currentUser.getId())) {
+            if(!currentUserContext.isCurrentUser(request.getRequestor())) {
                 throw new NotSenderException();
             }
             requestDao.delete(request);
@@ -258,13 +233,6 @@ public class ChannelJoinRequestService
 
     private boolean isChannelOwner(long channelId)
     {
-        GroupeaseUser currentUser = userDao.getByProviderId(currentUserIdProvider.get());
-        if(currentUser == null)
-        {
-            throw new UserNotFoundException("Currently logged in user has no profile");
-        }
-
-        return  currentUser.getMemberList().stream()
-                .anyMatch(member -> member.isOwner() && member.getChannel().getId() == channelId);
+        return currentUserContext.isChannelOwner(channelId);
     }
 }
@@ -2,20 +2,21 @@ package io.github.groupease.restendpoint;
 
 import com.codahale.metrics.annotation.Timed;
 import com.google.inject.persist.Transactional;
-import io.github.groupease.auth.CurrentUserId;
+import io.github.groupease.auth.CurrentUserContext;
 import io.github.groupease.channel.ChannelNotFoundException;
+import io.github.groupease.db.ChannelRoleDao;
 import io.github.groupease.db.GroupDao;
 import io.github.groupease.db.GroupInvitationDao;
-import io.github.groupease.db.GroupeaseUserDao;
+import io.github.groupease.db.MemberDao;
 import io.github.groupease.exception.*;
 import io.github.groupease.model.*;
-import io.github.groupease.user.UserNotFoundException;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import java.lang.invoke.MethodHandles;
@@ -26,19 +27,22 @@ import java.util.List;
 public class GroupInvitationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final GroupInvitationDao invitationDao;
-    private final GroupeaseUserDao userDao;
+    private final UserDao userDao;
+    private final MemberDao memberDao;
     private final GroupDao groupDao;
-    private final Provider<String> currentUserIdProvider;
-    private GroupeaseUser loggedOnUser;
+    private final ChannelRoleDao channelRoleDao;
+    private final CurrentUserContext currentUserContext;
 
     @Inject
-    public GroupInvitationService(@Nonnull GroupInvitationDao invitationDao, @Nonnull GroupeaseUserDao userDao,
-                                  @Nonnull GroupDao groupDao,
-                                  @Nonnull @CurrentUserId Provider<String> currentUserIdProvider)
+    public GroupInvitationService(@Nonnull GroupInvitationDao invitationDao, @Nonnull UserDao userDao,
+                                  @Nonnull MemberDao memberDao, @Nonnull GroupDao groupDao, @Nonnull ChannelRoleDao channelRoleDao,
+                                  @Nonnull CurrentUserContext currentUserContext)
     {
-        this.currentUserIdProvider = currentUserIdProvider;
+        this.currentUserContext = currentUserContext;
         this.userDao = userDao;
+        this.memberDao = memberDao;
         this.groupDao = groupDao;
+        this.channelRoleDao = channelRoleDao;
         this.invitationDao = invitationDao;
     }
 
@@ -129,22 +133,17 @@ public class GroupInvitationService {
         }
 
         // Only a current group member can create an invitation
-        loggedOnUser = userDao.getByProviderId(currentUserIdProvider.get());
-        if(targetGroup.getMembers().stream().noneMatch(member -> member.getGroupeaseUser().equals(loggedOnUser)))
+        if(targetGroup.getMembers().stream()
+                .noneMatch(member -> currentUserContext.isCurrentUser(member.getGroupeaseUser())))
         {
             throw new NotGroupMemberException("You must be a group member to send an invitation");
         }
 
         // Verify that the recipient exists
         GroupeaseUser recipientUser = userDao.getById(userId);
-        if(recipientUser == null)
-        {
-            throw new UserNotFoundException("You cannot invite a user that does not exist");
-        }
 
         // Verify the recipient is a member of the channel
-        if(recipientUser.getMemberList()
-                .stream().noneMatch(member -> member.getChannel().getId() == targetGroup.getChannelId()))
+        if(!channelRoleDao.isMember(recipientUser.getProviderUserId(), targetGroup.getChannelId()))
         {
             throw new NotChannelMemberException(
                     "You cannot invite a user that is not a member of the channel that the group is formed in");
@@ -158,12 +157,12 @@ public class GroupInvitationService {
         }
 
         // Verify that the recipient isn't already a group member
-        if(targetGroup.getMembers().stream().anyMatch(member -> member.getGroupeaseUser().equals(recipientUser)))
+        if(targetGroup.getMembers().stream().anyMatch(member -> member.getGroupeaseUser().getId() == recipientUser.getId()))
         {
             throw new AlreadyMemberException("Cannot invite a user to a group the user is already a member of");
         }
 
-        return invitationDao.create(loggedOnUser, recipientUser, targetGroup);
+        return invitationDao.create(currentUserContext.getUser(), recipientUser, targetGroup);
     }
 
     /**
@@ -193,8 +192,12 @@ public class GroupInvitationService {
         }
 
         // Add the member to the group
-        invitation.getGroup().getMembers().add(invitation.getRecipient().getMemberList()
-                .stream().filter(member -> member.getChannel().getId() == channelId).findFirst().get());
+        Member recipientMember = memberDao.getForUser(userId, channelId);
+        if(recipientMember == null)
+        {
+            throw new NotChannelMemberException("Only a channel member can join a group in that channel");
+        }
+        invitation.getGroup().getMembers().add(recipientMember);
 
         // Clean up the invitation
         invitationDao.delete(invitation);
@@ -254,10 +257,8 @@ public class GroupInvitationService {
         }
 
         // Validate that the current user is already a group member
-        loggedOnUser = userDao.getByProviderId(currentUserIdProvider.get());
-
         if(invitation.getGroup().getMembers()
-                .stream().noneMatch(member -> member.getGroupeaseUser().equals(loggedOnUser)))
+                .stream().noneMatch(member -> currentUserContext.isCurrentUser(member.getGroupeaseUser())))
         {
             throw new NotGroupMemberException("Only a group member can delete the request. Recipient reject instead");
         }
@@ -273,21 +274,12 @@ public class GroupInvitationService {
      */
     private void verifyLoggedInUser(long userId, long channelId)
     {
-        if(loggedOnUser == null)
-        {
-            loggedOnUser = userDao.getByProviderId(currentUserIdProvider.get());
-            if(loggedOnUser == null)
-            {
-                LOGGER.debug("verifyLoggedInUser({}): No profile for logged on user in database", userId);
-                throw new UserNotFoundException("Currently logged in user has no profile");
-            }
-        }
-        if(loggedOnUser.getId() != userId)
+        if(currentUserContext.getUserId() != userId)
         {
             throw new UserMismatchException("Logged in user does not match the provided user id");
         }
 
-        if(loggedOnUser.getMemberList().stream().noneMatch(member -> member.getChannel().getId() == channelId))
+        if(!currentUserContext.isChannelMember(channelId))
         {
             throw new NotChannelMemberException(
                     "You cannot perform operations in this channel because you are not a member");
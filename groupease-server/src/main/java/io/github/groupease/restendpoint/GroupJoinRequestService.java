@@ -2,22 +2,20 @@ package io.github.groupease.restendpoint;
 
 import com.codahale.metrics.annotation.Timed;
 import com.google.inject.persist.Transactional;
-import io.github.groupease.auth.CurrentUserId;
+import io.github.groupease.auth.CurrentUserContext;
 import io.github.groupease.db.GroupDao;
 import io.github.groupease.db.GroupJoinRequestDao;
-import io.github.groupease.db.GroupeaseUserDao;
+import io.github.groupease.db.MemberDao;
 import io.github.groupease.exception.*;
 import io.github.groupease.model.Group;
 import io.github.groupease.model.GroupJoinRequest;
-import io.github.groupease.model.GroupeaseUser;
-import io.github.groupease.user.UserNotFoundException;
+import io.github.groupease.model.Member;
 import io.github.groupease.util.CommentWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
-import javax.inject.Provider;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import java.lang.invoke.MethodHandles;
@@ -29,19 +27,18 @@ public class GroupJoinRequestService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final GroupJoinRequestDao requestDao;
     private final GroupDao groupDao;
-    private final GroupeaseUserDao userDao;
-    private final Provider<String> currentUserIdProvider;
-    private GroupeaseUser loggedInUser;
+    private final MemberDao memberDao;
+    private final CurrentUserContext currentUserContext;
 
     @Inject
     public GroupJoinRequestService(@Nonnull GroupJoinRequestDao requestDao,
-                                   @Nonnull GroupDao groupDao, @Nonnull GroupeaseUserDao userDao,
-                                   @Nonnull @CurrentUserId Provider<String> currentUserIdProvider)
+                                   @Nonnull GroupDao groupDao, @Nonnull MemberDao memberDao,
+                                   @Nonnull CurrentUserContext currentUserContext)
     {
         this.requestDao = requestDao;
         this.groupDao = groupDao;
-        this.userDao = userDao;
-        this.currentUserIdProvider = currentUserIdProvider;
+        this.memberDao = memberDao;
+        this.currentUserContext = currentUserContext;
     }
 
     /**
@@ -73,7 +70,7 @@ public class GroupJoinRequestService {
         }
 
         // The logged in user isn't a group member, but list a join request if he sent it
-        return requestDao.list(groupId, loggedInUser.getId());
+        return requestDao.list(groupId, currentUserContext.getUserId());
     }
 
     /**
@@ -100,7 +97,7 @@ public class GroupJoinRequestService {
         }
 
         // Only an existing group member or the sender can view the request
-        if(isGroupMember(channelId, groupId) || request.getSender().equals(loggedInUser))
+        if(isGroupMember(channelId, groupId) || currentUserContext.isCurrentUser(request.getSender()))
         {
             return request;
         }
@@ -146,8 +143,12 @@ public class GroupJoinRequestService {
         }
 
         // Add the sender to the group
-        group.getMembers().add(request.getSender().getMemberList()
-                .stream().filter(member -> member.getChannel().getId() == channelId).findFirst().get());
+        Member senderMember = memberDao.getForUser(request.getSender().getId(), channelId);
+        if(senderMember == null)
+        {
+            throw new NotChannelMemberException("Only a channel member can join a group in that channel");
+        }
+        group.getMembers().add(senderMember);
 
         // Cleanup the invitation
         requestDao.delete(request);
@@ -200,13 +201,6 @@ public class GroupJoinRequestService {
     public GroupJoinRequest create(@PathParam("channelId") long channelId, @PathParam("groupId") long groupId,@Nonnull CommentWrapper wrapper)
     {
         LOGGER.debug("GroupJoinRequestService.create(channel={}, group={})", channelId, groupId);
-        GroupeaseUser profile = userDao.getByProviderId(currentUserIdProvider.get());
-        if(profile == null)
-        {
-            throw new UserNotFoundException();
-        }
-
-
         Group group = groupDao.get(groupId);
         if(group == null || group.getChannelId() != channelId)
         {
@@ -214,21 +208,19 @@ public class GroupJoinRequestService {
         }
 
         // Check if an existing group join request for this user and group already exists
-
-        List<GroupJoinRequest> existing = requestDao.list(groupId, profile.getId());
-        if(existing!=null){
+        List<GroupJoinRequest> existing = requestDao.list(groupId, currentUserContext.getUserId());
+        if(!existing.isEmpty())
+        {
             return existing.get(0);
-
         }
 
-
         // Check if the user is already a member of the group
-       if(group.getMembers().stream().noneMatch(member -> member.getGroupeaseUser().equals(loggedInUser)))
-       {
+        if(isGroupMember(group))
+        {
             throw new AlreadyMemberException("User cannot request to join group the user is already a member of");
-       }
+        }
 
-        return requestDao.create(profile, group,  wrapper.comments);
+        return requestDao.create(currentUserContext.getUser(), group, wrapper.comments);
     }
 
     /**
@@ -255,8 +247,7 @@ public class GroupJoinRequestService {
         }
 
         // Only the original sender can delete a join request. Group members must use reject instead
-        loggedInUser = userDao.getByProviderId(currentUserIdProvider.get());
-        if(!request.getSender().equals(loggedInUser))
+        if(!currentUserContext.isCurrentUser(request.getSender()))
         {
             throw new NotSenderException("Only the sender of this join request can delete it");
         }
@@ -277,7 +268,7 @@ public class GroupJoinRequestService {
 
     private boolean isGroupMember(@Nonnull Group group)
     {
-        loggedInUser = userDao.getByProviderId(currentUserIdProvider.get());
-        return group.getMembers().stream().anyMatch(member -> member.getGroupeaseUser().equals(loggedInUser));
+        return group.getMembers().stream()
+                .anyMatch(member -> currentUserContext.isCurrentUser(member.getGroupeaseUser()));
     }
 }
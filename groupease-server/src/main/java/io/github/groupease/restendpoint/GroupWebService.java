@@ -1,20 +1,18 @@
 package io.github.groupease.restendpoint;
 
 import javax.annotation.Nonnull;
-import javax.inject.Provider;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 
 import com.codahale.metrics.annotation.Timed;
 import javax.inject.Inject;
 
-import io.github.groupease.auth.CurrentUserId;
+import io.github.groupease.auth.CurrentUserContext;
 import io.github.groupease.db.GroupDao;
-import io.github.groupease.db.GroupeaseUserDao;
+import io.github.groupease.db.MemberDao;
 import io.github.groupease.exception.*;
 import io.github.groupease.model.Group;
 import io.github.groupease.model.Member;
-import io.github.groupease.model.GroupeaseUser;
 import io.github.groupease.user.UserNotFoundException;
 import io.github.groupease.util.GroupCreateWrapper;
 import org.slf4j.Logger;
@@ -32,17 +30,16 @@ public class GroupWebService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final GroupDao groupDao;
-    private final GroupeaseUserDao userDao;
-    private final Provider<String> currentUserIdProvider;
-    private GroupeaseUser currentUser;
+    private final MemberDao memberDao;
+    private final CurrentUserContext currentUserContext;
 
     @Inject
-    public GroupWebService(@Nonnull GroupDao groupDao, @Nonnull GroupeaseUserDao userDao,
-                           @Nonnull @CurrentUserId Provider<String> currentUserIdProvider)
+    public GroupWebService(@Nonnull GroupDao groupDao, @Nonnull MemberDao memberDao,
+                           @Nonnull CurrentUserContext currentUserContext)
     {
         this.groupDao = groupDao;
-        this.userDao = userDao;
-        this.currentUserIdProvider = currentUserIdProvider;
+        this.memberDao = memberDao;
+        this.currentUserContext = currentUserContext;
     }
 
     /**
@@ -130,8 +127,11 @@ public class GroupWebService {
         }
 
         // Find the user's member object so it can be added to the new group
-        Member currentUserMember = currentUser.getMemberList().stream()
-                .filter(member -> member.getChannel().getId() == channelId).findFirst().get();
+        Member currentUserMember = memberDao.getForUser(currentUserContext.getUserId(), channelId);
+        if(currentUserMember == null)
+        {
+            throw new NotChannelMemberException();
+        }
 
         return groupDao.create(channelId, newGroup.name, newGroup.description, currentUserMember);
     }
@@ -196,7 +196,7 @@ public class GroupWebService {
 
         // Updates should only be allowed by a member of the group
         if(existingGroup.getMembers().stream()
-                .noneMatch(member->member.getGroupeaseUser().getId().equals(currentUser.getId())))
+                .noneMatch(member->currentUserContext.isCurrentUser(member.getGroupeaseUser())))
         {
             throw new NotGroupMemberException();
         }
@@ -212,18 +212,17 @@ public class GroupWebService {
     // to perform operations on group objects.
     private void verifyCurrentUserIsChannelMember(long channelId)
     {
-        currentUser = userDao.getByProviderId(currentUserIdProvider.get());
-        if(currentUser == null)
+        if(currentUserContext.isChannelMember(channelId))
         {
-            // No profile for the user was found in the database so can't possibly be a channel member
-            // Throwing specific user not found exception. Should consider whether it would just be better
-            // to create a profile and then throwing the more general not channel member exception
-            throw new UserNotFoundException("There is no profile found for the current user");
+            return;
         }
 
-        if(currentUser.getMemberList().stream().noneMatch(member -> member.getChannel().getId() == channelId))
+        // No profile for the user means they can't possibly be a channel member, so report that specifically
+        if(currentUserContext.findUser() == null)
         {
-            throw new NotChannelMemberException();
+            throw new UserNotFoundException("There is no profile found for the current user");
         }
+
+        throw new NotChannelMemberException();
     }
 }
@@ -1,22 +1,40 @@
 package io.github.groupease.user;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import javax.inject.Inject;
+import javax.inject.Provider;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.annotation.Timed;
-import com.google.inject.persist.Transactional;
+import io.github.groupease.auth.AuthToken;
+import io.github.groupease.auth.SessionTokenService;
 import io.github.groupease.user.retrieval.UserRetrievalService;
+import io.github.groupease.user.retrieval.UserRetrievalUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Default implementation of {@link UserService}.
+ * Methods here are NOT transactional, so that profile fetches from the identity provider never run while a
+ * database transaction, and its connection, is open. The {@link UserDao} runs the reads made before a fetch,
+ * and the save after it, in their own short transactions: a connection taken outside a transaction would
+ * otherwise stay checked out until the request's EntityManager closes.
+ * Requests authenticated with a server-issued session token are served the stored user named by the token,
+ * never a fetched profile: the identity provider does not accept session tokens.
  */
 @Immutable
 public class DefaultUserService implements UserService {
@@ -27,19 +45,54 @@ public class DefaultUserService implements UserService {
 
     private final UserDao userDao;
 
+    private final Provider<DecodedJWT> authJwtProvider;
+
+    private final ProfileFreshnessPolicy profileFreshnessPolicy;
+
+    private final ProfileFetchCoalescer profileFetchCoalescer;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final Counter freshProfiles;
+
+    private final Counter refreshedProfiles;
+
+    private final Counter fallbackProfiles;
+
+    private final Counter sessionProfiles;
+
     /**
      * Injectable constructor.
      *
      * @param userRetrievalService to retrieve the current user's profile.
      * @param userDao {@link UserDao} instance.
+     * @param authJwtProvider provides the verified auth token for the current request.
+     * @param profileFreshnessPolicy decides when a stored profile must be fetched again.
+     * @param profileFetchCoalescer collapses concurrent refreshes of the same profile.
+     * @param userSearchIndex to answer user searches from memory.
+     * @param metricRegistry to count fresh, refreshed, fallback and session token profiles.
      */
     @Inject
     public DefaultUserService(
             @Nonnull UserRetrievalService userRetrievalService,
-            @Nonnull UserDao userDao
+            @Nonnull UserDao userDao,
+            @Nonnull @AuthToken Provider<DecodedJWT> authJwtProvider,
+            @Nonnull ProfileFreshnessPolicy profileFreshnessPolicy,
+            @Nonnull ProfileFetchCoalescer profileFetchCoalescer,
+            @Nonnull UserSearchIndex userSearchIndex,
+            @Nonnull MetricRegistry metricRegistry
     ) {
         this.userRetrievalService = requireNonNull(userRetrievalService);
         this.userDao = requireNonNull(userDao);
+        this.authJwtProvider = requireNonNull(authJwtProvider);
+        this.profileFreshnessPolicy = requireNonNull(profileFreshnessPolicy);
+        this.profileFetchCoalescer = requireNonNull(profileFetchCoalescer);
+        this.userSearchIndex = requireNonNull(userSearchIndex);
+        requireNonNull(metricRegistry);
+        freshProfiles = metricRegistry.counter(name(DefaultUserService.class, "freshProfiles"));
+        refreshedProfiles = metricRegistry.counter(name(DefaultUserService.class, "refreshedProfiles"));
+        fallbackProfiles = metricRegistry.counter(name(DefaultUserService.class, "fallbackProfiles"));
+        sessionProfiles = metricRegistry.counter(name(DefaultUserService.class, "sessionProfiles"));
     }
 
     @Nonnull
@@ -50,6 +103,37 @@ public class DefaultUserService implements UserService {
         return userDao.list();
     }
 
+    @Nonnull
+    @Override
+    @Timed
+    public List<GroupeaseUser> listPage(
+            @Nullable UserCursor after,
+            int limit
+    ) {
+        LOGGER.debug("DefaultUserService.listPage({}, {}) called.", after, limit);
+        return userDao.listPage(after, limit);
+    }
+
+    @Override
+    @Timed
+    public void forEach(
+            @Nonnull Consumer<GroupeaseUser> consumer
+    ) {
+        LOGGER.debug("DefaultUserService.forEach() called.");
+        userDao.forEach(consumer);
+    }
+
+    @Nonnull
+    @Override
+    @Timed
+    public List<GroupeaseUser> search(
+            @Nullable String query,
+            int limit
+    ) {
+        LOGGER.debug("DefaultUserService.search({}, {}) called.", query, limit);
+        return userSearchIndex.search(query, limit);
+    }
+
     @Nonnull
     @Override
     @Timed
@@ -61,13 +145,133 @@ public class DefaultUserService implements UserService {
     @Nonnull
     @Override
     @Timed
-    @Transactional
+    public UserBatch getByIds(
+            @Nonnull List<Long> ids
+    ) {
+        LOGGER.debug("DefaultUserService.getByIds({}) called.", ids);
+
+        Map<Long, GroupeaseUser> usersById = new HashMap<>();
+
+        for (GroupeaseUser user : userDao.getByIds(ids)) {
+            usersById.put(user.getId(), user);
+        }
+
+        /* Put the users back in request order. */
+        List<GroupeaseUser> users = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long id : ids) {
+            GroupeaseUser user = usersById.get(id);
+
+            if (user == null) {
+                missingIds.add(id);
+            } else {
+                users.add(user);
+            }
+        }
+
+        return new UserBatch(users, missingIds);
+    }
+
+    @Nonnull
+    @Override
+    @Timed
+    public GroupeaseUser getCurrentUser() {
+        LOGGER.debug("DefaultUserService.getCurrentUser() called.");
+
+        DecodedJWT authJwt = authJwtProvider.get();
+
+        GroupeaseUser sessionUser = getSessionUser(authJwt);
+
+        if (sessionUser != null) {
+            return sessionUser;
+        }
+
+        if (authJwt != null && authJwt.getSubject() != null) {
+            GroupeaseUser storedUser = userDao.findByProviderUserId(authJwt.getSubject());
+
+            if (storedUser != null && profileFreshnessPolicy.isFresh(storedUser, authJwt)) {
+                freshProfiles.inc();
+                return storedUser;
+            }
+        }
+
+        return refresh(authJwt);
+    }
+
+    @Nonnull
+    @Override
+    @Timed
     public GroupeaseUser updateCurrentUser() {
         LOGGER.debug("DefaultUserService.updateCurrentUser() called.");
 
+        DecodedJWT authJwt = authJwtProvider.get();
+
+        GroupeaseUser sessionUser = getSessionUser(authJwt);
+
+        return sessionUser != null ? sessionUser : refresh(authJwt);
+    }
+
+    /**
+     * Gets the stored user named by a session token. The profile is not fetched again, since the identity
+     * provider rejects session tokens; it is refreshed on the client's next request with a provider token.
+     *
+     * @param authJwt the verified auth token, if any.
+     * @return the stored user, or null if the auth token is not a session token.
+     */
+    @Nullable
+    private GroupeaseUser getSessionUser(
+            @Nullable DecodedJWT authJwt
+    ) {
+        Long userId = authJwt == null ? null : SessionTokenService.getUserId(authJwt);
+
+        if (userId == null) {
+            return null;
+        }
+
+        sessionProfiles.inc();
+        return userDao.getById(userId);
+    }
+
+    /**
+     * Fetches and saves the current user's profile, sharing any refresh already in flight for the same user.
+     * Falls back to the saved profile while the identity provider is unavailable.
+     */
+    @Nonnull
+    private GroupeaseUser refresh(
+            @Nullable DecodedJWT authJwt
+    ) {
+        if (authJwt == null || authJwt.getSubject() == null) {
+            return fetchAndSave();
+        }
+
+        try {
+            return profileFetchCoalescer.refresh(
+                    authJwt.getSubject(),
+                    this::fetchAndSave
+            );
+        } catch (UserRetrievalUnavailableException userRetrievalUnavailableException) {
+            GroupeaseUser storedUser = userDao.findByProviderUserId(authJwt.getSubject());
+
+            if (storedUser == null) {
+                throw userRetrievalUnavailableException;
+            }
+
+            LOGGER.warn("Using saved profile for user '{}': {}",
+                    authJwt.getSubject(), userRetrievalUnavailableException.getMessage());
+            fallbackProfiles.inc();
+            return storedUser;
+        }
+    }
+
+    @Nonnull
+    private GroupeaseUser fetchAndSave() {
+        refreshedProfiles.inc();
+
         /* Fetch the user data. */
         GroupeaseUserDto groupeaseUserDto = userRetrievalService.fetch();
 
+        /* Save in its own short transaction. */
         return userDao.save(groupeaseUserDto);
     }
 
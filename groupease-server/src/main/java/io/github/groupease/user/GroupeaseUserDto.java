@@ -19,6 +19,8 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 /**
  *  Data Transfer Object entity for passing {@link GroupeaseUser} data from client and to/from the database.
+ *  This is the only entity mapped to the GroupeaseUser table. Other entities reference users through it,
+ *  and expose them as read-only {@link GroupeaseUser} instances.
  */
 @Entity
 @Cacheable
@@ -1,16 +1,30 @@
 package io.github.groupease.user;
 
 import java.lang.invoke.MethodHandles;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 
 import com.codahale.metrics.annotation.Timed;
+import com.google.inject.persist.Transactional;
+import com.typesafe.config.Config;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.NativeQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,18 +38,29 @@ public class JpaUserDao implements UserDao {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+    /* Columns read back as plain values, in the order toGroupeaseUser expects. */
+    private static final String USER_COLUMNS = "id, providerUserId, email, name, nickname, pictureUrl, lastUpdatedOn";
+
     private final EntityManager entityManager;
+    private final UserSearchIndex userSearchIndex;
+    private final int fetchSize;
 
     /**
      * Injectable constructor.
      *
      * @param entityManager to talk to the database.
+     * @param userSearchIndex to keep current with saved users.
+     * @param config for getting application configuration.
      */
     @Inject
     public JpaUserDao(
-            @Nonnull EntityManager entityManager
+            @Nonnull EntityManager entityManager,
+            @Nonnull UserSearchIndex userSearchIndex,
+            @Nonnull Config config
     ) {
         this.entityManager = requireNonNull(entityManager);
+        this.userSearchIndex = requireNonNull(userSearchIndex);
+        this.fetchSize = config.getInt("groupease.user.list.fetchSize");
     }
 
     @Nonnull
@@ -65,6 +90,7 @@ public class JpaUserDao implements UserDao {
     @Nonnull
     @Override
     @Timed
+    @Transactional
     public GroupeaseUser getById(
             long id
     ) {
@@ -86,45 +112,216 @@ public class JpaUserDao implements UserDao {
     @Nonnull
     @Override
     @Timed
-    public GroupeaseUser save(
-            @Nonnull GroupeaseUserDto toSave
+    public List<GroupeaseUser> getByIds(
+            @Nonnull Collection<Long> ids
     ) {
-        LOGGER.debug("JpaUserDao.save({}) called.", toSave);
+        LOGGER.debug("JpaUserDao.getByIds({}) called.", ids);
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        TypedQuery<GroupeaseUserDto> query = entityManager.createQuery(
+                "SELECT dto FROM GroupeaseUserDto dto WHERE dto.id IN :ids",
+                GroupeaseUserDto.class
+        );
+
+        query.setParameter("ids", ids);
+
+        List<GroupeaseUserDto> groupeaseUserDtoList = query.getResultList();
+
+        List<GroupeaseUser> groupeaseUsers = new ArrayList<>(groupeaseUserDtoList.size());
+
+        for (GroupeaseUserDto groupeaseUserDto : groupeaseUserDtoList) {
+            groupeaseUsers.add(
+                    GroupeaseUser.Builder.from(groupeaseUserDto)
+                            .build()
+            );
+        }
+
+        return groupeaseUsers;
+    }
+
+    @Nullable
+    @Override
+    @Timed
+    @Transactional
+    public GroupeaseUser findByProviderUserId(
+            @Nonnull String providerUserId
+    ) {
+        LOGGER.debug("JpaUserDao.findByProviderUserId({}) called.", providerUserId);
 
-        /* Find any existing user by providerUserId. */
         TypedQuery<GroupeaseUserDto> query = entityManager.createQuery(
                 "SELECT dto FROM GroupeaseUserDto dto WHERE dto.providerUserId = :providerUserId",
                 GroupeaseUserDto.class
         );
 
-        query.setParameter("providerUserId", toSave.getProviderUserId());
+        query.setParameter("providerUserId", providerUserId);
 
         List<GroupeaseUserDto> matches = query.getResultList();
 
-        if (matches.size() > 1) {
-            throw new IllegalStateException("Multiple users with same providerUserId!");
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        return GroupeaseUser.Builder.from(matches.get(0))
+                .build();
+    }
 
-        } else if (matches.size() == 1) {
-            /* Set the ID from the existing user on the instance to save. */
-            GroupeaseUserDto existingUser = matches.get(0);
-            LOGGER.debug("Existing user found. Updating user ID '{}'", existingUser.getId());
-            toSave.setId(existingUser.getId());
-            LOGGER.debug("Saving user: {}", toSave);
+    @Nonnull
+    @Override
+    @Timed
+    @Transactional
+    public GroupeaseUser save(
+            @Nonnull GroupeaseUserDto toSave
+    ) {
+        LOGGER.debug("JpaUserDao.save({}) called.", toSave);
+
+        requireNonNull(toSave.getProviderUserId(), "providerUserId is required.");
+
+        /*
+         * Insert or update by providerUserId in a single statement, which also settles concurrent first logins.
+         * The row is read back as plain columns, so an entity already loaded in this persistence context
+         * cannot mask the values just written.
+         */
+        Query upsertQuery = entityManager.createNativeQuery(
+                "INSERT INTO GroupeaseUser (providerUserId, email, name, nickname, pictureUrl, lastUpdatedOn) "
+                        + "VALUES (?1, ?2, ?3, ?4, ?5, current_timestamp) "
+                        + "ON CONFLICT (providerUserId) DO UPDATE SET "
+                        + "email = EXCLUDED.email, name = EXCLUDED.name, nickname = EXCLUDED.nickname, "
+                        + "pictureUrl = EXCLUDED.pictureUrl, lastUpdatedOn = EXCLUDED.lastUpdatedOn "
+                        + "RETURNING " + USER_COLUMNS
+        );
+        upsertQuery.setParameter(1, toSave.getProviderUserId());
+        upsertQuery.setParameter(2, toSave.getEmail());
+        upsertQuery.setParameter(3, toSave.getName());
+        upsertQuery.setParameter(4, toSave.getNickname());
+        upsertQuery.setParameter(5, toSave.getPictureUrl());
 
+        GroupeaseUser savedUser = toGroupeaseUser((Object[]) upsertQuery.getSingleResult());
+
+        LOGGER.debug("Saved user: {}", savedUser);
+
+        putInSearchIndexOnCommit(savedUser);
+
+        return savedUser;
+    }
+
+    @Nonnull
+    @Override
+    @Timed
+    public List<GroupeaseUser> listPage(
+            @Nullable UserCursor after,
+            int limit
+    ) {
+        LOGGER.debug("JpaUserDao.listPage({}, {}) called.", after, limit);
+
+        /* Row value comparison lets the (name, id) index seek straight to the page. */
+        Query query;
+        if (after == null) {
+            query = entityManager.createNativeQuery(
+                    "SELECT " + USER_COLUMNS + " FROM GroupeaseUser ORDER BY name ASC, id ASC LIMIT ?1"
+            );
+            query.setParameter(1, limit);
         } else {
-            LOGGER.debug("No existing user found. Saving new user: {}", toSave);
+            query = entityManager.createNativeQuery(
+                    "SELECT " + USER_COLUMNS + " FROM GroupeaseUser WHERE (name, id) > (?1, ?2) "
+                            + "ORDER BY name ASC, id ASC LIMIT ?3"
+            );
+            query.setParameter(1, after.getName());
+            query.setParameter(2, after.getId());
+            query.setParameter(3, limit);
         }
 
-        /* Save changes. */
-        GroupeaseUserDto groupeaseUserDto = entityManager.merge(toSave);
+        /* A native query with several columns returns each row as an Object[]. */
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
 
-        /* Refresh instance. */
-        entityManager.flush();
-        entityManager.refresh(groupeaseUserDto);
+        List<GroupeaseUser> groupeaseUsers = new ArrayList<>(rows.size());
 
-        LOGGER.debug("Saved user: {}", groupeaseUserDto);
+        for (Object[] row : rows) {
+            groupeaseUsers.add(toGroupeaseUser(row));
+        }
 
-        return GroupeaseUser.Builder.from(groupeaseUserDto)
+        return groupeaseUsers;
+    }
+
+    @Override
+    @Timed
+    @Transactional
+    public void forEach(
+            @Nonnull Consumer<GroupeaseUser> consumer
+    ) {
+        LOGGER.debug("JpaUserDao.forEach() called.");
+
+        requireNonNull(consumer);
+
+        /* Rows are read through a JDBC cursor, which needs the transaction, and are never held as entities. */
+        NativeQuery<?> query = entityManager.createNativeQuery(
+                "SELECT " + USER_COLUMNS + " FROM GroupeaseUser ORDER BY name ASC, id ASC"
+        ).unwrap(NativeQuery.class);
+        query.setFetchSize(fetchSize);
+        query.setReadOnly(true);
+
+        ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            while (results.next()) {
+                consumer.accept(toGroupeaseUser(results.get()));
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    /**
+     * Puts a saved user in the {@link UserSearchIndex} once the current transaction commits, so searches
+     * never return a user whose save was rolled back. Without an active transaction the save is already
+     * committed, so the user is put right away.
+     *
+     * @param savedUser the user just saved.
+     */
+    private void putInSearchIndexOnCommit(
+            @Nonnull GroupeaseUser savedUser
+    ) {
+        Transaction transaction = entityManager.unwrap(Session.class).getTransaction();
+
+        if (!transaction.isActive()) {
+            userSearchIndex.put(savedUser);
+            return;
+        }
+
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    userSearchIndex.put(savedUser);
+                }
+            }
+        });
+    }
+
+    /**
+     * Builds a {@link GroupeaseUser} from a native query row of {@link #USER_COLUMNS}.
+     *
+     * @param row the column values.
+     * @return the new {@link GroupeaseUser} instance.
+     */
+    @Nonnull
+    private static GroupeaseUser toGroupeaseUser(
+            @Nonnull Object[] row
+    ) {
+        return GroupeaseUser.builder()
+                .withId(((Number) row[0]).longValue())
+                .withProviderUserId((String) row[1])
+                .withEmail((String) row[2])
+                .withName((String) row[3])
+                .withNickname((String) row[4])
+                .withPictureUrl((String) row[5])
+                .withLastUpdatedOn(((Timestamp) row[6]).toInstant())
                 .build();
     }
 
@@ -0,0 +1,114 @@
+package io.github.groupease.user;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collapses concurrent profile refreshes for the same user into a single fetch and save.
+ * The first caller for a user runs the refresh on its own thread. Callers arriving while it is in flight
+ * wait for, and share, its result or its exception. Nothing is remembered once the refresh completes.
+ */
+@ThreadSafe
+public class ProfileFetchCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final ConcurrentMap<String, CompletableFuture<GroupeaseUser>> inFlight = new ConcurrentHashMap<>();
+    private final Counter refreshCounter;
+    private final Counter coalescedCounter;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param metricRegistry to count refreshes run and refreshes shared.
+     */
+    @Inject
+    public ProfileFetchCoalescer(
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        requireNonNull(metricRegistry);
+        refreshCounter = metricRegistry.counter(name(ProfileFetchCoalescer.class, "refreshes"));
+        coalescedCounter = metricRegistry.counter(name(ProfileFetchCoalescer.class, "coalesced"));
+    }
+
+    /**
+     * Refreshes a user's profile, or joins a refresh already in flight for the same user.
+     *
+     * @param providerUserId the auth provider's ID for the user.
+     * @param refresher fetches and saves the profile.
+     * @return the saved profile.
+     */
+    @Nonnull
+    public GroupeaseUser refresh(
+            @Nonnull String providerUserId,
+            @Nonnull Supplier<GroupeaseUser> refresher
+    ) {
+        requireNonNull(providerUserId);
+        requireNonNull(refresher);
+
+        CompletableFuture<GroupeaseUser> ownRefresh = new CompletableFuture<>();
+        CompletableFuture<GroupeaseUser> existingRefresh = inFlight.putIfAbsent(providerUserId, ownRefresh);
+
+        if (existingRefresh != null) {
+            coalescedCounter.inc();
+            LOGGER.debug("Joining profile refresh in flight for user '{}'.", providerUserId);
+            return await(existingRefresh);
+        }
+
+        refreshCounter.inc();
+        try {
+            GroupeaseUser refreshed = refresher.get();
+            ownRefresh.complete(refreshed);
+            return refreshed;
+        } catch (RuntimeException | Error e) {
+            ownRefresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(providerUserId, ownRefresh);
+        }
+    }
+
+    /**
+     * Gets the number of refreshes currently in flight.
+     *
+     * @return the in-flight refresh count.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @Nonnull
+    private static GroupeaseUser await(
+            @Nonnull CompletableFuture<GroupeaseUser> refresh
+    ) {
+        try {
+            return refresh.join();
+        } catch (CompletionException completionException) {
+            Throwable cause = completionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw completionException;
+        }
+    }
+
+}
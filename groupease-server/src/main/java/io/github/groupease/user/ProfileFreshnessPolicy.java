@@ -0,0 +1,76 @@
+package io.github.groupease.user;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.inject.Inject;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.typesafe.config.Config;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Decides whether a stored user profile is recent enough to use without fetching it again from the identity provider.
+ * A profile is fresh when it was saved within the configured window, and no profile claim carried by the
+ * auth token differs from the stored value.
+ */
+@Immutable
+public class ProfileFreshnessPolicy {
+
+    private final long freshnessMillis;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting application configuration.
+     */
+    @Inject
+    public ProfileFreshnessPolicy(
+            @Nonnull Config config
+    ) {
+        requireNonNull(config);
+        freshnessMillis = config.getDuration("groupease.user.profile.freshness", TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether a stored profile can be used as is.
+     *
+     * @param storedUser the profile as last saved.
+     * @param authJwt the verified auth token of the current request, if any.
+     * @return true if the stored profile is fresh.
+     */
+    public boolean isFresh(
+            @Nonnull GroupeaseUser storedUser,
+            @Nullable DecodedJWT authJwt
+    ) {
+        Instant staleAfter = storedUser.getLastUpdatedOn().plusMillis(freshnessMillis);
+
+        if (Instant.now().isAfter(staleAfter)) {
+            return false;
+        }
+
+        return authJwt == null
+                || (matches(authJwt, "email", storedUser.getEmail())
+                && matches(authJwt, "name", storedUser.getName())
+                && matches(authJwt, "nickname", storedUser.getNickname())
+                && matches(authJwt, "picture", storedUser.getPictureUrl()));
+    }
+
+    /**
+     * Compares a profile claim to its stored value. A claim the token does not carry always matches.
+     */
+    private static boolean matches(
+            @Nonnull DecodedJWT authJwt,
+            @Nonnull String claimName,
+            @Nullable String storedValue
+    ) {
+        String tokenValue = authJwt.getClaim(claimName).asString();
+        return tokenValue == null || Objects.equals(tokenValue, storedValue);
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.groupease.user;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Result of fetching several {@link GroupeaseUser} instances by ID.
+ * Users are in the order their IDs were requested; IDs with no user are listed separately.
+ */
+@Immutable
+public class UserBatch {
+
+    private final List<GroupeaseUser> users;
+    private final List<Long> missingIds;
+
+    /**
+     * Constructor.
+     *
+     * @param users the users found, in request order.
+     * @param missingIds the requested IDs with no user, in request order.
+     */
+    public UserBatch(
+            @Nonnull List<GroupeaseUser> users,
+            @Nonnull List<Long> missingIds
+    ) {
+        this.users = ImmutableList.copyOf(users);
+        this.missingIds = ImmutableList.copyOf(missingIds);
+    }
+
+    @Nonnull
+    public List<GroupeaseUser> getUsers() {
+        return users;
+    }
+
+    @Nonnull
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    @Override
+    public boolean equals(
+            @Nullable Object o
+    ) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this);
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.groupease.user;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Position in the list of users ordered by name, then ID.
+ * Written as {@code <name>,<id>}; the name may itself contain commas.
+ */
+@Immutable
+public class UserCursor {
+
+    private final String name;
+    private final long id;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the last user already seen.
+     * @param id the ID of the last user already seen.
+     */
+    public UserCursor(
+            @Nonnull String name,
+            long id
+    ) {
+        this.name = requireNonNull(name);
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor that continues after a user.
+     *
+     * @param user the last user already seen.
+     * @return the new cursor.
+     */
+    @Nonnull
+    public static UserCursor after(
+            @Nonnull GroupeaseUser user
+    ) {
+        return new UserCursor(user.getName(), user.getId());
+    }
+
+    /**
+     * Parses a cursor in {@code <name>,<id>} form.
+     *
+     * @param value the cursor text.
+     * @return the parsed cursor.
+     * @throws InvalidUserCursorException if the text is malformed.
+     */
+    @Nonnull
+    public static UserCursor parse(
+            @Nullable String value
+    ) {
+        int separator = value == null ? -1 : value.lastIndexOf(',');
+
+        if (separator < 0) {
+            throw new InvalidUserCursorException("Cursor must be in the form <name>,<id>.");
+        }
+
+        try {
+            return new UserCursor(
+                    value.substring(0, separator),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (NumberFormatException numberFormatException) {
+            throw new InvalidUserCursorException("Cursor ID must be a number.", numberFormatException);
+        }
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(
+            @Nullable Object o
+    ) {
+        return EqualsBuilder.reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    /**
+     * Formats the cursor for use as the {@code after} query parameter.
+     *
+     * @return the cursor in {@code <name>,<id>} form.
+     */
+    @Nonnull
+    @Override
+    public String toString() {
+        return name + ',' + id;
+    }
+
+}
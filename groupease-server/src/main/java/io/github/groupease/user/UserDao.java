@@ -1,8 +1,11 @@
 package io.github.groupease.user;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * DAO layer for fetching and changing {@link GroupeaseUser} instances.
@@ -17,6 +20,29 @@ public interface UserDao {
     @Nonnull
     List<GroupeaseUser> list();
 
+    /**
+     * Fetch one page of {@link GroupeaseUser} instances ordered by name, then ID.
+     *
+     * @param after the position to continue after, or null for the first page.
+     * @param limit the maximum number of instances to fetch.
+     * @return the page of {@link GroupeaseUser} instances.
+     */
+    @Nonnull
+    List<GroupeaseUser> listPage(
+            @Nullable UserCursor after,
+            int limit
+    );
+
+    /**
+     * Pass every {@link GroupeaseUser} instance, ordered by name then ID, to a consumer as it is read.
+     * Instances are not collected, so memory use does not grow with the number of users.
+     *
+     * @param consumer receives each {@link GroupeaseUser} instance.
+     */
+    void forEach(
+            @Nonnull Consumer<GroupeaseUser> consumer
+    );
+
     /**
      * Fetch a {@link GroupeaseUser} instance by its ID.
      *
@@ -28,6 +54,29 @@ public interface UserDao {
             long id
     );
 
+    /**
+     * Fetch the {@link GroupeaseUser} instances with the given IDs in a single query.
+     * IDs with no user are left out, and the order of the result is unspecified.
+     *
+     * @param ids the IDs of the {@link GroupeaseUser} instances to fetch.
+     * @return the matching {@link GroupeaseUser} instances.
+     */
+    @Nonnull
+    List<GroupeaseUser> getByIds(
+            @Nonnull Collection<Long> ids
+    );
+
+    /**
+     * Fetch a {@link GroupeaseUser} instance by the identity provider's ID for the user.
+     *
+     * @param providerUserId the identity provider's ID for the user.
+     * @return the matching {@link GroupeaseUser} instance, or null if the user has never been saved.
+     */
+    @Nullable
+    GroupeaseUser findByProviderUserId(
+            @Nonnull String providerUserId
+    );
+
     /**
      * Save a {@link GroupeaseUserDto} instance.
      * This method may update an existing instance or create a new one.
@@ -1,6 +1,9 @@
 package io.github.groupease.user;
 
+import javax.inject.Singleton;
+
 import com.google.inject.AbstractModule;
+import io.github.groupease.user.avatar.AvatarGuiceModule;
 import io.github.groupease.user.retrieval.UserRetrievalGuiceModule;
 
 /**
@@ -11,9 +14,13 @@ public class UserGuiceModule extends AbstractModule {
     @Override
     protected void configure() {
         install(new UserRetrievalGuiceModule());
+        install(new AvatarGuiceModule());
 
         bind(UserDao.class).to(JpaUserDao.class);
         bind(UserService.class).to(DefaultUserService.class);
+        bind(ProfileFreshnessPolicy.class).in(Singleton.class);
+        bind(ProfileFetchCoalescer.class).in(Singleton.class);
+        bind(UserSearchIndex.class).in(Singleton.class);
     }
 
 }
@@ -0,0 +1,202 @@
+package io.github.groupease.user;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory prefix index over the name, nickname and email of every {@link GroupeaseUser}.
+ * Each field keeps its lower-cased value, and each word of it, in a sorted map, so a prefix lookup is one
+ * seek plus a scan of the matches returned. The index is loaded from the {@link UserDao} on first use and
+ * then kept current by {@link #put(GroupeaseUser)} as users are saved by this server instance.
+ */
+@ThreadSafe
+public class UserSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /* Sorts before any other character, so an exact match ranks ahead of longer terms sharing its prefix. */
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final Provider<UserDao> userDaoProvider;
+
+    private final ConcurrentMap<Long, GroupeaseUser> usersById = new ConcurrentHashMap<>();
+
+    /* Keys are "<term>\0<id>"; values are the user ID. Fields are listed in ranking order. */
+    private final NavigableMap<String, Long> nameTerms = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Long> nicknameTerms = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Long> emailTerms = new ConcurrentSkipListMap<>();
+
+    private final Object loadLock = new Object();
+
+    private volatile boolean loaded;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param userDaoProvider provides the {@link UserDao} to load the index from.
+     */
+    @Inject
+    public UserSearchIndex(
+            @Nonnull Provider<UserDao> userDaoProvider
+    ) {
+        this.userDaoProvider = requireNonNull(userDaoProvider);
+    }
+
+    /**
+     * Finds users whose name, nickname or email, or a word in them, starts with the query, ignoring case.
+     * Name matches rank first, then nickname, then email. Within a field, exact matches come first,
+     * then matches in alphabetical order of the matched term.
+     *
+     * @param query the prefix to match.
+     * @param limit the maximum number of users to return.
+     * @return the matching {@link GroupeaseUser} instances, best match first.
+     */
+    @Nonnull
+    public List<GroupeaseUser> search(
+            @Nullable String query,
+            int limit
+    ) {
+        String prefix = normalize(query);
+
+        if (prefix.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        loadIfNeeded();
+
+        Set<Long> matchedIds = new LinkedHashSet<>();
+        collect(nameTerms, prefix, limit, matchedIds);
+        collect(nicknameTerms, prefix, limit, matchedIds);
+        collect(emailTerms, prefix, limit, matchedIds);
+
+        List<GroupeaseUser> matches = new ArrayList<>(matchedIds.size());
+
+        for (Long id : matchedIds) {
+            GroupeaseUser user = usersById.get(id);
+
+            /* A user being re-indexed by a concurrent put may be briefly absent. */
+            if (user != null) {
+                matches.add(user);
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Adds a user to the index, or replaces its earlier entry.
+     * A version older than the one already indexed is ignored, so a slow load cannot undo a newer save.
+     *
+     * @param user the saved user.
+     */
+    public void put(
+            @Nonnull GroupeaseUser user
+    ) {
+        requireNonNull(user);
+
+        usersById.compute(user.getId(), (id, previous) -> {
+            if (previous != null && previous.getLastUpdatedOn().isAfter(user.getLastUpdatedOn())) {
+                return previous;
+            }
+
+            if (previous != null) {
+                updateTerms(previous, false);
+            }
+
+            updateTerms(user, true);
+            return user;
+        });
+    }
+
+    private void loadIfNeeded() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (loadLock) {
+            if (!loaded) {
+                userDaoProvider.get().forEach(this::put);
+                loaded = true;
+                LOGGER.info("Loaded {} users into the search index.", usersById.size());
+            }
+        }
+    }
+
+    private void updateTerms(
+            @Nonnull GroupeaseUser user,
+            boolean add
+    ) {
+        updateTerms(nameTerms, user.getName(), user.getId(), add);
+        updateTerms(nicknameTerms, user.getNickname(), user.getId(), add);
+        updateTerms(emailTerms, user.getEmail(), user.getId(), add);
+    }
+
+    private static void updateTerms(
+            @Nonnull NavigableMap<String, Long> terms,
+            @Nullable String value,
+            long id,
+            boolean add
+    ) {
+        String normalized = normalize(value);
+
+        if (normalized.isEmpty()) {
+            return;
+        }
+
+        Set<String> fieldTerms = new LinkedHashSet<>();
+        fieldTerms.add(normalized);
+        Collections.addAll(fieldTerms, normalized.split("\\s+"));
+
+        for (String term : fieldTerms) {
+            String key = term + ID_SEPARATOR + id;
+
+            if (add) {
+                terms.put(key, id);
+            } else {
+                terms.remove(key);
+            }
+        }
+    }
+
+    private static void collect(
+            @Nonnull NavigableMap<String, Long> terms,
+            @Nonnull String prefix,
+            int limit,
+            @Nonnull Set<Long> matchedIds
+    ) {
+        for (Long id : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (matchedIds.size() >= limit) {
+                return;
+            }
+            matchedIds.add(id);
+        }
+    }
+
+    @Nonnull
+    private static String normalize(
+            @Nullable String value
+    ) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -1,8 +1,10 @@
 package io.github.groupease.user;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Business service for operations on {@link GroupeaseUser} instances.
@@ -17,6 +19,41 @@ public interface UserService {
     @Nonnull
     List<GroupeaseUser> list();
 
+    /**
+     * Fetch one page of {@link GroupeaseUser} instances ordered by name, then ID.
+     *
+     * @param after the position to continue after, or null for the first page.
+     * @param limit the maximum number of instances to fetch.
+     * @return the page of {@link GroupeaseUser} instances.
+     */
+    @Nonnull
+    List<GroupeaseUser> listPage(
+            @Nullable UserCursor after,
+            int limit
+    );
+
+    /**
+     * Pass every {@link GroupeaseUser} instance, ordered by name then ID, to a consumer as it is read.
+     *
+     * @param consumer receives each {@link GroupeaseUser} instance.
+     */
+    void forEach(
+            @Nonnull Consumer<GroupeaseUser> consumer
+    );
+
+    /**
+     * Find {@link GroupeaseUser} instances whose name, nickname or email starts with the query, best match first.
+     *
+     * @param query the prefix to match.
+     * @param limit the maximum number of instances to return.
+     * @return the matching {@link GroupeaseUser} instances.
+     */
+    @Nonnull
+    List<GroupeaseUser> search(
+            @Nullable String query,
+            int limit
+    );
+
     /**
      * Fetch a {@link GroupeaseUser} instance by its ID.
      *
@@ -28,8 +65,30 @@ public interface UserService {
             long id
     );
 
+    /**
+     * Fetch the {@link GroupeaseUser} instances with the given IDs in a single round trip to the database.
+     *
+     * @param ids the IDs of the {@link GroupeaseUser} instances to fetch, in the order they should be returned.
+     * @return the users found in request order, and the IDs with no user.
+     */
+    @Nonnull
+    UserBatch getByIds(
+            @Nonnull List<Long> ids
+    );
+
+    /**
+     * Gets the current user, fetching the profile from the identity provider only when the stored one is not fresh.
+     * A request authenticated with a session token always gets the stored user.
+     *
+     * @return the current {@link GroupeaseUser} instance.
+     */
+    @Nonnull
+    GroupeaseUser getCurrentUser();
+
     /**
      * Updates the current user's data in the system from the identity provider.
+     * A request authenticated with a session token gets the stored user instead, since the identity
+     * provider does not accept session tokens.
      *
      * @return the updated {@link GroupeaseUser} instance.
      */
@@ -1,7 +1,12 @@
 package io.github.groupease.user;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
@@ -11,9 +16,17 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Link;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriBuilder;
 
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,30 +43,106 @@ public class UserWebService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final int defaultLimit;
+    private final int maxLimit;
+    private final int maxSearchResults;
+    private final int maxBatchIds;
 
     /**
      * Injectable constructor.
      *
      * @param userService logic service layer for {@link GroupeaseUser} operations.
+     * @param objectMapper to write streamed users as JSON.
+     * @param config for getting the page size, search and batch limits.
      */
     @Inject
     public UserWebService(
-            @Nonnull UserService userService
+            @Nonnull UserService userService,
+            @Nonnull ObjectMapper objectMapper,
+            @Nonnull Config config
     ) {
         this.userService = requireNonNull(userService);
+        this.objectMapper = requireNonNull(objectMapper);
+        this.defaultLimit = config.getInt("groupease.user.list.defaultLimit");
+        this.maxLimit = config.getInt("groupease.user.list.maxLimit");
+        this.maxSearchResults = config.getInt("groupease.user.search.maxResults");
+        this.maxBatchIds = config.getInt("groupease.user.batch.maxIds");
     }
 
     /**
-     * Fetch all {@link GroupeaseUser} instances in the system.
+     * Fetch {@link GroupeaseUser} instances ordered by name, then ID.
+     * With neither parameter, every user is streamed as one JSON array while it is read from the database.
+     * Otherwise one page is returned, with a {@code next} link header when more users follow.
+     * With {@code ids}, the listed users are returned as a {@link UserBatch} in request order instead.
      *
-     * @return the list of all {@link GroupeaseUser} instances.
+     * @param after cursor in {@code <name>,<id>} form of the last user already seen.
+     * @param limit the maximum number of users in the page.
+     * @param ids comma-separated IDs of the users to fetch in one round trip.
+     * @return the response holding the users.
      */
     @GET
     @Timed
     @Nonnull
-    public List<GroupeaseUser> list() {
-        LOGGER.debug("UserWebService.list() called.");
-        return userService.list();
+    public Response list(
+            @QueryParam("after") String after,
+            @QueryParam("limit") Integer limit,
+            @QueryParam("ids") String ids
+    ) {
+        LOGGER.debug("UserWebService.list({}, {}, {}) called.", after, limit, ids);
+
+        if (ids != null) {
+            if (after != null || limit != null) {
+                throw new InvalidUserIdsException("IDs cannot be combined with after or limit.");
+            }
+            return Response.ok(userService.getByIds(parseIds(ids))).build();
+        }
+
+        if (after == null && limit == null) {
+            return Response.ok(streamAll()).build();
+        }
+
+        int pageSize = limit == null ? defaultLimit : limit;
+
+        if (pageSize < 1) {
+            throw new InvalidUserCursorException("Limit must be at least 1.");
+        }
+
+        pageSize = Math.min(pageSize, maxLimit);
+
+        /* Fetch one extra user to learn whether there is a next page without a count query. */
+        List<GroupeaseUser> users = userService.listPage(after == null ? null : UserCursor.parse(after), pageSize + 1);
+
+        if (users.size() <= pageSize) {
+            return Response.ok(users).build();
+        }
+
+        List<GroupeaseUser> page = users.subList(0, pageSize);
+
+        return Response.ok(page)
+                .links(nextLink(UserCursor.after(page.get(pageSize - 1)), pageSize))
+                .build();
+    }
+
+    /**
+     * Find {@link GroupeaseUser} instances whose name, nickname or email, or a word in them, starts with the query.
+     * Name matches rank first, then nickname, then email.
+     *
+     * @param query the prefix to match, ignoring case.
+     * @param limit the maximum number of users to return, capped at the configured maximum.
+     * @return the matching {@link GroupeaseUser} instances, best match first.
+     */
+    @GET
+    @Path("search")
+    @Timed
+    @Nonnull
+    public List<GroupeaseUser> search(
+            @QueryParam("q") String query,
+            @QueryParam("limit") Integer limit
+    ) {
+        LOGGER.debug("UserWebService.search({}, {}) called.", query, limit);
+        int resultLimit = limit == null ? maxSearchResults : Math.max(1, Math.min(limit, maxSearchResults));
+        return userService.search(query, resultLimit);
     }
 
     /**
@@ -87,4 +176,61 @@ public class UserWebService {
         return userService.updateCurrentUser();
     }
 
+    /**
+     * Parses comma-separated user IDs, dropping repeats but keeping first-seen order.
+     */
+    @Nonnull
+    private List<Long> parseIds(
+            @Nonnull String ids
+    ) {
+        Set<Long> parsedIds = new LinkedHashSet<>();
+
+        for (String id : ids.split(",")) {
+            try {
+                parsedIds.add(Long.parseLong(id.trim()));
+            } catch (NumberFormatException numberFormatException) {
+                throw new InvalidUserIdsException("User ID must be a number: '" + id + "'.", numberFormatException);
+            }
+
+            if (parsedIds.size() > maxBatchIds) {
+                throw new InvalidUserIdsException("At most " + maxBatchIds + " user IDs can be fetched at once.");
+            }
+        }
+
+        return new ArrayList<>(parsedIds);
+    }
+
+    @Nonnull
+    private StreamingOutput streamAll() {
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                userService.forEach(user -> {
+                    try {
+                        objectMapper.writeValue(generator, user);
+                    } catch (IOException ioException) {
+                        throw new UncheckedIOException(ioException);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+        };
+    }
+
+    @Nonnull
+    private static Link nextLink(
+            @Nonnull UserCursor after,
+            int limit
+    ) {
+        return Link.fromUriBuilder(
+                UriBuilder.fromPath("users")
+                        .queryParam("after", "{after}")
+                        .queryParam("limit", limit)
+        )
+                .rel("next")
+                .build(after.toString());
+    }
+
 }
@@ -0,0 +1,567 @@
+package io.github.groupease.user.avatar;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.inject.Inject;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Response;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.typesafe.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded on-disk cache of user avatars, downscaled from the users' picture URLs.
+ * A picture is fetched once and stored in every {@link AvatarSize}. File names include a hash of the picture URL,
+ * so a changed URL misses the cache and replaces the user's older files. Concurrent misses for the same picture
+ * share one fetch, and a picture that could not be fetched is not tried again for a short time.
+ * When the cache grows past its bound, the files of the least recently used pictures are deleted, every size
+ * together, but never those of the picture being stored. A file found missing is treated as a miss and fetched again.
+ */
+@ThreadSafe
+public class AvatarCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String CONFIG_PATH = "groupease.user.avatar";
+    private static final String FILE_SUFFIX = ".png";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxCacheBytes;
+    private final int maxPictureBytes;
+    private final long maxPicturePixels;
+    private final Client client;
+
+    /* Cached pictures by key, with the total size in bytes of their files, least recently used first. */
+    @GuardedBy("keySizes")
+    private final LinkedHashMap<String, Long> keySizes = new LinkedHashMap<>(16, 0.75f, true);
+
+    @GuardedBy("keySizes")
+    private long cachedBytes;
+
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    /* Why recently failed pictures were unavailable, by cache key. */
+    private final Cache<String, String> unavailable;
+
+    private final Counter hitCounter;
+    private final Counter fetchCounter;
+    private final Counter coalescedCounter;
+    private final Counter evictionCounter;
+    private final Counter unavailableHitCounter;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param config for getting the cache directory, size limits and how long failures are remembered.
+     * @param client the shared HTTP client to fetch pictures with.
+     * @param metricRegistry to count hits, fetches and evictions, and expose the cache size.
+     */
+    @Inject
+    public AvatarCache(
+            @Nonnull Config config,
+            @Nonnull Client client,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        this(
+                Paths.get(config.getString(CONFIG_PATH + ".cacheDirectory")),
+                config.getMemorySize(CONFIG_PATH + ".maxCacheSize").toBytes(),
+                Math.toIntExact(config.getMemorySize(CONFIG_PATH + ".maxPictureSize").toBytes()),
+                config.getLong(CONFIG_PATH + ".maxPicturePixels"),
+                config.getDuration(CONFIG_PATH + ".unavailableTtl", TimeUnit.MILLISECONDS),
+                client,
+                metricRegistry
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param directory where avatar files are stored.
+     * @param maxCacheBytes the total size of avatar files to keep.
+     * @param maxPictureBytes the largest picture to download.
+     * @param maxPicturePixels the largest picture, in width times height, to decode.
+     * @param unavailableTtlMillis how long a picture that could not be fetched or decoded is not tried again.
+     * @param client the HTTP client to fetch pictures with.
+     * @param metricRegistry to count hits, fetches and evictions, and expose the cache size.
+     */
+    AvatarCache(
+            @Nonnull Path directory,
+            long maxCacheBytes,
+            int maxPictureBytes,
+            long maxPicturePixels,
+            long unavailableTtlMillis,
+            @Nonnull Client client,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        this.directory = requireNonNull(directory);
+        this.maxCacheBytes = maxCacheBytes;
+        this.maxPictureBytes = maxPictureBytes;
+        this.maxPicturePixels = maxPicturePixels;
+        this.client = requireNonNull(client);
+        requireNonNull(metricRegistry);
+
+        unavailable = CacheBuilder.newBuilder()
+                .expireAfterWrite(unavailableTtlMillis, TimeUnit.MILLISECONDS)
+                .maximumSize(10000)
+                .build();
+
+        hitCounter = metricRegistry.counter(name(AvatarCache.class, "hits"));
+        fetchCounter = metricRegistry.counter(name(AvatarCache.class, "fetches"));
+        coalescedCounter = metricRegistry.counter(name(AvatarCache.class, "coalesced"));
+        evictionCounter = metricRegistry.counter(name(AvatarCache.class, "evictions"));
+        unavailableHitCounter = metricRegistry.counter(name(AvatarCache.class, "unavailableHits"));
+        metricRegistry.register(
+                name(AvatarCache.class, "cachedBytes"),
+                (Gauge<Long>) this::getCachedBytes
+        );
+
+        loadExisting();
+    }
+
+    /**
+     * Gets the file holding a user's avatar, fetching and downscaling the picture on a miss.
+     *
+     * @param userId the ID of the user.
+     * @param pictureUrl the user's current picture URL.
+     * @param size the avatar size wanted.
+     * @return the avatar file, a PNG image.
+     * @throws AvatarUnavailableException if the picture cannot be fetched or decoded, now or recently.
+     */
+    @Nonnull
+    public Path get(
+            long userId,
+            @Nonnull String pictureUrl,
+            @Nonnull AvatarSize size
+    ) {
+        requireNonNull(pictureUrl);
+        requireNonNull(size);
+
+        String key = userId + "-" + Hashing.sha256().hashString(pictureUrl, StandardCharsets.UTF_8)
+                .toString().substring(0, 16);
+        Path file = fileFor(key, size);
+
+        if (touch(key, file)) {
+            hitCounter.inc();
+            return file;
+        }
+
+        String unavailableReason = unavailable.getIfPresent(key);
+
+        if (unavailableReason != null) {
+            unavailableHitCounter.inc();
+            throw new AvatarUnavailableException(unavailableReason);
+        }
+
+        CompletableFuture<Void> ownFetch = new CompletableFuture<>();
+        CompletableFuture<Void> existingFetch = inFlight.putIfAbsent(key, ownFetch);
+
+        if (existingFetch != null) {
+            coalescedCounter.inc();
+            await(existingFetch);
+            return file;
+        }
+
+        try {
+            /* A fetch for the same picture may have finished between the lookup and taking ownership. */
+            if (!touch(key, file)) {
+                fetchAndStore(userId, key, pictureUrl);
+            }
+            ownFetch.complete(null);
+            return file;
+        } catch (AvatarUnavailableException avatarUnavailableException) {
+            unavailable.put(key, avatarUnavailableException.getMessage());
+            ownFetch.completeExceptionally(avatarUnavailableException);
+            throw avatarUnavailableException;
+        } catch (RuntimeException | Error e) {
+            ownFetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ownFetch);
+        }
+    }
+
+    /**
+     * Gets the total size of the cached avatar files.
+     *
+     * @return the size in bytes.
+     */
+    public long getCachedBytes() {
+        synchronized (keySizes) {
+            return cachedBytes;
+        }
+    }
+
+    private void fetchAndStore(
+            long userId,
+            @Nonnull String key,
+            @Nonnull String pictureUrl
+    ) {
+        fetchCounter.inc();
+        LOGGER.debug("Fetching picture for avatar of user {}: {}", userId, pictureUrl);
+
+        BufferedImage picture = decode(fetch(pictureUrl));
+
+        long bytes = 0L;
+        for (AvatarSize size : AvatarSize.values()) {
+            bytes += store(fileFor(key, size), scale(picture, size.getPixels()));
+        }
+
+        /* Record every size at once, so storing one size can never evict another. */
+        record(key, bytes);
+        removeStale(userId + "-", key);
+    }
+
+    @Nonnull
+    private byte[] fetch(
+            @Nonnull String pictureUrl
+    ) {
+        Response response;
+        try {
+            response = client.target(pictureUrl).request("image/*").get();
+        } catch (ProcessingException | IllegalArgumentException e) {
+            throw new AvatarUnavailableException("Picture could not be fetched.", e);
+        }
+
+        try {
+            if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+                throw new AvatarUnavailableException("Picture host returned status " + response.getStatus() + ".");
+            }
+
+            try (InputStream inputStream = response.readEntity(InputStream.class)) {
+                byte[] picture = ByteStreams.toByteArray(ByteStreams.limit(inputStream, maxPictureBytes + 1L));
+
+                if (picture.length > maxPictureBytes) {
+                    throw new AvatarUnavailableException("Picture is larger than " + maxPictureBytes + " bytes.");
+                }
+                return picture;
+            }
+        } catch (IOException | ProcessingException e) {
+            throw new AvatarUnavailableException("Picture could not be read.", e);
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Reads the picture's dimensions from its header first, so that a small file declaring a huge image
+     * is rejected before any pixels are allocated.
+     */
+    @Nonnull
+    private BufferedImage decode(
+            @Nonnull byte[] picture
+    ) {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(new ByteArrayInputStream(picture))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+
+            if (!readers.hasNext()) {
+                throw new AvatarUnavailableException("Picture is not in a supported image format.");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+
+                if (pixels > maxPicturePixels) {
+                    throw new AvatarUnavailableException("Picture has " + pixels + " pixels, more than "
+                            + maxPicturePixels + ".");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (AvatarUnavailableException avatarUnavailableException) {
+            throw avatarUnavailableException;
+        } catch (IOException | RuntimeException e) {
+            /* Image readers report some malformed files with unchecked exceptions. */
+            throw new AvatarUnavailableException("Picture could not be decoded.", e);
+        }
+    }
+
+    /**
+     * Crops the centre square of the picture and scales it to the size, halving repeatedly first so that
+     * bilinear filtering keeps its quality on large reductions.
+     */
+    @Nonnull
+    private static BufferedImage scale(
+            @Nonnull BufferedImage picture,
+            int pixels
+    ) {
+        int side = Math.min(picture.getWidth(), picture.getHeight());
+        BufferedImage current = picture.getSubimage(
+                (picture.getWidth() - side) / 2,
+                (picture.getHeight() - side) / 2,
+                side,
+                side
+        );
+
+        while (side / 2 >= pixels) {
+            side /= 2;
+            current = resize(current, side);
+        }
+
+        return resize(current, pixels);
+    }
+
+    @Nonnull
+    private static BufferedImage resize(
+            @Nonnull BufferedImage image,
+            int pixels
+    ) {
+        BufferedImage resized = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, pixels, pixels, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    /**
+     * Writes the avatar to a temporary file and moves it into place, so readers never see a partial file.
+     *
+     * @return the size of the file in bytes.
+     */
+    private long store(
+            @Nonnull Path file,
+            @Nonnull BufferedImage avatar
+    ) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(directory, file.getFileName().toString(), TEMP_SUFFIX);
+            ImageIO.write(avatar, "png", tempFile.toFile());
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(file);
+        } catch (IOException ioException) {
+            deleteQuietly(tempFile);
+            throw new UncheckedIOException("Could not store avatar " + file, ioException);
+        }
+    }
+
+    private void record(
+            @Nonnull String key,
+            long bytes
+    ) {
+        List<String> evicted = new ArrayList<>();
+
+        synchronized (keySizes) {
+            Long previousBytes = keySizes.put(key, bytes);
+            cachedBytes += bytes - (previousBytes == null ? 0L : previousBytes);
+
+            Iterator<Map.Entry<String, Long>> leastRecentlyUsed = keySizes.entrySet().iterator();
+            while (cachedBytes > maxCacheBytes && leastRecentlyUsed.hasNext()) {
+                Map.Entry<String, Long> entry = leastRecentlyUsed.next();
+
+                /* Never evict the picture just stored, or a miss could not be served. */
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                cachedBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                leastRecentlyUsed.remove();
+            }
+        }
+
+        evictionCounter.inc(evicted.size());
+        evicted.forEach(this::deleteFiles);
+    }
+
+    /**
+     * Deletes a user's files made from an earlier picture URL.
+     */
+    private void removeStale(
+            @Nonnull String userPrefix,
+            @Nonnull String currentKey
+    ) {
+        List<String> stale = new ArrayList<>();
+
+        synchronized (keySizes) {
+            Iterator<Map.Entry<String, Long>> entries = keySizes.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Long> entry = entries.next();
+
+                if (entry.getKey().startsWith(userPrefix) && !entry.getKey().equals(currentKey)) {
+                    cachedBytes -= entry.getValue();
+                    stale.add(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+
+        stale.forEach(this::deleteFiles);
+    }
+
+    /**
+     * Marks a picture as recently used, if it is cached and the file wanted is still on disk.
+     * A cached picture with a missing file is forgotten, so the caller fetches it again.
+     */
+    private boolean touch(
+            @Nonnull String key,
+            @Nonnull Path file
+    ) {
+        synchronized (keySizes) {
+            if (keySizes.get(key) == null) {
+                return false;
+            }
+        }
+
+        if (Files.exists(file)) {
+            return true;
+        }
+
+        LOGGER.warn("Avatar file {} is missing; fetching the picture again.", file);
+
+        synchronized (keySizes) {
+            Long bytes = keySizes.remove(key);
+            if (bytes != null) {
+                cachedBytes -= bytes;
+            }
+        }
+
+        deleteFiles(key);
+        return false;
+    }
+
+    private void deleteFiles(
+            @Nonnull String key
+    ) {
+        for (AvatarSize size : AvatarSize.values()) {
+            deleteQuietly(fileFor(key, size));
+        }
+    }
+
+    @Nonnull
+    private Path fileFor(
+            @Nonnull String key,
+            @Nonnull AvatarSize size
+    ) {
+        return directory.resolve(key + "-" + size.getPixels() + FILE_SUFFIX);
+    }
+
+    /**
+     * Indexes the files left by an earlier run by picture, oldest first, and removes unfinished temporary files.
+     */
+    private void loadExisting() {
+        List<Path> files;
+        try {
+            Files.createDirectories(directory);
+
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.collect(Collectors.toList());
+            }
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("Could not open avatar cache directory " + directory, ioException);
+        }
+
+        files.stream()
+                .filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                .forEach(AvatarCache::deleteQuietly);
+
+        Map<String, List<Path>> filesByKey = files.stream()
+                .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+                .collect(Collectors.groupingBy(AvatarCache::keyOf));
+
+        filesByKey.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().stream()
+                        .mapToLong(file -> file.toFile().lastModified())
+                        .max()
+                        .orElse(0L)))
+                .forEach(entry -> record(
+                        entry.getKey(),
+                        entry.getValue().stream().mapToLong(file -> file.toFile().length()).sum()
+                ));
+
+        LOGGER.info("Avatar cache in {} holds {} bytes.", directory, getCachedBytes());
+    }
+
+    /**
+     * Gets the cache key from an avatar file name, which is the key followed by "-" and the size.
+     */
+    @Nonnull
+    private static String keyOf(
+            @Nonnull Path file
+    ) {
+        String fileName = file.getFileName().toString();
+        int sizeSeparator = fileName.lastIndexOf('-');
+        return sizeSeparator < 0 ? fileName : fileName.substring(0, sizeSeparator);
+    }
+
+    private static void deleteQuietly(
+            Path file
+    ) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ioException) {
+            LOGGER.warn("Could not delete avatar file {}", file, ioException);
+        }
+    }
+
+    private static void await(
+            @Nonnull CompletableFuture<Void> fetch
+    ) {
+        try {
+            fetch.join();
+        } catch (CompletionException completionException) {
+            Throwable cause = completionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw completionException;
+        }
+    }
+
+}
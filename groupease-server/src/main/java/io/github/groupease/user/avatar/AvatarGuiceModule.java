@@ -0,0 +1,18 @@
+package io.github.groupease.user.avatar;
+
+import javax.inject.Singleton;
+
+import com.google.inject.AbstractModule;
+
+/**
+ * Guice module for the user.avatar package.
+ */
+public class AvatarGuiceModule extends AbstractModule {
+
+    @Override
+    protected void configure() {
+        /* The file index and in-flight fetches are shared by all requests. */
+        bind(AvatarCache.class).in(Singleton.class);
+    }
+
+}
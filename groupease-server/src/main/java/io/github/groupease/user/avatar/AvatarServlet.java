@@ -0,0 +1,181 @@
+package io.github.groupease.user.avatar;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.codahale.metrics.annotation.Timed;
+import com.typesafe.config.Config;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserDao;
+import io.github.groupease.user.UserNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves {@code GET /api/users/{id}/avatar?size=<pixels>} from the {@link AvatarCache}.
+ * This is a plain servlet rather than a Jersey resource so that the file can be handed to Tomcat's sendfile
+ * support, which copies it to the socket without passing through the JVM. Other containers get a
+ * {@link FileChannel#transferTo} copy instead. Like {@code Public} resources it needs no auth token,
+ * because browsers load avatars through image tags that cannot send one.
+ */
+@Singleton
+public class AvatarServlet extends HttpServlet {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /* Request attributes Tomcat uses to serve a file with sendfile once the servlet returns. */
+    static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern AVATAR_PATH = Pattern.compile("/users/([0-9]{1,18})/avatar$");
+
+    private final Provider<UserDao> userDaoProvider;
+    private final AvatarCache avatarCache;
+    private final String cacheControl;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param userDaoProvider provides the {@link UserDao} to look up picture URLs with.
+     * @param avatarCache holds the downscaled avatars.
+     * @param config for getting how long browsers may cache an avatar.
+     */
+    @Inject
+    public AvatarServlet(
+            @Nonnull Provider<UserDao> userDaoProvider,
+            @Nonnull AvatarCache avatarCache,
+            @Nonnull Config config
+    ) {
+        this.userDaoProvider = requireNonNull(userDaoProvider);
+        this.avatarCache = requireNonNull(avatarCache);
+        this.cacheControl = "public, max-age="
+                + config.getDuration("groupease.user.avatar.maxAge", TimeUnit.SECONDS);
+    }
+
+    @Override
+    @Timed
+    protected void doGet(
+            @Nonnull HttpServletRequest request,
+            @Nonnull HttpServletResponse response
+    ) throws IOException {
+        LOGGER.debug("AvatarServlet.doGet({}) called.", request.getRequestURI());
+
+        Matcher matcher = AVATAR_PATH.matcher(request.getRequestURI());
+        if (!matcher.find()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        AvatarSize size;
+        try {
+            String sizeParameter = request.getParameter("size");
+            size = sizeParameter == null ? AvatarSize.MEDIUM : AvatarSize.atLeast(Integer.parseInt(sizeParameter));
+        } catch (NumberFormatException numberFormatException) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Size must be a number of pixels.");
+            return;
+        }
+
+        GroupeaseUser user;
+        try {
+            user = userDaoProvider.get().getById(Long.parseLong(matcher.group(1)));
+        } catch (UserNotFoundException userNotFoundException) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (user.getPictureUrl() == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        Path avatar = getAvatar(user, size, response);
+        if (avatar == null) {
+            return;
+        }
+
+        /* The file name changes with the picture URL and size, so it is a strong validator. */
+        String etag = '"' + avatar.getFileName().toString() + '"';
+        response.setHeader("Cache-Control", cacheControl);
+        response.setHeader("ETag", etag);
+
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        /* Open the file before sizing it; an open file can still be read if it is evicted meanwhile. */
+        FileChannel opened;
+        try {
+            opened = FileChannel.open(avatar, StandardOpenOption.READ);
+        } catch (NoSuchFileException noSuchFileException) {
+            /* Evicted since the lookup. The cache now misses, so fetch it again. */
+            avatar = getAvatar(user, size, response);
+            if (avatar == null) {
+                return;
+            }
+            opened = FileChannel.open(avatar, StandardOpenOption.READ);
+        }
+
+        try (FileChannel file = opened) {
+            long length = file.size();
+            response.setContentType("image/png");
+            response.setContentLengthLong(length);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, avatar.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, length);
+                return;
+            }
+
+            WritableByteChannel body = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                position += file.transferTo(position, length - position, body);
+            }
+        }
+    }
+
+    /**
+     * Gets the user's avatar file from the cache, answering 503 if the picture is unavailable.
+     *
+     * @return the avatar file, or null if an error was sent.
+     */
+    @Nullable
+    private Path getAvatar(
+            @Nonnull GroupeaseUser user,
+            @Nonnull AvatarSize size,
+            @Nonnull HttpServletResponse response
+    ) throws IOException {
+        try {
+            return avatarCache.get(user.getId(), user.getPictureUrl(), size);
+        } catch (AvatarUnavailableException avatarUnavailableException) {
+            LOGGER.warn("Avatar unavailable for user {}: {}", user.getId(), avatarUnavailableException.getMessage());
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return null;
+        }
+    }
+
+}
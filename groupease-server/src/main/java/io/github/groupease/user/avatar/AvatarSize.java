@@ -0,0 +1,44 @@
+package io.github.groupease.user.avatar;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The fixed square sizes, in pixels, that avatars are stored and served in.
+ */
+public enum AvatarSize {
+
+    SMALL(32),
+    MEDIUM(64),
+    LARGE(128);
+
+    private final int pixels;
+
+    AvatarSize(
+            int pixels
+    ) {
+        this.pixels = pixels;
+    }
+
+    public int getPixels() {
+        return pixels;
+    }
+
+    /**
+     * Gets the smallest size at least as large as requested, or the largest size if none is.
+     *
+     * @param pixels the requested width and height.
+     * @return the size to serve.
+     */
+    @Nonnull
+    public static AvatarSize atLeast(
+            int pixels
+    ) {
+        for (AvatarSize size : values()) {
+            if (size.pixels >= pixels) {
+                return size;
+            }
+        }
+        return LARGE;
+    }
+
+}
@@ -0,0 +1,187 @@
+package io.github.groupease.user.retrieval;
+
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Count-based circuit breaker over the most recent calls to a remote service.
+ * The circuit opens when the share of failed or slow calls in the window reaches the threshold.
+ * While open, calls are refused. Once the open duration has passed, a single trial call is let through:
+ * the circuit closes if it succeeds, and opens again if it fails.
+ */
+@ThreadSafe
+public class CircuitBreaker {
+
+    /**
+     * States of the circuit.
+     */
+    public enum State {
+
+        /** Calls are let through and their outcomes recorded. */
+        CLOSED,
+
+        /** Calls are refused. */
+        OPEN,
+
+        /** A single trial call is let through to probe the remote service. */
+        HALF_OPEN
+
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    @GuardedBy("this")
+    private final boolean[] failures;
+
+    @GuardedBy("this")
+    private int nextIndex;
+
+    @GuardedBy("this")
+    private int recordedCalls;
+
+    @GuardedBy("this")
+    private int failedCalls;
+
+    @GuardedBy("this")
+    private State state = State.CLOSED;
+
+    @GuardedBy("this")
+    private long openedAtNanos;
+
+    @GuardedBy("this")
+    private boolean trialInFlight;
+
+    /**
+     * Constructor.
+     *
+     * @param windowSize number of most recent calls the failure rate is computed over.
+     * @param minimumCalls fewest recorded calls before the circuit may open.
+     * @param failureRateThreshold share of failed calls, from 0 to 1, that opens the circuit.
+     * @param slowCallNanos calls slower than this count as failures.
+     * @param openNanos how long the circuit stays open before a trial call.
+     * @param nanoClock source of {@link System#nanoTime()}-style timestamps.
+     */
+    public CircuitBreaker(
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            long slowCallNanos,
+            long openNanos,
+            @Nonnull LongSupplier nanoClock
+    ) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Require 1 <= minimumCalls <= windowSize.");
+        }
+        this.failures = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+        this.nanoClock = requireNonNull(nanoClock);
+    }
+
+    /**
+     * Asks to make a call. Every permitted call must be followed by {@link #onResult(boolean, long)}.
+     *
+     * @return true if the call may be made.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param success whether the remote service handled the call.
+     * @param durationNanos how long the call took.
+     */
+    public synchronized void onResult(
+            boolean success,
+            long durationNanos
+    ) {
+        boolean failure = !success || durationNanos > slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (state == State.OPEN) {
+            return;
+        }
+
+        /* Overwrite the oldest outcome once the window is full. */
+        if (recordedCalls == failures.length) {
+            if (failures[nextIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        failures[nextIndex] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        nextIndex = (nextIndex + 1) % failures.length;
+
+        if (recordedCalls >= minimumCalls && failedCalls >= failureRateThreshold * recordedCalls) {
+            open();
+        }
+    }
+
+    /**
+     * Gets the current state of the circuit.
+     *
+     * @return the state.
+     */
+    @Nonnull
+    public synchronized State getState() {
+        return state;
+    }
+
+    @GuardedBy("this")
+    private void open() {
+        openedAtNanos = nanoClock.getAsLong();
+        transitionTo(State.OPEN);
+    }
+
+    @GuardedBy("this")
+    private void transitionTo(
+            @Nonnull State newState
+    ) {
+        state = newState;
+        trialInFlight = false;
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+}
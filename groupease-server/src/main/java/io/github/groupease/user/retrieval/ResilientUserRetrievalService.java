@@ -0,0 +1,190 @@
+package io.github.groupease.user.retrieval;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.inject.Inject;
+import javax.ws.rs.WebApplicationException;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.typesafe.config.Config;
+import io.github.groupease.user.GroupeaseUserDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link UserRetrievalService} that guards the identity provider with a bulkhead and a {@link CircuitBreaker}.
+ * The bulkhead bounds how many request threads can wait on the identity provider at once.
+ * The circuit breaker stops calling it while too many recent calls failed or were slow.
+ * Refused and failed calls throw {@link UserRetrievalUnavailableException}, so callers can fall back to the
+ * last saved profile. Client errors, such as a rejected token, do not count against the identity provider.
+ */
+@ThreadSafe
+public class ResilientUserRetrievalService implements UserRetrievalService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String CONFIG_PATH = "groupease.user.profile.retrieval";
+
+    private final UserRetrievalService delegate;
+    private final Semaphore bulkhead;
+    private final long maxWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final Timer callTimer;
+    private final Counter failureCounter;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadFullRejections;
+
+    /**
+     * Injectable constructor.
+     *
+     * @param delegate retrieves the profile from the identity provider.
+     * @param config for getting bulkhead and circuit breaker settings.
+     * @param metricRegistry to expose breaker state, calls, failures and rejections.
+     */
+    @Inject
+    public ResilientUserRetrievalService(
+            @Nonnull Auth0UserRetrievalService delegate,
+            @Nonnull Config config,
+            @Nonnull MetricRegistry metricRegistry
+    ) {
+        this(
+                delegate,
+                config.getConfig(CONFIG_PATH),
+                metricRegistry,
+                createCircuitBreaker(config.getConfig(CONFIG_PATH))
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate retrieves the profile from the identity provider.
+     * @param retrievalConfig the retrieval settings.
+     * @param metricRegistry to expose breaker state, calls, failures and rejections.
+     * @param circuitBreaker to stop calling the identity provider while it is failing.
+     */
+    ResilientUserRetrievalService(
+            @Nonnull UserRetrievalService delegate,
+            @Nonnull Config retrievalConfig,
+            @Nonnull MetricRegistry metricRegistry,
+            @Nonnull CircuitBreaker circuitBreaker
+    ) {
+        this.delegate = requireNonNull(delegate);
+        this.circuitBreaker = requireNonNull(circuitBreaker);
+        requireNonNull(metricRegistry);
+
+        bulkhead = new Semaphore(retrievalConfig.getInt("maxConcurrentCalls"));
+        maxWaitMillis = retrievalConfig.getDuration("maxWait", TimeUnit.MILLISECONDS);
+
+        callTimer = metricRegistry.timer(name(ResilientUserRetrievalService.class, "calls"));
+        failureCounter = metricRegistry.counter(name(ResilientUserRetrievalService.class, "failures"));
+        circuitOpenRejections = metricRegistry.counter(
+                name(ResilientUserRetrievalService.class, "rejected", "circuitOpen")
+        );
+        bulkheadFullRejections = metricRegistry.counter(
+                name(ResilientUserRetrievalService.class, "rejected", "bulkheadFull")
+        );
+        metricRegistry.register(
+                name(ResilientUserRetrievalService.class, "circuitState"),
+                (Gauge<String>) () -> circuitBreaker.getState().name()
+        );
+        metricRegistry.register(
+                name(ResilientUserRetrievalService.class, "bulkhead", "available"),
+                (Gauge<Integer>) bulkhead::availablePermits
+        );
+    }
+
+    @Nonnull
+    @Override
+    public GroupeaseUserDto fetch() {
+
+        if (!acquireBulkhead()) {
+            bulkheadFullRejections.inc();
+            throw new UserRetrievalUnavailableException("Too many identity provider calls in flight.");
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                circuitOpenRejections.inc();
+                throw new UserRetrievalUnavailableException("Identity provider circuit is open.");
+            }
+
+            return fetchWithBreaker();
+
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Nonnull
+    private GroupeaseUserDto fetchWithBreaker() {
+        boolean success = false;
+        long startNanos = System.nanoTime();
+
+        try {
+            GroupeaseUserDto groupeaseUserDto = delegate.fetch();
+            success = true;
+            return groupeaseUserDto;
+
+        } catch (WebApplicationException webApplicationException) {
+            /* The identity provider answered; a 4xx is about this request, not its health. */
+            if (webApplicationException.getResponse().getStatus() < 500) {
+                success = true;
+                throw webApplicationException;
+            }
+            throw unavailable(webApplicationException);
+
+        } catch (RuntimeException runtimeException) {
+            throw unavailable(runtimeException);
+
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+            callTimer.update(durationNanos, TimeUnit.NANOSECONDS);
+            circuitBreaker.onResult(success, durationNanos);
+        }
+    }
+
+    @Nonnull
+    private UserRetrievalUnavailableException unavailable(
+            @Nonnull RuntimeException cause
+    ) {
+        failureCounter.inc();
+        LOGGER.warn("Identity provider profile retrieval failed.", cause);
+        return new UserRetrievalUnavailableException("Identity provider profile retrieval failed.", cause);
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Nonnull
+    private static CircuitBreaker createCircuitBreaker(
+            @Nonnull Config retrievalConfig
+    ) {
+        Config breakerConfig = retrievalConfig.getConfig("circuitBreaker");
+        return new CircuitBreaker(
+                breakerConfig.getInt("windowSize"),
+                breakerConfig.getInt("minimumCalls"),
+                breakerConfig.getDouble("failureRateThreshold"),
+                breakerConfig.getDuration("slowCallDuration", TimeUnit.NANOSECONDS),
+                breakerConfig.getDuration("openDuration", TimeUnit.NANOSECONDS),
+                System::nanoTime
+        );
+    }
+
+}
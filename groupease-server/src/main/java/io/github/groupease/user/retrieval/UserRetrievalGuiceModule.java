@@ -1,5 +1,6 @@
 package io.github.groupease.user.retrieval;
 
+import javax.inject.Singleton;
 import javax.ws.rs.client.WebTarget;
 
 import com.google.inject.AbstractModule;
@@ -11,8 +12,13 @@ public class UserRetrievalGuiceModule extends AbstractModule {
 
     @Override
     protected void configure() {
-        bind(UserRetrievalService.class).to(Auth0UserRetrievalService.class);
-        bind(WebTarget.class).annotatedWith(UserProfile.class).toProvider(Auth0UserWebTargetProvider.class);
+        /* Bulkhead and circuit breaker state is shared by all requests. */
+        bind(UserRetrievalService.class).to(ResilientUserRetrievalService.class);
+        bind(ResilientUserRetrievalService.class).in(Singleton.class);
+
+        /* Immutable target on the shared client, reused by all requests. */
+        bind(WebTarget.class).annotatedWith(UserProfile.class).toProvider(Auth0UserWebTargetProvider.class)
+                .in(Singleton.class);
     }
 
 }
@@ -24,7 +24,6 @@ import io.github.groupease.channel.Channel;
 import io.github.groupease.channel.ChannelDao;
 import io.github.groupease.channel.ChannelDto;
 import io.github.groupease.channel.ChannelService;
-import io.github.groupease.config.guice.NoCache;
 import io.github.groupease.exception.mapper.GroupeaseClientError;
 import io.github.groupease.user.GroupeaseUser;
 import io.github.groupease.user.GroupeaseUserDto;
@@ -112,7 +111,6 @@ public class GroupeaseTestGuiceModule extends AbstractModule {
         bind(Jwk.class).toInstance(jwk);
         bind(JwkProvider.class).toInstance(jwkProvider);
         bind(JWT.class).toInstance(jwt);
-        bind(JwkProvider.class).annotatedWith(NoCache.class).toInstance(jwkProvider);
         bind(ResourceInfo.class).toInstance(resourceInfo);
         bind(RSAPublicKey.class).toInstance(rsaPublicKey);
         bind(UserDao.class).toInstance(userDao);
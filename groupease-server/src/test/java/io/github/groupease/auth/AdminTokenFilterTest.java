@@ -0,0 +1,122 @@
+package io.github.groupease.auth;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.typesafe.config.Config;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit tests for {@link AdminTokenFilter}.
+ */
+public class AdminTokenFilterTest {
+
+    private static final String TOKEN = "admin-secret";
+
+    @Mock
+    private Config config;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain chain;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        /* Train the mocks. */
+        when(config.getBoolean("groupease.admin.enabled")).thenReturn(true);
+        when(config.getString("groupease.admin.token")).thenReturn(TOKEN);
+    }
+
+    /**
+     * It should pass a request carrying the admin token on to the admin servlet.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoFilter() throws Exception {
+        /* Train the mocks. */
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
+
+        /* Make the call. */
+        new AdminTokenFilter(config).doFilter(request, response, chain);
+
+        /* Verify results. */
+        verify(chain).doFilter(request, response);
+        verify(response, never()).sendError(anyInt());
+    }
+
+    /**
+     * It should reject a request without the admin token.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoFilterWrongToken() throws Exception {
+        /* Train the mocks. */
+        when(request.getHeader("Authorization")).thenReturn("Bearer wrong");
+
+        /* Make the call. */
+        new AdminTokenFilter(config).doFilter(request, response, chain);
+
+        /* Verify results. */
+        verify(response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+        verifyZeroInteractions(chain);
+    }
+
+    /**
+     * It should hide the admin paths when they are disabled, even from a request carrying the token.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoFilterDisabled() throws Exception {
+        /* Train the mocks. */
+        when(config.getBoolean("groupease.admin.enabled")).thenReturn(false);
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
+
+        /* Make the call. */
+        new AdminTokenFilter(config).doFilter(request, response, chain);
+
+        /* Verify results. */
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verifyZeroInteractions(chain);
+    }
+
+    /**
+     * It should keep the admin paths disabled when no token is configured.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoFilterNoTokenConfigured() throws Exception {
+        /* Train the mocks. */
+        when(config.getString("groupease.admin.token")).thenReturn("");
+        when(request.getHeader("Authorization")).thenReturn("Bearer ");
+
+        /* Make the call. */
+        new AdminTokenFilter(config).doFilter(request, response, chain);
+
+        /* Verify results. */
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verifyZeroInteractions(chain);
+    }
+
+}
@@ -5,6 +5,7 @@ import javax.inject.Provider;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.HttpHeaders;
 
+import com.codahale.metrics.MetricRegistry;
 import io.github.groupease.GroupeaseTestGuiceModule;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Guice;
@@ -23,7 +24,9 @@ public class AuthTokenStringProviderTest {
     private HttpServletRequest httpServletRequest;
 
     @Inject
-    private Provider<AuthTokenStringProvider> toTestProvider;
+    private Provider<HttpServletRequest> httpServletRequestProvider;
+
+    private MetricRegistry metricRegistry;
 
     private AuthTokenStringProvider toTest;
 
@@ -37,8 +40,13 @@ public class AuthTokenStringProviderTest {
         /* Reset all injected mocks between tests. */
         reset(httpServletRequest);
 
+        metricRegistry = new MetricRegistry();
+
         /* Get instance to test. */
-        toTest = toTestProvider.get();
+        toTest = new AuthTokenStringProvider(
+                httpServletRequestProvider,
+                metricRegistry
+        );
     }
 
     /**
@@ -60,6 +68,7 @@ public class AuthTokenStringProviderTest {
 
         /* Verify results. */
         assertEquals(actual, expected);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(AuthTokenStringProvider.class, "missingHeader")).getCount(), 1L);
     }
 
     /**
@@ -81,6 +90,7 @@ public class AuthTokenStringProviderTest {
 
         /* Verify results. */
         assertEquals(actual, expected);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(AuthTokenStringProvider.class, "notBearer")).getCount(), 1L);
     }
 
     /**
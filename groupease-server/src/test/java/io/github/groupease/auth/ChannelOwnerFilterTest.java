@@ -0,0 +1,139 @@
+package io.github.groupease.auth;
+
+import javax.inject.Provider;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+
+import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.db.ChannelRoleDao;
+import io.github.groupease.exception.NotChannelOwnerException;
+import io.github.groupease.exception.NotSignedInException;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit tests for {@link ChannelOwnerFilter}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ChannelOwnerFilterTest {
+
+    private static final String CURRENT_USER_ID = "google-oauth2|111746143957109354197";
+
+    @Mock
+    private Provider<AuthContext> authContextProvider;
+
+    @Mock
+    private AuthContext authContext;
+
+    @Mock
+    private ChannelRoleDao channelRoleDao;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @Mock
+    private UriInfo uriInfo;
+
+    private MultivaluedMap<String, String> pathParameters;
+
+    private ChannelOwnerFilter toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        pathParameters = new MultivaluedHashMap<>();
+
+        /* Train the mocks. */
+        when(authContextProvider.get()).thenReturn(authContext);
+        when(authContext.getCurrentUserId()).thenReturn(CURRENT_USER_ID);
+        when(requestContext.getUriInfo()).thenReturn(uriInfo);
+        when(uriInfo.getPathParameters()).thenReturn(pathParameters);
+
+        /* Get instance to test. */
+        toTest = new ChannelOwnerFilter(
+                "channelId",
+                authContextProvider,
+                channelRoleDao
+        );
+    }
+
+    /**
+     * It should let the request through when the current user owns the channel.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFilterWhenOwner() throws Exception {
+        /* Set up test. */
+        pathParameters.putSingle("channelId", "42");
+
+        /* Train the mocks. */
+        when(channelRoleDao.isOwner(CURRENT_USER_ID, 42L)).thenReturn(true);
+
+        /* Make the call. */
+        toTest.filter(requestContext);
+
+        /* Verify results. */
+        verify(channelRoleDao).isOwner(CURRENT_USER_ID, 42L);
+    }
+
+    /**
+     * It should throw {@link NotChannelOwnerException} when the current user does not own the channel.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = NotChannelOwnerException.class)
+    public void testFilterWhenNotOwner() throws Exception {
+        /* Set up test. */
+        pathParameters.putSingle("channelId", "42");
+
+        /* Train the mocks. */
+        when(channelRoleDao.isOwner(CURRENT_USER_ID, 42L)).thenReturn(false);
+
+        /* Make the call. */
+        toTest.filter(requestContext);
+    }
+
+    /**
+     * It should throw {@link NotChannelOwnerException} when the channel ID is not a number.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = NotChannelOwnerException.class)
+    public void testFilterWhenChannelIdInvalid() throws Exception {
+        /* Set up test. */
+        pathParameters.putSingle("channelId", "abc");
+
+        /* Make the call. */
+        toTest.filter(requestContext);
+    }
+
+    /**
+     * It should throw {@link NotSignedInException} when there is no current user.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = NotSignedInException.class)
+    public void testFilterWhenNotSignedIn() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(null);
+
+        /* Make the call. */
+        toTest.filter(requestContext);
+    }
+
+}
@@ -0,0 +1,188 @@
+package io.github.groupease.auth;
+
+import io.github.groupease.db.ChannelRole;
+import io.github.groupease.db.ChannelRoleDao;
+import io.github.groupease.exception.NotSignedInException;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserDao;
+import io.github.groupease.user.UserNotFoundException;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link CurrentUserContext}.
+ */
+public class CurrentUserContextTest {
+
+    private static final String PROVIDER_USER_ID = "auth0|123";
+
+    @Mock
+    private AuthContext authContext;
+
+    @Mock
+    private UserDao userDao;
+
+    @Mock
+    private ChannelRoleDao channelRoleDao;
+
+    @Mock
+    private GroupeaseUser user;
+
+    private CurrentUserContext toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Get a fresh instance per test, as there is one per request. */
+        toTest = new CurrentUserContext(authContext, userDao, channelRoleDao);
+    }
+
+    /**
+     * It should look up the user profile only once, however many times it is asked for.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetUserLooksUpOnce() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(PROVIDER_USER_ID);
+        when(userDao.findByProviderUserId(PROVIDER_USER_ID)).thenReturn(user);
+
+        /* Make the call. */
+        GroupeaseUser first = toTest.getUser();
+        GroupeaseUser second = toTest.getUser();
+
+        /* Verify results. */
+        assertSame(first, user);
+        assertSame(second, user);
+        verify(userDao, times(1)).findByProviderUserId(PROVIDER_USER_ID);
+    }
+
+    /**
+     * It should throw when the signed in user has no profile, and not look up again.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetUserWhenNoProfile() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(PROVIDER_USER_ID);
+        when(userDao.findByProviderUserId(PROVIDER_USER_ID)).thenReturn(null);
+
+        /* Make the call. */
+        expectThrows(UserNotFoundException.class, () -> toTest.getUser());
+        GroupeaseUser actual = toTest.findUser();
+
+        /* Verify results. */
+        assertNull(actual);
+        verify(userDao, times(1)).findByProviderUserId(PROVIDER_USER_ID);
+    }
+
+    /**
+     * It should throw when the request is not signed in.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = NotSignedInException.class)
+    public void testGetProviderUserIdWhenNotSignedIn() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(null);
+
+        /* Make the call. */
+        toTest.getProviderUserId();
+    }
+
+    /**
+     * It should take the user ID from the session token without a profile lookup.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetUserIdFromSession() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getSessionUserId()).thenReturn(42L);
+
+        /* Make the call. */
+        long actual = toTest.getUserId();
+
+        /* Verify results. */
+        assertEquals(actual, 42L);
+        verifyZeroInteractions(userDao);
+    }
+
+    /**
+     * It should take the user ID from the profile when there is no session token.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetUserIdFromProfile() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getSessionUserId()).thenReturn(null);
+        when(authContext.getCurrentUserId()).thenReturn(PROVIDER_USER_ID);
+        when(userDao.findByProviderUserId(PROVIDER_USER_ID)).thenReturn(user);
+        when(user.getId()).thenReturn(7L);
+
+        /* Make the call. */
+        long actual = toTest.getUserId();
+
+        /* Verify results. */
+        assertEquals(actual, 7L);
+    }
+
+    /**
+     * It should compare users by provider user ID.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testIsCurrentUser() throws Exception {
+        /* Set up test. */
+        GroupeaseUser other = mock(GroupeaseUser.class);
+
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(PROVIDER_USER_ID);
+        when(user.getProviderUserId()).thenReturn(PROVIDER_USER_ID);
+        when(other.getProviderUserId()).thenReturn("auth0|456");
+
+        /* Make the call and verify results. */
+        assertTrue(toTest.isCurrentUser(user));
+        assertFalse(toTest.isCurrentUser(other));
+        assertFalse(toTest.isCurrentUser(null));
+    }
+
+    /**
+     * It should look up each channel role once per request.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testChannelRoleRemembered() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(PROVIDER_USER_ID);
+        when(channelRoleDao.getRole(PROVIDER_USER_ID, 1L)).thenReturn(ChannelRole.OWNER);
+        when(channelRoleDao.getRole(PROVIDER_USER_ID, 2L)).thenReturn(ChannelRole.NONE);
+
+        /* Make the call and verify results. */
+        assertTrue(toTest.isChannelMember(1L));
+        assertTrue(toTest.isChannelOwner(1L));
+        assertFalse(toTest.isChannelMember(2L));
+        assertFalse(toTest.isChannelOwner(2L));
+        verify(channelRoleDao, times(1)).getRole(PROVIDER_USER_ID, 1L);
+        verify(channelRoleDao, times(1)).getRole(PROVIDER_USER_ID, 2L);
+        verifyZeroInteractions(userDao);
+    }
+
+}
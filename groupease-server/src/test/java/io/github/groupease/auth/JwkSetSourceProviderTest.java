@@ -0,0 +1,177 @@
+package io.github.groupease.auth;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.auth0.jwk.Jwk;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link JwkSetSourceProvider}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class JwkSetSourceProviderTest {
+
+    private static final String RESOURCE = "jwks-test.json";
+
+    @Inject
+    private Config config;
+
+    @Mock
+    private Provider<GeneratedJwkSetSource> generatedJwkSetSourceProvider;
+
+    @Mock
+    private GeneratedJwkSetSource generatedJwkSetSource;
+
+    private JwkSetSourceProvider toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Reset all injected mocks between tests. */
+        reset(config);
+
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        toTest = new JwkSetSourceProvider(
+                config,
+                generatedJwkSetSourceProvider
+        );
+    }
+
+    /**
+     * It should load the key set from a classpath resource.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenClasspath() throws Exception {
+        /* Train the mocks. */
+        when(config.getString(JwkSetSourceProvider.SOURCE_PATH)).thenReturn("classpath");
+        when(config.getString(JwkSetSourceProvider.LOCATION_PATH)).thenReturn(RESOURCE);
+
+        /* Make the call. */
+        List<Jwk> actual = toTest.get().getAll();
+
+        /* Verify results. */
+        assertEquals(actual.size(), 1);
+        assertEquals(actual.get(0).getId(), "test-key");
+        assertNotNull(actual.get(0).getPublicKey());
+        verifyZeroInteractions(generatedJwkSetSourceProvider);
+    }
+
+    /**
+     * It should load the key set from a local file.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenFile() throws Exception {
+        /* Set up test. */
+        Path file = Files.createTempFile("jwks", ".json");
+        file.toFile().deleteOnExit();
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(RESOURCE)) {
+            Files.copy(inputStream, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        /* Train the mocks. */
+        when(config.getString(JwkSetSourceProvider.SOURCE_PATH)).thenReturn("file");
+        when(config.getString(JwkSetSourceProvider.LOCATION_PATH)).thenReturn(file.toString());
+
+        /* Make the call. */
+        List<Jwk> actual = toTest.get().getAll();
+
+        /* Verify results. */
+        assertEquals(actual.size(), 1);
+        assertEquals(actual.get(0).getId(), "test-key");
+    }
+
+    /**
+     * It should use the generated key set when selected.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenGenerated() throws Exception {
+        /* Train the mocks. */
+        when(config.getString(JwkSetSourceProvider.SOURCE_PATH)).thenReturn("generated");
+        when(generatedJwkSetSourceProvider.get()).thenReturn(generatedJwkSetSource);
+
+        /* Make the call. */
+        JwkSetSource actual = toTest.get();
+
+        /* Verify results. */
+        assertSame(actual, generatedJwkSetSource);
+    }
+
+    /**
+     * It should use the identity provider by default configuration.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenIdentityProvider() throws Exception {
+        /* Train the mocks. */
+        when(config.getString(JwkSetSourceProvider.SOURCE_PATH)).thenReturn("identityProvider");
+        when(config.getString("groupease.auth.jwkDomain")).thenReturn("https://mckoon.auth0.com");
+
+        /* Make the call. */
+        JwkSetSource actual = toTest.get();
+
+        /* Verify results. */
+        assertTrue(actual instanceof UrlJwkSetSource);
+        verifyZeroInteractions(generatedJwkSetSourceProvider);
+    }
+
+    /**
+     * It should fail on a missing classpath resource.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = ConfigException.BadValue.class)
+    public void testGetWhenClasspathResourceMissing() throws Exception {
+        /* Train the mocks. */
+        when(config.getString(JwkSetSourceProvider.SOURCE_PATH)).thenReturn("classpath");
+        when(config.getString(JwkSetSourceProvider.LOCATION_PATH)).thenReturn("missing.json");
+
+        /* Make the call. */
+        toTest.get();
+    }
+
+    /**
+     * It should fail on an unknown source.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = ConfigException.BadValue.class)
+    public void testGetWhenUnknownSource() throws Exception {
+        /* Train the mocks. */
+        when(config.getString(JwkSetSourceProvider.SOURCE_PATH)).thenReturn("somewhere");
+
+        /* Make the call. */
+        toTest.get();
+    }
+
+}
@@ -0,0 +1,264 @@
+package io.github.groupease.auth;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link JwksKeyStore}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class JwksKeyStoreTest {
+
+    private static final String KEY_ID = "keyId";
+
+    @Inject
+    private Config config;
+
+    @Inject
+    private Jwk jwk;
+
+    @Mock
+    private JwkSetSource jwkSetSource;
+
+    @Mock
+    private ScheduledExecutorService executor;
+
+    private MetricRegistry metricRegistry;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Reset all injected mocks between tests. */
+        reset(
+                config,
+                jwk
+        );
+
+        /* Train the mocks. */
+        when(config.getDuration("groupease.auth.jwks.refreshInterval", TimeUnit.SECONDS))
+                .thenReturn(600L);
+
+        when(config.getDuration("groupease.auth.jwks.unknownKeyIdTtl", TimeUnit.MILLISECONDS))
+                .thenReturn(30000L);
+
+        when(config.getLong("groupease.auth.jwks.unknownKeyIdMaximumSize"))
+                .thenReturn(100L);
+
+        when(config.getDouble("groupease.auth.jwks.maxTriggeredRefreshesPerSecond"))
+                .thenReturn(1.0);
+
+        when(jwk.getId()).thenReturn(KEY_ID);
+
+        /* Run triggered refreshes on the calling thread. */
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        metricRegistry = new MetricRegistry();
+    }
+
+    private JwksKeyStore createKeyStore() {
+        return new JwksKeyStore(
+                jwkSetSource,
+                config,
+                metricRegistry,
+                executor
+        );
+    }
+
+    /**
+     * It should preload the key set and schedule background refreshes.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConstructorPreloads() throws Exception {
+        /* Train the mocks. */
+        when(jwkSetSource.getAll()).thenReturn(Collections.singletonList(jwk));
+
+        /* Make the call. */
+        JwksKeyStore toTest = createKeyStore();
+
+        /* Verify results. */
+        assertSame(toTest.get(KEY_ID), jwk);
+        assertTrue(toTest.getAgeMillis() >= 0L);
+        verify(executor).scheduleWithFixedDelay(any(Runnable.class), eq(600L), eq(600L), eq(TimeUnit.SECONDS));
+    }
+
+    /**
+     * It should serve keys from memory without loading the key set again.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenKnown() throws Exception {
+        /* Train the mocks. */
+        when(jwkSetSource.getAll()).thenReturn(Collections.singletonList(jwk));
+
+        /* Make the calls. */
+        JwksKeyStore toTest = createKeyStore();
+        toTest.get(KEY_ID);
+        toTest.get(KEY_ID);
+
+        /* Verify results. */
+        verify(jwkSetSource, times(1)).getAll();
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    /**
+     * It should throw for an unknown key ID, and trigger a refresh that picks up the new key.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenUnknownTriggersRefresh() throws Exception {
+        /* Set up test. */
+        Jwk rotated = mock(Jwk.class);
+
+        /* Train the mocks. */
+        when(rotated.getId()).thenReturn("rotated");
+        when(jwkSetSource.getAll())
+                .thenReturn(Collections.singletonList(jwk))
+                .thenReturn(Arrays.asList(jwk, rotated));
+
+        JwksKeyStore toTest = createKeyStore();
+
+        /* Make the call. */
+        try {
+            toTest.get("rotated");
+            fail("Expected SigningKeyNotFoundException");
+        } catch (SigningKeyNotFoundException signingKeyNotFoundException) {
+            /* Expected. */
+        }
+
+        /* Verify results. */
+        verify(executor).execute(any(Runnable.class));
+        assertSame(toTest.get("rotated"), rotated);
+    }
+
+    /**
+     * It should keep serving the last good key set when a refresh fails.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testRefreshWhenFailing() throws Exception {
+        /* Train the mocks. */
+        when(jwkSetSource.getAll())
+                .thenReturn(Collections.singletonList(jwk))
+                .thenThrow(SigningKeyNotFoundException.class);
+
+        JwksKeyStore toTest = createKeyStore();
+
+        /* Make the call. */
+        toTest.requestRefresh();
+
+        /* Verify results. */
+        assertSame(toTest.get(KEY_ID), jwk);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwksKeyStore.class, "refreshFailures")).getCount(), 1L);
+    }
+
+    /**
+     * It should start with an empty key set when the preload fails, and not throw.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConstructorWhenPreloadFails() throws Exception {
+        /* Train the mocks. */
+        when(jwkSetSource.getAll()).thenThrow(SigningKeyNotFoundException.class);
+
+        /* Make the call. */
+        JwksKeyStore toTest = createKeyStore();
+
+        /* Verify results. */
+        assertEquals(toTest.size(), 0);
+        assertEquals(toTest.getAgeMillis(), -1L);
+        verify(executor).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), eq(TimeUnit.SECONDS));
+    }
+
+    /**
+     * It should not trigger another refresh for a recently seen unknown key ID.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenUnknownKeyIdRemembered() throws Exception {
+        /* Train the mocks. */
+        when(jwkSetSource.getAll()).thenReturn(Collections.singletonList(jwk));
+
+        JwksKeyStore toTest = createKeyStore();
+
+        /* Make the calls. */
+        for (int i = 0; i < 3; i++) {
+            try {
+                toTest.get("junk");
+                fail("Expected SigningKeyNotFoundException");
+            } catch (SigningKeyNotFoundException signingKeyNotFoundException) {
+                /* Expected. */
+            }
+        }
+
+        /* Verify results. */
+        verify(executor, times(1)).execute(any(Runnable.class));
+        verify(jwkSetSource, times(2)).getAll();
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwksKeyStore.class, "unknownKeyIdHits")).getCount(), 2L);
+    }
+
+    /**
+     * It should cap refreshes triggered by distinct unknown key IDs.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenRefreshesRateLimited() throws Exception {
+        /* Train the mocks. */
+        when(jwkSetSource.getAll()).thenReturn(Collections.singletonList(jwk));
+
+        JwksKeyStore toTest = createKeyStore();
+
+        /* Make the calls. */
+        for (int i = 0; i < 5; i++) {
+            try {
+                toTest.get("junk" + i);
+                fail("Expected SigningKeyNotFoundException");
+            } catch (SigningKeyNotFoundException signingKeyNotFoundException) {
+                /* Expected. */
+            }
+        }
+
+        /* Verify results. */
+        verify(executor, times(1)).execute(any(Runnable.class));
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwksKeyStore.class, "refreshesRateLimited")).getCount(), 4L);
+    }
+
+}
@@ -8,6 +8,8 @@ import javax.inject.Provider;
 import com.auth0.jwk.InvalidPublicKeyException;
 import com.auth0.jwk.Jwk;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.Config;
 import io.github.groupease.GroupeaseTestGuiceModule;
 import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
@@ -30,6 +32,9 @@ public class JwtAlgorithmProviderTest {
     @Inject
     private RSAPublicKey rsaPublicKey;
 
+    @Inject
+    private Config config;
+
     @Mock
     private Provider<Jwk> jwkProvider;
 
@@ -48,11 +53,15 @@ public class JwtAlgorithmProviderTest {
         /* Reset all injected mocks between tests. */
         reset(
                 jwk,
-                rsaPublicKey
+                rsaPublicKey,
+                config
         );
 
         /* Get instance to test. Not injecting so we can mock Provider. */
-        toTest = new JwtAlgorithmProvider(jwkProvider);
+        toTest = new JwtAlgorithmProvider(
+                jwkProvider,
+                new JwtVerifierRegistry(config, new MetricRegistry())
+        );
     }
 
     /**
@@ -0,0 +1,201 @@
+package io.github.groupease.auth;
+
+import java.util.Collections;
+import java.util.Date;
+
+import javax.inject.Inject;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link JwtClaimChecker}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class JwtClaimCheckerTest {
+
+    private static final String ISSUER = "https://groupease.auth0.com/";
+    private static final String AUDIENCE = "groupease-api";
+
+    @Inject
+    private Config config;
+
+    private JwtClaimChecker toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Reset all injected mocks between tests. */
+        reset(
+                config
+        );
+
+        /* Train the mocks. */
+        when(config.getString("groupease.auth.jwtVerification.issuer"))
+                .thenReturn(ISSUER);
+
+        when(config.getStringList("groupease.auth.jwtVerification.audience"))
+                .thenReturn(Collections.singletonList(AUDIENCE));
+
+        when(config.getLong("groupease.auth.jwtVerification.leeway"))
+                .thenReturn(1L);
+
+        toTest = new JwtClaimChecker(config);
+    }
+
+    /**
+     * Decodes a token signed with a throwaway key.
+     *
+     * @param builder the token claims.
+     * @return the decoded token.
+     * @throws Exception on error.
+     */
+    private DecodedJWT decode(
+            JWTCreator.Builder builder
+    ) throws Exception {
+        return JWT.decode(builder.sign(Algorithm.HMAC256("secret")));
+    }
+
+    /**
+     * It should accept unexpired tokens.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckTimesWhenValid() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkTimes(
+                decode(JWT.create().withExpiresAt(new Date(System.currentTimeMillis() + 60000L)))
+        );
+
+        /* Verify results. */
+        assertNull(actual);
+    }
+
+    /**
+     * It should accept tokens expired within the leeway.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckTimesWhenExpiredWithinLeeway() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkTimes(
+                decode(JWT.create().withExpiresAt(new Date(System.currentTimeMillis())))
+        );
+
+        /* Verify results. */
+        assertNull(actual);
+    }
+
+    /**
+     * It should reject expired tokens.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckTimesWhenExpired() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkTimes(
+                decode(JWT.create().withExpiresAt(new Date(System.currentTimeMillis() - 60000L)))
+        );
+
+        /* Verify results. */
+        assertEquals(actual, AuthTokenRejection.EXPIRED);
+    }
+
+    /**
+     * It should reject tokens not yet valid.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckTimesWhenNotBefore() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkTimes(
+                decode(JWT.create().withNotBefore(new Date(System.currentTimeMillis() + 60000L)))
+        );
+
+        /* Verify results. */
+        assertEquals(actual, AuthTokenRejection.NOT_YET_VALID);
+    }
+
+    /**
+     * It should reject tokens issued in the future.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckTimesWhenIssuedInFuture() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkTimes(
+                decode(JWT.create().withIssuedAt(new Date(System.currentTimeMillis() + 60000L)))
+        );
+
+        /* Verify results. */
+        assertEquals(actual, AuthTokenRejection.NOT_YET_VALID);
+    }
+
+    /**
+     * It should accept the configured issuer and audience.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckIssuerAndAudienceWhenValid() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkIssuerAndAudience(
+                decode(JWT.create().withIssuer(ISSUER).withAudience(AUDIENCE, "other"))
+        );
+
+        /* Verify results. */
+        assertNull(actual);
+    }
+
+    /**
+     * It should reject other issuers.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckIssuerAndAudienceWhenWrongIssuer() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkIssuerAndAudience(
+                decode(JWT.create().withIssuer("https://evil.example.com/").withAudience(AUDIENCE))
+        );
+
+        /* Verify results. */
+        assertEquals(actual, AuthTokenRejection.ISSUER);
+    }
+
+    /**
+     * It should reject tokens missing the configured audience.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCheckIssuerAndAudienceWhenWrongAudience() throws Exception {
+        /* Make the call. */
+        AuthTokenRejection actual = toTest.checkIssuerAndAudience(
+                decode(JWT.create().withIssuer(ISSUER).withAudience("other"))
+        );
+
+        /* Verify results. */
+        assertEquals(actual, AuthTokenRejection.AUDIENCE);
+    }
+
+}
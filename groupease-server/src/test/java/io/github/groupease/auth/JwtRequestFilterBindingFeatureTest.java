@@ -6,11 +6,15 @@ import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.FeatureContext;
 
 import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.db.ChannelRoleDao;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.*;
 
 /**
@@ -25,11 +29,50 @@ public class JwtRequestFilterBindingFeatureTest {
     @Inject
     private ResourceInfo resourceInfo;
 
-    @Inject
-    private Provider<JwtRequestFilterBindingFeature> toTestProvider;
+    @Mock
+    private JwtRequestFilter jwtRequestFilter;
+
+    @Mock
+    private Provider<AuthContext> authContextProvider;
+
+    @Mock
+    private ChannelRoleDao channelRoleDao;
 
     private JwtRequestFilterBindingFeature toTest;
 
+    /**
+     * Resource fixture with one method per auth annotation.
+     */
+    private static class Resource {
+
+        public void unannotated() {
+        }
+
+        @Public
+        public void publicMethod() {
+        }
+
+        @ChannelOwnerRequired("id")
+        public void channelOwnerMethod() {
+        }
+
+    }
+
+    /**
+     * Resource fixture that is public at class level.
+     */
+    @Public
+    private static class PublicResource {
+
+        public void unannotated() {
+        }
+
+        @Authenticated
+        public void authenticatedMethod() {
+        }
+
+    }
+
     /**
      * Set up tests.
      *
@@ -37,18 +80,40 @@ public class JwtRequestFilterBindingFeatureTest {
      */
     @BeforeMethod
     public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
         /* Reset all injected mocks between tests. */
         reset(
                 featureContext,
                 resourceInfo
         );
 
-        /* Get instance to test. Not injecting so we can mock Provider. */
-        toTest = toTestProvider.get();
+        /* Get instance to test. Not injecting so we can mock the filter. */
+        toTest = new JwtRequestFilterBindingFeature(
+                jwtRequestFilter,
+                authContextProvider,
+                channelRoleDao
+        );
     }
 
     /**
-     * It should register {@link JwtRequestFilter}.
+     * Sets the resource method the mocked {@link ResourceInfo} describes.
+     *
+     * @param resourceClass the resource class.
+     * @param methodName the resource method name.
+     * @throws Exception on error.
+     */
+    private void givenResourceMethod(
+            Class<?> resourceClass,
+            String methodName
+    ) throws Exception {
+        doReturn(resourceClass).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(resourceClass.getMethod(methodName));
+    }
+
+    /**
+     * It should register the shared {@link JwtRequestFilter} instance.
      *
      * @throws Exception on error.
      */
@@ -58,7 +123,97 @@ public class JwtRequestFilterBindingFeatureTest {
         toTest.configure(resourceInfo, featureContext);
 
         /* Verify results. */
-        verify(featureContext).register(JwtRequestFilter.class);
+        verify(featureContext).register(jwtRequestFilter);
+    }
+
+    /**
+     * It should register only the {@link JwtRequestFilter} for unannotated methods.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConfigureWhenUnannotated() throws Exception {
+        /* Set up test. */
+        givenResourceMethod(Resource.class, "unannotated");
+
+        /* Make the call. */
+        toTest.configure(resourceInfo, featureContext);
+
+        /* Verify results. */
+        verify(featureContext).register(jwtRequestFilter);
+        verifyNoMoreInteractions(featureContext);
+    }
+
+    /**
+     * It should register no filters for {@link Public} methods.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConfigureWhenPublicMethod() throws Exception {
+        /* Set up test. */
+        givenResourceMethod(Resource.class, "publicMethod");
+
+        /* Make the call. */
+        toTest.configure(resourceInfo, featureContext);
+
+        /* Verify results. */
+        verifyZeroInteractions(featureContext);
+    }
+
+    /**
+     * It should register no filters for unannotated methods of {@link Public} classes.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConfigureWhenPublicClass() throws Exception {
+        /* Set up test. */
+        givenResourceMethod(PublicResource.class, "unannotated");
+
+        /* Make the call. */
+        toTest.configure(resourceInfo, featureContext);
+
+        /* Verify results. */
+        verifyZeroInteractions(featureContext);
+    }
+
+    /**
+     * It should let {@link Authenticated} on a method override {@link Public} on its class.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConfigureWhenAuthenticatedInPublicClass() throws Exception {
+        /* Set up test. */
+        givenResourceMethod(PublicResource.class, "authenticatedMethod");
+
+        /* Make the call. */
+        toTest.configure(resourceInfo, featureContext);
+
+        /* Verify results. */
+        verify(featureContext).register(jwtRequestFilter);
+    }
+
+    /**
+     * It should also register a {@link ChannelOwnerFilter} for {@link ChannelOwnerRequired} methods.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testConfigureWhenChannelOwnerRequired() throws Exception {
+        /* Set up test. */
+        givenResourceMethod(Resource.class, "channelOwnerMethod");
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+
+        /* Make the call. */
+        toTest.configure(resourceInfo, featureContext);
+
+        /* Verify results. */
+        verify(featureContext, times(2)).register(captor.capture());
+        assertSame(captor.getAllValues().get(0), jwtRequestFilter);
+        assertTrue(captor.getAllValues().get(1) instanceof ChannelOwnerFilter);
+        assertEquals(((ChannelOwnerFilter) captor.getAllValues().get(1)).getChannelIdParameter(), "id");
     }
 
 }
@@ -0,0 +1,113 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.inject.Provider;
+import javax.ws.rs.container.ContainerRequestContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Contention benchmark for {@link JwtRequestFilter} at 64 concurrent threads.
+ * Compares the filter with its injected {@link Provider} against the previous lookup pattern,
+ * which went through a static synchronized injector accessor on every request.
+ * Excluded from the default test run; run with {@code gradle benchmark}.
+ */
+public class JwtRequestFilterContentionBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int THREADS = 64;
+
+    private static final long WARM_UP_MILLIS = 2000L;
+
+    private static final long MEASURE_MILLIS = 5000L;
+
+    private static Provider<AuthContext> sharedAuthContextProvider;
+
+    /**
+     * Mirrors the previous static synchronized injector accessor.
+     *
+     * @return the shared provider.
+     */
+    private static synchronized Provider<AuthContext> getLocked() {
+        return sharedAuthContextProvider;
+    }
+
+    /**
+     * It should report filter throughput before and after removing the global lock.
+     *
+     * @throws Exception on error.
+     */
+    @Test(groups = "benchmark")
+    public void benchmarkFilter() throws Exception {
+        /* Set up test. A real AuthContext is request scoped; a stub keeps the lock the only shared state. */
+        AuthContext authContext = mock(AuthContext.class, withSettings().stubOnly());
+        when(authContext.getCurrentUserId()).thenReturn("google-oauth2|111746143957109354197");
+        sharedAuthContextProvider = () -> authContext;
+
+        ContainerRequestContext requestContext = mock(ContainerRequestContext.class, withSettings().stubOnly());
+
+        JwtRequestFilter injected = new JwtRequestFilter(sharedAuthContextProvider);
+        JwtRequestFilter locked = new JwtRequestFilter(() -> getLocked().get());
+
+        /* Make the calls. */
+        measure(locked, requestContext, WARM_UP_MILLIS);
+        double before = measure(locked, requestContext, MEASURE_MILLIS);
+
+        measure(injected, requestContext, WARM_UP_MILLIS);
+        double after = measure(injected, requestContext, MEASURE_MILLIS);
+
+        /* Report results. */
+        LOGGER.info("JwtRequestFilter at {} threads: global lock {} ops/s, injected {} ops/s",
+                THREADS, String.format("%,.0f", before), String.format("%,.0f", after));
+
+        assertTrue(after > 0.0);
+    }
+
+    private static double measure(
+            JwtRequestFilter filter,
+            ContainerRequestContext requestContext,
+            long durationMillis
+    ) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    while (running.get()) {
+                        filter.filter(requestContext);
+                        operations.increment();
+                    }
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+            });
+        }
+
+        start.countDown();
+        Thread.sleep(durationMillis);
+        running.set(false);
+
+        executor.shutdown();
+        executor.awaitTermination(10L, TimeUnit.SECONDS);
+
+        return operations.sum() * 1000.0 / durationMillis;
+    }
+
+}
@@ -0,0 +1,101 @@
+package io.github.groupease.auth;
+
+import javax.inject.Provider;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+
+import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.exception.NotSignedInException;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit tests for {@link JwtRequestFilter}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class JwtRequestFilterTest {
+
+    private static final String CURRENT_USER_ID = "google-oauth2|111746143957109354197";
+
+    @Mock
+    private Provider<AuthContext> authContextProvider;
+
+    @Mock
+    private AuthContext authContext;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @Mock
+    private ContainerResponseContext responseContext;
+
+    private JwtRequestFilter toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Train the mocks. */
+        when(authContextProvider.get()).thenReturn(authContext);
+
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        toTest = new JwtRequestFilter(authContextProvider);
+    }
+
+    /**
+     * It should let the request through when there is a current user.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFilterWhenSignedIn() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(CURRENT_USER_ID);
+
+        /* Make the call. */
+        toTest.filter(requestContext);
+
+        /* Verify results. */
+        verify(authContext).getCurrentUserId();
+    }
+
+    /**
+     * It should throw {@link NotSignedInException} when there is no current user.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = NotSignedInException.class)
+    public void testFilterWhenNotSignedIn() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getCurrentUserId()).thenReturn(null);
+
+        /* Make the call. */
+        toTest.filter(requestContext);
+    }
+
+    /**
+     * It should record the verification count on the response.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFilterResponse() throws Exception {
+        /* Make the call. */
+        toTest.filter(requestContext, responseContext);
+
+        /* Verify results. */
+        verify(authContext).recordVerificationCount();
+    }
+
+}
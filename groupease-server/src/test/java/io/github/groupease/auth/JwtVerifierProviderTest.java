@@ -1,11 +1,10 @@
 package io.github.groupease.auth;
 
 import javax.inject.Inject;
-import javax.inject.Provider;
 
+import com.auth0.jwk.Jwk;
 import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
-import com.typesafe.config.Config;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import io.github.groupease.GroupeaseTestGuiceModule;
 import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
@@ -23,13 +22,16 @@ import static org.testng.Assert.*;
 public class JwtVerifierProviderTest {
 
     @Inject
-    private Algorithm algorithm;
+    private Jwk jwk;
 
-    @Inject
-    private Config config;
+    @Mock
+    private RequestJwkProvider jwkProvider;
 
     @Mock
-    private Provider<Algorithm> algorithmProvider;
+    private JwtVerifierRegistry jwtVerifierRegistry;
+
+    @Mock
+    private JWTVerifier jwtVerifier;
 
     private JwtVerifierProvider toTest;
 
@@ -45,38 +47,50 @@ public class JwtVerifierProviderTest {
 
         /* Reset all injected mocks between tests. */
         reset(
-                algorithm,
-                config
+                jwk
         );
 
         /* Get instance to test. Not injecting so we can mock Provider. */
         toTest = new JwtVerifierProvider(
-                algorithmProvider,
-                config
+                jwkProvider,
+                jwtVerifierRegistry
         );
     }
 
     /**
-     * It should return null when algorithm is null.
+     * It should return the verifier for the signing key of an already decoded auth token.
      *
      * @throws Exception on error.
      */
     @Test
-    public void testGetWhenAlgorithmNull() throws Exception {
+    public void testGetForDecodedJwt() throws Exception {
         /* Set up test. */
-        final JWTVerifier expected = null;
+        DecodedJWT decodedJwt = mock(DecodedJWT.class);
 
         /* Train the mocks. */
-        when(config.getString("groupease.auth.jwtVerification.issuer"))
-                .thenReturn("issuer");
+        when(jwkProvider.get(decodedJwt)).thenReturn(jwk);
+        when(jwtVerifierRegistry.getVerifier(jwk)).thenReturn(jwtVerifier);
 
-        when(config.getString("groupease.auth.jwtVerification.audience"))
-                .thenReturn("audience");
+        /* Make the call. */
+        JWTVerifier actual = toTest.get(decodedJwt);
 
-        when(config.getString("groupease.auth.jwtVerification.leeway"))
-                .thenReturn("leeway");
+        /* Verify results. */
+        assertSame(actual, jwtVerifier);
+        verify(jwkProvider, never()).get();
+    }
 
-        when(algorithmProvider.get())
+    /**
+     * It should return null when JWK is null.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenJwkNull() throws Exception {
+        /* Set up test. */
+        final JWTVerifier expected = null;
+
+        /* Train the mocks. */
+        when(jwkProvider.get())
                 .thenReturn(null);
 
         /* Make the call. */
@@ -84,33 +98,28 @@ public class JwtVerifierProviderTest {
 
         /* Verify results. */
         assertEquals(actual, expected);
+        verifyZeroInteractions(jwtVerifierRegistry);
     }
 
     /**
-     * It should return {@link JWTVerifier} when algorithm is NOT null.
+     * It should return the registry's {@link JWTVerifier} when JWK is NOT null.
      *
      * @throws Exception on error.
      */
     @Test
-    public void testGetWhenAlgorithmNotNull() throws Exception {
+    public void testGetWhenJwkNotNull() throws Exception {
         /* Train the mocks. */
-        when(config.getString("groupease.auth.jwtVerification.issuer"))
-                .thenReturn("issuer");
-
-        when(config.getString("groupease.auth.jwtVerification.audience"))
-                .thenReturn("audience");
-
-        when(config.getString("groupease.auth.jwtVerification.leeway"))
-                .thenReturn("leeway");
+        when(jwkProvider.get())
+                .thenReturn(jwk);
 
-        when(algorithmProvider.get())
-                .thenReturn(algorithm);
+        when(jwtVerifierRegistry.getVerifier(jwk))
+                .thenReturn(jwtVerifier);
 
         /* Make the call. */
         JWTVerifier actual = toTest.get();
 
         /* Verify results. */
-        assertNotNull(actual);
+        assertSame(actual, jwtVerifier);
     }
 
 }
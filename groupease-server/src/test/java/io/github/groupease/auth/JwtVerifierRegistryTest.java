@@ -0,0 +1,243 @@
+package io.github.groupease.auth;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Collections;
+import java.util.Date;
+
+import javax.inject.Inject;
+
+import com.auth0.jwk.InvalidPublicKeyException;
+import com.auth0.jwk.Jwk;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link JwtVerifierRegistry}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class JwtVerifierRegistryTest {
+
+    private static final String KEY_ID = "keyId";
+
+    @Inject
+    private Config config;
+
+    @Inject
+    private Jwk jwk;
+
+    private KeyPair keyPair;
+
+    private MetricRegistry metricRegistry;
+
+    private JwtVerifierRegistry toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Reset all injected mocks between tests. */
+        reset(
+                config,
+                jwk
+        );
+
+        /* Train the mocks. */
+        when(config.getString("groupease.auth.jwtVerification.issuer"))
+                .thenReturn("issuer");
+
+        when(config.getStringList("groupease.auth.jwtVerification.audience"))
+                .thenReturn(Collections.singletonList("audience"));
+
+        when(config.getLong("groupease.auth.jwtVerification.leeway"))
+                .thenReturn(1L);
+
+        keyPair = createKeyPair();
+
+        when(jwk.getId()).thenReturn(KEY_ID);
+        when(jwk.getPublicKey()).thenReturn(keyPair.getPublic());
+
+        metricRegistry = new MetricRegistry();
+
+        toTest = new JwtVerifierRegistry(config, metricRegistry);
+    }
+
+    /**
+     * Creates a new RSA key pair.
+     *
+     * @return the key pair.
+     * @throws Exception on error.
+     */
+    private static KeyPair createKeyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * It should build the verifier once and reuse it for the same key.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetVerifierWhenCalledTwice() throws Exception {
+        /* Make the calls. */
+        JWTVerifier first = toTest.getVerifier(jwk);
+        JWTVerifier second = toTest.getVerifier(jwk);
+
+        /* Verify results. */
+        assertNotNull(first);
+        assertSame(second, first);
+        assertEquals(toTest.size(), 1);
+        verify(jwk, times(1)).getPublicKey();
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwtVerifierRegistry.class, "hits")).getCount(), 1L);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwtVerifierRegistry.class, "misses")).getCount(), 1L);
+        assertEquals(metricRegistry.timer(MetricRegistry.name(JwtVerifierRegistry.class, "verifierConstruction")).getCount(), 1L);
+        assertEquals(metricRegistry.getGauges().get(MetricRegistry.name(JwtVerifierRegistry.class, "hitRatio")).getValue(), 0.5);
+    }
+
+    /**
+     * It should reuse the verifier for a re-fetched JWK holding the same public key.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetVerifierWhenSameKeyRefetched() throws Exception {
+        /* Set up test. */
+        Jwk refetched = mock(Jwk.class);
+
+        /* Train the mocks. */
+        when(refetched.getId()).thenReturn(KEY_ID);
+        when(refetched.getPublicKey()).thenReturn(keyPair.getPublic());
+
+        /* Make the calls. */
+        JWTVerifier first = toTest.getVerifier(jwk);
+        JWTVerifier second = toTest.getVerifier(refetched);
+
+        /* Verify results. */
+        assertSame(second, first);
+        assertSame(toTest.getAlgorithm(refetched), toTest.getAlgorithm(jwk));
+    }
+
+    /**
+     * It should build a new verifier when the key for a key ID changes.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetVerifierWhenKeyChanged() throws Exception {
+        /* Set up test. */
+        Jwk rotated = mock(Jwk.class);
+
+        /* Train the mocks. */
+        when(rotated.getId()).thenReturn(KEY_ID);
+        when(rotated.getPublicKey()).thenReturn(createKeyPair().getPublic());
+
+        /* Make the calls. */
+        JWTVerifier first = toTest.getVerifier(jwk);
+        JWTVerifier second = toTest.getVerifier(rotated);
+
+        /* Verify results. */
+        assertNotSame(second, first);
+        assertEquals(toTest.size(), 1);
+    }
+
+    /**
+     * It should drop the verifier for a removed key ID.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testRemove() throws Exception {
+        /* Make the calls. */
+        JWTVerifier first = toTest.getVerifier(jwk);
+        toTest.remove(KEY_ID);
+
+        /* Verify results. */
+        assertEquals(toTest.size(), 0);
+        assertNotSame(toTest.getVerifier(jwk), first);
+    }
+
+    /**
+     * It should return null when there is a {@link InvalidPublicKeyException}.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetVerifierWhenInvalidPublicKeyException() throws Exception {
+        /* Train the mocks. */
+        when(jwk.getPublicKey()).thenThrow(InvalidPublicKeyException.class);
+
+        /* Make the call. */
+        JWTVerifier actual = toTest.getVerifier(jwk);
+
+        /* Verify results. */
+        assertNull(actual);
+        assertEquals(toTest.size(), 0);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwtVerifierRegistry.class, "invalidKeys")).getCount(), 1L);
+    }
+
+    /**
+     * It should return null, and count an invalid key, when the JWK holds a public key that is not RSA.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetVerifierWhenNotRsaKey() throws Exception {
+        /* Set up test. */
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(256);
+
+        /* Train the mocks. */
+        when(jwk.getPublicKey()).thenReturn(keyPairGenerator.generateKeyPair().getPublic());
+
+        /* Make the call. */
+        JWTVerifier actual = toTest.getVerifier(jwk);
+
+        /* Verify results. */
+        assertNull(actual);
+        assertNull(toTest.getAlgorithm(jwk));
+        assertEquals(toTest.size(), 0);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(JwtVerifierRegistry.class, "invalidKeys")).getCount(), 2L);
+    }
+
+    /**
+     * It should verify a token signed by the key with the configured issuer and audience.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetVerifierVerifies() throws Exception {
+        /* Set up test. */
+        String token = JWT.create()
+                .withKeyId(KEY_ID)
+                .withIssuer("issuer")
+                .withAudience("audience")
+                .withSubject("subject")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000L))
+                .sign(Algorithm.RSA256(null, (RSAPrivateKey) keyPair.getPrivate()));
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.getVerifier(jwk).verify(token);
+
+        /* Verify results. */
+        assertEquals(actual.getSubject(), "subject");
+        assertEquals(toTest.getAlgorithm(jwk).getName(), "RS256");
+    }
+
+}
@@ -6,7 +6,9 @@ import javax.inject.Provider;
 import com.auth0.jwk.Jwk;
 import com.auth0.jwk.JwkException;
 import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.SigningKeyNotFoundException;
 import com.auth0.jwt.JWT;
+import com.codahale.metrics.MetricRegistry;
 import io.github.groupease.GroupeaseTestGuiceModule;
 import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
@@ -42,7 +44,15 @@ public class RequestJwkProviderTest {
     private JWT jwt;
 
     @Mock
-    private Provider<String> authTokenProvider;
+    private Provider<AuthContext> authContextProvider;
+
+    @Mock
+    private AuthContext authContext;
+
+    @Mock
+    private JwtVerifierRegistry jwtVerifierRegistry;
+
+    private MetricRegistry metricRegistry;
 
     private RequestJwkProvider toTest;
 
@@ -63,15 +73,22 @@ public class RequestJwkProviderTest {
                 jwt
         );
 
+        metricRegistry = new MetricRegistry();
+
+        /* Train the mocks. */
+        when(authContextProvider.get()).thenReturn(authContext);
+
         /* Get instance to test. Not injecting so we can mock Provider. */
         toTest = new RequestJwkProvider(
                 jwkProvider,
-                authTokenProvider
+                authContextProvider,
+                jwtVerifierRegistry,
+                metricRegistry
         );
     }
 
     /**
-     * It should return null when authToken is null.
+     * It should return null when the request has no decoded auth token.
      *
      * @throws Exception on error.
      */
@@ -81,7 +98,7 @@ public class RequestJwkProviderTest {
         final Jwk expected = null;
 
         /* Train the mocks. */
-        when(authTokenProvider.get()).thenReturn(null);
+        when(authContext.getDecodedJwt()).thenReturn(null);
 
         /* Make the call. */
         Jwk actual = toTest.get();
@@ -90,6 +107,24 @@ public class RequestJwkProviderTest {
         assertEquals(actual, expected);
     }
 
+    /**
+     * It should look up the key of an already decoded token without going through the request's context.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetForDecodedJwt() throws Exception {
+        /* Train the mocks. */
+        when(jwkProvider.get(KEY_ID)).thenReturn(jwk);
+
+        /* Make the call. */
+        Jwk actual = toTest.get(JWT.decode(AUTH_TOKEN_VALID));
+
+        /* Verify result. */
+        assertEquals(actual, jwk);
+        verifyZeroInteractions(authContextProvider);
+    }
+
     /**
      * It should return null when key ID (kid) is null.
      *
@@ -101,13 +136,14 @@ public class RequestJwkProviderTest {
         final Jwk expected = null;
 
         /* Train the mocks. */
-        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_NO_KEY);
+        when(authContext.getDecodedJwt()).thenReturn(JWT.decode(AUTH_TOKEN_NO_KEY));
 
         /* Make the call. */
         Jwk actual = toTest.get();
 
         /* Verify result. */
         assertEquals(actual, expected);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(RequestJwkProvider.class, "missingKeyId")).getCount(), 1L);
     }
 
     /**
@@ -121,7 +157,7 @@ public class RequestJwkProviderTest {
         final Jwk expected = null;
 
         /* Train the mocks. */
-        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(authContext.getDecodedJwt()).thenReturn(JWT.decode(AUTH_TOKEN_VALID));
         when(jwkProvider.get(KEY_ID)).thenThrow(JwkException.class);
 
         /* Make the call. */
@@ -129,6 +165,30 @@ public class RequestJwkProviderTest {
 
         /* Verify result. */
         assertEquals(actual, expected);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(RequestJwkProvider.class, "jwkFailures")).getCount(), 1L);
+    }
+
+    /**
+     * It should return null and drop the prebuilt verifier when the key ID (kid) is no longer published.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenSigningKeyNotFound() throws Exception {
+        /* Set up test. */
+        final Jwk expected = null;
+
+        /* Train the mocks. */
+        when(authContext.getDecodedJwt()).thenReturn(JWT.decode(AUTH_TOKEN_VALID));
+        when(jwkProvider.get(KEY_ID)).thenThrow(SigningKeyNotFoundException.class);
+
+        /* Make the call. */
+        Jwk actual = toTest.get();
+
+        /* Verify result. */
+        assertEquals(actual, expected);
+        verify(jwtVerifierRegistry).remove(KEY_ID);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(RequestJwkProvider.class, "unknownKeyId")).getCount(), 1L);
     }
 
     /**
@@ -142,7 +202,7 @@ public class RequestJwkProviderTest {
         final Jwk expected = jwk;
 
         /* Train the mocks. */
-        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(authContext.getDecodedJwt()).thenReturn(JWT.decode(AUTH_TOKEN_VALID));
         when(jwkProvider.get(KEY_ID)).thenReturn(jwk);
 
         /* Make the call. */
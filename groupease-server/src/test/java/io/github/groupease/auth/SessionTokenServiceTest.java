@@ -0,0 +1,145 @@
+package io.github.groupease.auth;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link SessionTokenService}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class SessionTokenServiceTest {
+
+    private static final String PROVIDER_USER_ID = "google-oauth2|111746143957109354197";
+
+    private static final String SECRET = "test-session-token-secret";
+
+    @Inject
+    private Config config;
+
+    private SessionTokenService toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Reset all injected mocks between tests. */
+        reset(
+                config
+        );
+
+        /* Train the mocks. */
+        when(config.getString("groupease.auth.sessionToken.secret"))
+                .thenReturn(SECRET);
+
+        when(config.getLong("groupease.auth.jwtVerification.leeway"))
+                .thenReturn(1L);
+
+        when(config.getDuration("groupease.auth.sessionToken.ttl", TimeUnit.MILLISECONDS))
+                .thenReturn(60000L);
+
+        toTest = new SessionTokenService(config);
+    }
+
+    /**
+     * It should issue a token that verifies and carries the internal user ID.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testIssueAndVerify() throws Exception {
+        /* Make the calls. */
+        SessionToken sessionToken = toTest.issue(42L, PROVIDER_USER_ID);
+        DecodedJWT actual = toTest.verify(sessionToken.getToken());
+
+        /* Verify results. */
+        assertTrue(toTest.isSessionToken(JWT.decode(sessionToken.getToken())));
+        assertNotNull(actual);
+        assertEquals(actual.getSubject(), PROVIDER_USER_ID);
+        assertEquals(SessionTokenService.getUserId(actual), Long.valueOf(42L));
+        assertTrue(sessionToken.getExpiresAt().toEpochMilli() > System.currentTimeMillis());
+    }
+
+    /**
+     * It should reject a session token signed with another secret.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testVerifyWhenWrongSecret() throws Exception {
+        /* Set up test. */
+        String forged = JWT.create()
+                .withIssuer(SessionTokenService.ISSUER)
+                .withSubject(PROVIDER_USER_ID)
+                .withClaim(SessionTokenService.USER_ID_CLAIM, 42L)
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000L))
+                .sign(Algorithm.HMAC256("another-secret"));
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.verify(forged);
+
+        /* Verify results. */
+        assertTrue(toTest.isSessionToken(JWT.decode(forged)));
+        assertNull(actual);
+    }
+
+    /**
+     * It should reject an expired session token.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testVerifyWhenExpired() throws Exception {
+        /* Set up test. */
+        String expired = JWT.create()
+                .withIssuer(SessionTokenService.ISSUER)
+                .withSubject(PROVIDER_USER_ID)
+                .withClaim(SessionTokenService.USER_ID_CLAIM, 42L)
+                .withExpiresAt(new Date(System.currentTimeMillis() - 60000L))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.verify(expired);
+
+        /* Verify results. */
+        assertNull(actual);
+    }
+
+    /**
+     * It should not treat identity provider tokens as session tokens.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testIsSessionTokenWhenOtherIssuer() throws Exception {
+        /* Set up test. */
+        String other = JWT.create()
+                .withIssuer("https://mckoon.auth0.com/")
+                .withSubject(PROVIDER_USER_ID)
+                .sign(Algorithm.HMAC256(SECRET));
+
+        /* Make the calls. */
+        boolean actual = toTest.isSessionToken(JWT.decode(other));
+
+        /* Verify results. */
+        assertFalse(actual);
+        assertNull(SessionTokenService.getUserId(JWT.decode(other)));
+    }
+
+}
@@ -0,0 +1,96 @@
+package io.github.groupease.auth;
+
+import java.lang.invoke.MethodHandles;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Benchmark of per-request verification cost for identity provider RS256 tokens
+ * versus server-issued HS256 session tokens, each with a prebuilt verifier.
+ * Excluded from the default test run; run with {@code gradle benchmark}.
+ */
+public class SessionTokenVerificationBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final int WARM_UP_ITERATIONS = 20000;
+
+    private static final int MEASURE_ITERATIONS = 100000;
+
+    /**
+     * It should report nanoseconds per verification for RS256 and HS256.
+     *
+     * @throws Exception on error.
+     */
+    @Test(groups = "benchmark")
+    public void benchmarkVerification() throws Exception {
+        /* Set up test. */
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+        Algorithm rs256 = Algorithm.RSA256(
+                (RSAPublicKey) keyPair.getPublic(),
+                (RSAPrivateKey) keyPair.getPrivate()
+        );
+        Algorithm hs256 = Algorithm.HMAC256("benchmark-session-token-secret");
+
+        String rs256Token = createToken(rs256);
+        String hs256Token = createToken(hs256);
+
+        JWTVerifier rs256Verifier = JWT.require(rs256).withIssuer("issuer").build();
+        JWTVerifier hs256Verifier = JWT.require(hs256).withIssuer("issuer").build();
+
+        /* Make the calls. */
+        double rs256Nanos = measure(rs256Verifier, rs256Token);
+        double hs256Nanos = measure(hs256Verifier, hs256Token);
+
+        /* Report results. */
+        LOGGER.info("Verification per request: RS256 {} ns, HS256 {} ns ({}x)",
+                String.format("%,.0f", rs256Nanos),
+                String.format("%,.0f", hs256Nanos),
+                String.format("%.1f", rs256Nanos / hs256Nanos));
+
+        assertTrue(hs256Nanos > 0.0);
+    }
+
+    private static String createToken(
+            Algorithm algorithm
+    ) {
+        return JWT.create()
+                .withIssuer("issuer")
+                .withSubject("google-oauth2|111746143957109354197")
+                .withClaim(SessionTokenService.USER_ID_CLAIM, 42L)
+                .withExpiresAt(new Date(System.currentTimeMillis() + 3600000L))
+                .sign(algorithm);
+    }
+
+    private static double measure(
+            JWTVerifier jwtVerifier,
+            String token
+    ) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            jwtVerifier.verify(token);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            jwtVerifier.verify(token);
+        }
+
+        return (System.nanoTime() - start) / (double) MEASURE_ITERATIONS;
+    }
+
+}
@@ -0,0 +1,104 @@
+package io.github.groupease.auth;
+
+import java.time.Instant;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserService;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link SessionTokenWebService}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class SessionTokenWebServiceTest {
+
+    @Inject
+    private UserService userService;
+
+    @Inject
+    private GroupeaseUser groupeaseUser;
+
+    @Mock
+    private Provider<AuthContext> authContextProvider;
+
+    @Mock
+    private AuthContext authContext;
+
+    @Mock
+    private SessionTokenService sessionTokenService;
+
+    private SessionTokenWebService toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Reset all injected mocks between tests. */
+        reset(userService);
+
+        /* Train the mocks. */
+        when(authContextProvider.get()).thenReturn(authContext);
+
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        toTest = new SessionTokenWebService(
+                authContextProvider,
+                userService,
+                sessionTokenService
+        );
+    }
+
+    /**
+     * It should issue a session token for the current user.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testCreate() throws Exception {
+        /* Set up test. */
+        SessionToken expected = new SessionToken("token", Instant.now());
+
+        /* Train the mocks. */
+        when(authContext.getSessionUserId()).thenReturn(null);
+        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
+        when(sessionTokenService.issue(groupeaseUser.getId(), groupeaseUser.getProviderUserId()))
+                .thenReturn(expected);
+
+        /* Make the call. */
+        SessionToken actual = toTest.create();
+
+        /* Verify results. */
+        assertSame(actual, expected);
+    }
+
+    /**
+     * It should refuse to issue a session token for a request made with a session token.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = SessionTokenRenewalForbiddenException.class)
+    public void testCreateWhenSessionToken() throws Exception {
+        /* Train the mocks. */
+        when(authContext.getSessionUserId()).thenReturn(42L);
+
+        /* Make the call. */
+        toTest.create();
+    }
+
+}
@@ -0,0 +1,195 @@
+package io.github.groupease.auth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.typesafe.config.Config;
+import org.mockito.Mock;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link UrlJwkSetSource}, fetching from a local stub JWKS server.
+ */
+public class UrlJwkSetSourceTest {
+
+    private static final int TIMEOUT_MILLIS = 200;
+
+    @Mock
+    private Config config;
+
+    private byte[] jwksDocument;
+
+    private HttpServer jwksServer;
+
+    private ExecutorService serverExecutor;
+
+    private CountDownLatch release;
+
+    private AtomicInteger stalledRequests;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        try (InputStream inputStream = UrlJwkSetSourceTest.class.getClassLoader().getResourceAsStream("jwks-test.json")) {
+            jwksDocument = ByteStreams.toByteArray(inputStream);
+        }
+
+        release = new CountDownLatch(1);
+        stalledRequests = new AtomicInteger();
+
+        /* Start the stub JWKS server. The first request to /stall-once hangs, later ones are answered. */
+        serverExecutor = Executors.newCachedThreadPool();
+        jwksServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        jwksServer.setExecutor(serverExecutor);
+        jwksServer.createContext("/jwks.json", exchange -> respond(exchange, jwksDocument));
+        jwksServer.createContext("/stall", this::stall);
+        jwksServer.createContext("/stall-once", exchange -> {
+            if (stalledRequests.getAndIncrement() == 0) {
+                stall(exchange);
+            } else {
+                respond(exchange, jwksDocument);
+            }
+        });
+        jwksServer.start();
+
+        /* Train the mocks. */
+        when(config.getDuration("groupease.auth.jwks.refreshInterval", TimeUnit.SECONDS))
+                .thenReturn(600L);
+
+        when(config.getDuration("groupease.auth.jwks.unknownKeyIdTtl", TimeUnit.MILLISECONDS))
+                .thenReturn(30000L);
+
+        when(config.getLong("groupease.auth.jwks.unknownKeyIdMaximumSize"))
+                .thenReturn(100L);
+
+        when(config.getDouble("groupease.auth.jwks.maxTriggeredRefreshesPerSecond"))
+                .thenReturn(1.0);
+    }
+
+    /**
+     * Clean up after tests.
+     *
+     * @throws Exception on error.
+     */
+    @AfterMethod
+    public void tearDown() throws Exception {
+        release.countDown();
+        jwksServer.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    /**
+     * It should load the keys from the JWKS document.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetAll() throws Exception {
+        /* Make the call. */
+        List<Jwk> actual = new UrlJwkSetSource(url("/jwks.json"), TIMEOUT_MILLIS, TIMEOUT_MILLIS).getAll();
+
+        /* Verify results. */
+        assertEquals(actual.size(), 1);
+        assertEquals(actual.get(0).getId(), "test-key");
+    }
+
+    /**
+     * It should give up on a fetch that stalls once the read timeout passes.
+     *
+     * @throws Exception on error.
+     */
+    @Test(timeOut = 5000)
+    public void testGetAllWhenStalled() throws Exception {
+        /* Set up test. */
+        UrlJwkSetSource toTest = new UrlJwkSetSource(url("/stall"), TIMEOUT_MILLIS, TIMEOUT_MILLIS);
+
+        /* Make the call. */
+        expectThrows(SigningKeyNotFoundException.class, toTest::getAll);
+    }
+
+    /**
+     * It should not let a stalled fetch wedge the key store's refreshes.
+     *
+     * @throws Exception on error.
+     */
+    @Test(timeOut = 5000)
+    public void testStalledFetchDoesNotWedgeRefreshes() throws Exception {
+        /* Set up test. The preload stalls and times out. */
+        JwksKeyStore toTest = new JwksKeyStore(
+                new UrlJwkSetSource(url("/stall-once"), TIMEOUT_MILLIS, TIMEOUT_MILLIS),
+                config,
+                new MetricRegistry()
+        );
+
+        try {
+            assertEquals(toTest.size(), 0);
+
+            /* Make the call. */
+            toTest.requestRefresh();
+
+            /* Verify results. */
+            while (toTest.size() == 0) {
+                Thread.sleep(10L);
+            }
+            assertEquals(toTest.get("test-key").getId(), "test-key");
+        } finally {
+            toTest.close();
+        }
+    }
+
+    private URL url(
+            String path
+    ) throws IOException {
+        return new URL("http://localhost:" + jwksServer.getAddress().getPort() + path);
+    }
+
+    private void stall(
+            HttpExchange exchange
+    ) throws IOException {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.close();
+    }
+
+    private static void respond(
+            HttpExchange exchange,
+            byte[] body
+    ) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+}
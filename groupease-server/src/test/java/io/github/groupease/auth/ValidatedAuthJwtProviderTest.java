@@ -12,6 +12,7 @@ import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.exceptions.SignatureVerificationException;
 import com.auth0.jwt.interfaces.Clock;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.MetricRegistry;
 import io.github.groupease.GroupeaseTestGuiceModule;
 import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
@@ -45,7 +46,18 @@ public class ValidatedAuthJwtProviderTest {
     private Provider<String> authTokenProvider;
 
     @Mock
-    private Provider<JWTVerifier> jwtVerifierProvider;
+    private JwtVerifierProvider jwtVerifierProvider;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private SessionTokenService sessionTokenService;
+
+    @Mock
+    private JwtClaimChecker jwtClaimChecker;
+
+    private MetricRegistry metricRegistry;
 
     private ValidatedAuthJwtProvider toTest;
 
@@ -66,10 +78,16 @@ public class ValidatedAuthJwtProviderTest {
                 decodedJwt
         );
 
+        metricRegistry = new MetricRegistry();
+
         /* Get instance to test. Not injecting so we can mock Provider. */
         toTest = new ValidatedAuthJwtProvider(
                 authTokenProvider,
-                jwtVerifierProvider
+                jwtVerifierProvider,
+                verifiedTokenCache,
+                sessionTokenService,
+                jwtClaimChecker,
+                metricRegistry
         );
     }
 
@@ -99,7 +117,7 @@ public class ValidatedAuthJwtProviderTest {
 
         /* Train the mocks. */
         when(authTokenProvider.get()).thenReturn(null);
-        when(jwtVerifierProvider.get()).thenReturn(null);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(null);
 
         /* Make the call. */
         DecodedJWT actual = toTest.get();
@@ -122,7 +140,7 @@ public class ValidatedAuthJwtProviderTest {
 
         /* Train the mocks. */
         when(authTokenProvider.get()).thenReturn(null);
-        when(jwtVerifierProvider.get()).thenReturn(jwtVerifier);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(jwtVerifier);
 
         /* Make the call. */
         DecodedJWT actual = toTest.get();
@@ -143,7 +161,7 @@ public class ValidatedAuthJwtProviderTest {
 
         /* Train the mocks. */
         when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
-        when(jwtVerifierProvider.get()).thenReturn(null);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(null);
 
         /* Make the call. */
         DecodedJWT actual = toTest.get();
@@ -166,7 +184,7 @@ public class ValidatedAuthJwtProviderTest {
 
         /* Train the mocks. */
         when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
-        when(jwtVerifierProvider.get()).thenReturn(jwtVerifier);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(jwtVerifier);
         when(algorithm.getName()).thenReturn("RS256");
         doThrow(SignatureVerificationException.class).when(algorithm).verify(any(DecodedJWT.class));
 
@@ -189,7 +207,7 @@ public class ValidatedAuthJwtProviderTest {
 
         /* Train the mocks. */
         when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
-        when(jwtVerifierProvider.get()).thenReturn(jwtVerifier);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(jwtVerifier);
         when(algorithm.getName()).thenReturn("RS256");
 
         /* Make the call. */
@@ -199,4 +217,195 @@ public class ValidatedAuthJwtProviderTest {
         assertNotNull(actual);
     }
 
+    /**
+     * It should return the cached {@link DecodedJWT} without getting a verifier when the token was verified before.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenCached() throws Exception {
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(verifiedTokenCache.get(AUTH_TOKEN_VALID)).thenReturn(decodedJwt);
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        assertSame(actual, decodedJwt);
+        verify(jwtVerifierProvider, never()).get(any(DecodedJWT.class));
+    }
+
+    /**
+     * It should cache the {@link DecodedJWT} after successful verification.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenSuccessCaches() throws Exception {
+        /* Set up test. */
+        JWTVerifier jwtVerifier = provideJwtVerifier();
+
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(jwtVerifier);
+        when(algorithm.getName()).thenReturn("RS256");
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        verify(verifiedTokenCache).put(AUTH_TOKEN_VALID, actual);
+    }
+
+    /**
+     * It should verify session tokens with the {@link SessionTokenService}, without a key lookup or the cache.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenSessionToken() throws Exception {
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(sessionTokenService.isSessionToken(any(DecodedJWT.class))).thenReturn(true);
+        when(sessionTokenService.verify(AUTH_TOKEN_VALID)).thenReturn(decodedJwt);
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        assertSame(actual, decodedJwt);
+        verify(jwtVerifierProvider, never()).get(any(DecodedJWT.class));
+        verifyZeroInteractions(verifiedTokenCache);
+    }
+
+    /**
+     * Gets the rejection count for a reason.
+     *
+     * @param rejection the rejection reason.
+     * @return the count.
+     */
+    private long getRejectionCount(
+            AuthTokenRejection rejection
+    ) {
+        return metricRegistry.counter(
+                MetricRegistry.name(ValidatedAuthJwtProvider.class, "rejected", rejection.getMetricName())
+        ).getCount();
+    }
+
+    /**
+     * It should reject a malformed token before any other stage.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenMalformed() throws Exception {
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn("not-a-jwt");
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        assertNull(actual);
+        assertEquals(getRejectionCount(AuthTokenRejection.MALFORMED), 1L);
+        verifyZeroInteractions(jwtClaimChecker, verifiedTokenCache, jwtVerifierProvider);
+    }
+
+    /**
+     * It should hand the already decoded JWT to the key lookup rather than decoding the token again.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testVerifyPassesDecodedJwtToKeyLookup() throws Exception {
+        /* Set up test. */
+        DecodedJWT decoded = toTest.decode(AUTH_TOKEN_VALID);
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.verify(AUTH_TOKEN_VALID, decoded);
+
+        /* Verify result. */
+        assertNull(actual);
+        assertEquals(getRejectionCount(AuthTokenRejection.UNKNOWN_KEY), 1L);
+        verify(jwtVerifierProvider).get(same(decoded));
+        verifyZeroInteractions(authTokenProvider);
+    }
+
+    /**
+     * It should reject a token that did not decode as malformed.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testVerifyWhenNotDecoded() throws Exception {
+        /* Make the call. */
+        DecodedJWT actual = toTest.verify("not-a-jwt", null);
+
+        /* Verify result. */
+        assertNull(actual);
+        assertEquals(getRejectionCount(AuthTokenRejection.MALFORMED), 1L);
+        verifyZeroInteractions(jwtClaimChecker, verifiedTokenCache, jwtVerifierProvider);
+    }
+
+    /**
+     * It should reject an expired token without a key lookup or signature verification.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenExpired() throws Exception {
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(jwtClaimChecker.checkTimes(any(DecodedJWT.class))).thenReturn(AuthTokenRejection.EXPIRED);
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        assertNull(actual);
+        assertEquals(getRejectionCount(AuthTokenRejection.EXPIRED), 1L);
+        verify(jwtVerifierProvider, never()).get(any(DecodedJWT.class));
+        verifyZeroInteractions(verifiedTokenCache);
+    }
+
+    /**
+     * It should reject a token for the wrong audience without a key lookup or signature verification.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenWrongAudience() throws Exception {
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(jwtClaimChecker.checkIssuerAndAudience(any(DecodedJWT.class))).thenReturn(AuthTokenRejection.AUDIENCE);
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        assertNull(actual);
+        assertEquals(getRejectionCount(AuthTokenRejection.AUDIENCE), 1L);
+        verify(jwtVerifierProvider, never()).get(any(DecodedJWT.class));
+    }
+
+    /**
+     * It should count an unknown key when no verifier is available.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenUnknownKey() throws Exception {
+        /* Train the mocks. */
+        when(authTokenProvider.get()).thenReturn(AUTH_TOKEN_VALID);
+        when(jwtVerifierProvider.get(any(DecodedJWT.class))).thenReturn(null);
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get();
+
+        /* Verify result. */
+        assertNull(actual);
+        assertEquals(getRejectionCount(AuthTokenRejection.UNKNOWN_KEY), 1L);
+    }
+
 }
@@ -0,0 +1,175 @@
+package io.github.groupease.auth;
+
+import java.util.Date;
+
+import javax.inject.Inject;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link VerifiedTokenCache}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class VerifiedTokenCacheTest {
+
+    @Inject
+    private Config config;
+
+    private MetricRegistry metricRegistry;
+
+    private VerifiedTokenCache toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Reset all injected mocks between tests. */
+        reset(
+                config
+        );
+
+        /* Train the mocks. */
+        when(config.getLong("groupease.auth.jwtVerification.leeway"))
+                .thenReturn(1L);
+
+        when(config.getLong("groupease.auth.verifiedTokenCache.maximumSize"))
+                .thenReturn(2L);
+
+        metricRegistry = new MetricRegistry();
+
+        toTest = new VerifiedTokenCache(
+                config,
+                metricRegistry
+        );
+    }
+
+    /**
+     * Creates a signed token expiring at the given time.
+     *
+     * @param subject the subject claim.
+     * @param expiresAt the expiration time.
+     * @return the encoded token.
+     * @throws Exception on error.
+     */
+    private String createToken(
+            String subject,
+            Date expiresAt
+    ) throws Exception {
+        return JWT.create()
+                .withSubject(subject)
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256("secret"));
+    }
+
+    /**
+     * It should return the cached JWT for an unexpired token, and count the hit.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenCached() throws Exception {
+        /* Set up test. */
+        String token = createToken("subject", new Date(System.currentTimeMillis() + 60000L));
+        DecodedJWT expected = JWT.decode(token);
+
+        /* Make the calls. */
+        toTest.put(token, expected);
+        DecodedJWT actual = toTest.get(token);
+
+        /* Verify results. */
+        assertSame(actual, expected);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(VerifiedTokenCache.class, "hits")).getCount(), 1L);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(VerifiedTokenCache.class, "misses")).getCount(), 0L);
+    }
+
+    /**
+     * It should miss for a token never cached.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenNotCached() throws Exception {
+        /* Set up test. */
+        String token = createToken("subject", new Date(System.currentTimeMillis() + 60000L));
+
+        /* Make the call. */
+        DecodedJWT actual = toTest.get(token);
+
+        /* Verify results. */
+        assertNull(actual);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(VerifiedTokenCache.class, "misses")).getCount(), 1L);
+    }
+
+    /**
+     * It should not cache a token within the leeway of its expiration.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testPutWhenExpiring() throws Exception {
+        /* Set up test. */
+        String token = createToken("subject", new Date(System.currentTimeMillis() + 500L));
+
+        /* Make the calls. */
+        toTest.put(token, JWT.decode(token));
+        DecodedJWT actual = toTest.get(token);
+
+        /* Verify results. */
+        assertNull(actual);
+        assertEquals(toTest.size(), 0L);
+    }
+
+    /**
+     * It should not cache a token without an expiration.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testPutWhenNoExpiration() throws Exception {
+        /* Set up test. */
+        String token = JWT.create()
+                .withSubject("subject")
+                .sign(Algorithm.HMAC256("secret"));
+
+        /* Make the call. */
+        toTest.put(token, JWT.decode(token));
+
+        /* Verify results. */
+        assertEquals(toTest.size(), 0L);
+    }
+
+    /**
+     * It should stay within its maximum size.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testPutWhenFull() throws Exception {
+        /* Set up test. */
+        Date expiresAt = new Date(System.currentTimeMillis() + 60000L);
+
+        /* Make the calls. */
+        for (int i = 0; i < 5; i++) {
+            String token = createToken("subject" + i, expiresAt);
+            toTest.put(token, JWT.decode(token));
+        }
+
+        /* Verify results. */
+        assertTrue(toTest.size() <= 2L);
+    }
+
+}
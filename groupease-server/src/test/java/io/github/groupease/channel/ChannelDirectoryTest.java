@@ -0,0 +1,178 @@
+package io.github.groupease.channel;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Provider;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ChannelDirectory}.
+ */
+public class ChannelDirectoryTest {
+
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(30L);
+
+    @Mock
+    private Provider<ChannelDao> channelDaoProvider;
+
+    @Mock
+    private ChannelDao channelDao;
+
+    private List<Channel> channels;
+
+    private AtomicLong nanos;
+
+    private ChannelDirectory toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        channels = ImmutableList.of(
+                Channel.builder()
+                        .withId(1L)
+                        .withName("Channel Name")
+                        .withLastUpdatedOn(Instant.now())
+                        .build()
+        );
+
+        /* Train the mocks. */
+        when(channelDaoProvider.get()).thenReturn(channelDao);
+        when(channelDao.list()).thenReturn(channels);
+
+        nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        toTest = new ChannelDirectory(channelDaoProvider, MAX_AGE_NANOS, ticker);
+    }
+
+    /**
+     * It should load the channels once and serve the same snapshot until invalidated or too old.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGet() throws Exception {
+        /* Make the call. */
+        ChannelDirectorySnapshot first = toTest.get();
+        ChannelDirectorySnapshot second = toTest.get();
+
+        /* Verify results. */
+        assertSame(second, first);
+        assertEquals(first.getChannels(), channels);
+        verify(channelDao, times(1)).list();
+    }
+
+    /**
+     * It should reload the channels after being invalidated, at a new version when they changed.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetAfterInvalidate() throws Exception {
+        /* Set up test. */
+        ChannelDirectorySnapshot before = toTest.get();
+        List<Channel> changed = ImmutableList.of(
+                Channel.builder()
+                        .withId(1L)
+                        .withName("New Channel Name")
+                        .withLastUpdatedOn(Instant.now().plusSeconds(1L))
+                        .build()
+        );
+
+        /* Train the mocks. */
+        when(channelDao.list()).thenReturn(changed);
+
+        /* Make the call. */
+        toTest.invalidate();
+        ChannelDirectorySnapshot after = toTest.get();
+
+        /* Verify results. */
+        assertEquals(after.getChannels(), changed);
+        assertNotEquals(after.getVersion(), before.getVersion());
+        verify(channelDao, times(2)).list();
+    }
+
+    /**
+     * It should reload the channels once the snapshot is older than its maximum age,
+     * so changes made by other server instances are seen.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetAfterMaxAge() throws Exception {
+        /* Set up test. */
+        ChannelDirectorySnapshot first = toTest.get();
+
+        /* Make the call. */
+        nanos.addAndGet(MAX_AGE_NANOS - 1L);
+        ChannelDirectorySnapshot beforeMaxAge = toTest.get();
+        nanos.addAndGet(1L);
+        ChannelDirectorySnapshot afterMaxAge = toTest.get();
+
+        /* Verify results. */
+        assertSame(beforeMaxAge, first);
+        assertNotSame(afterMaxAge, first);
+        verify(channelDao, times(2)).list();
+    }
+
+    /**
+     * It should report the same version for the same channels, whichever directory loaded them.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testVersionFromChannels() throws Exception {
+        /* Make the call. */
+        ChannelDirectorySnapshot actual = toTest.get();
+
+        /* Verify results. */
+        assertEquals(actual.getVersion(), new ChannelDirectorySnapshot(channels).getVersion());
+    }
+
+    /**
+     * It should not keep a snapshot loaded while a change completed as current.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetInvalidatedDuringLoad() throws Exception {
+        /* Train the mocks. */
+        when(channelDao.list()).thenAnswer(invocation -> {
+            toTest.invalidate();
+            return channels;
+        }).thenReturn(channels);
+
+        /* Make the call. */
+        ChannelDirectorySnapshot stale = toTest.get();
+        ChannelDirectorySnapshot current = toTest.get();
+
+        /* Verify results. */
+        assertNotSame(current, stale);
+        verify(channelDao, times(2)).list();
+    }
+
+}
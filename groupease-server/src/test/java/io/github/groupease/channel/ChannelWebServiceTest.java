@@ -4,6 +4,9 @@ import java.util.List;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import com.google.common.collect.ImmutableList;
 import io.github.groupease.GroupeaseTestGuiceModule;
@@ -54,23 +57,53 @@ public class ChannelWebServiceTest {
     }
 
     /**
-     * It should call {@link ChannelService#list()} and return the result.
+     * It should call {@link ChannelService#getDirectory()} and return its channels tagged with its version.
      *
      * @throws Exception on error.
      */
     @Test
+    @SuppressWarnings("unchecked")
     public void testList() throws Exception {
         /* Set up test. */
         List<Channel> expected = ImmutableList.of(channel);
+        ChannelDirectorySnapshot directory = new ChannelDirectorySnapshot(expected);
+        EntityTag entityTag = new EntityTag(Long.toString(directory.getVersion()));
+        Request request = mock(Request.class);
 
         /* Train the mocks. */
-        when(channelService.list()).thenReturn(expected);
+        when(channelService.getDirectory()).thenReturn(directory);
 
         /* Make the call. */
-        List<Channel> actual = toTest.list(null);
+        Response response = toTest.list(null, request);
 
         /* Verify results. */
-        assertEquals(actual, expected);
+        assertEquals((List<Channel>) response.getEntity(), expected);
+        assertEquals(response.getEntityTag(), entityTag);
+        verify(request).evaluatePreconditions(entityTag);
+    }
+
+    /**
+     * It should answer 304 without the channels when the client already has the current version.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testListNotModified() throws Exception {
+        /* Set up test. */
+        ChannelDirectorySnapshot directory = new ChannelDirectorySnapshot(ImmutableList.of(channel));
+        EntityTag entityTag = new EntityTag(Long.toString(directory.getVersion()));
+        Request request = mock(Request.class);
+
+        /* Train the mocks. */
+        when(channelService.getDirectory()).thenReturn(directory);
+        when(request.evaluatePreconditions(entityTag)).thenReturn(Response.notModified());
+
+        /* Make the call. */
+        Response response = toTest.list(null, request);
+
+        /* Verify results. */
+        assertEquals(response.getStatus(), Response.Status.NOT_MODIFIED.getStatusCode());
+        assertNull(response.getEntity());
     }
 
     /**
@@ -79,6 +112,7 @@ public class ChannelWebServiceTest {
      * @throws Exception on error.
      */
     @Test
+    @SuppressWarnings("unchecked")
     public void testGetMemberChannels() throws Exception {
         /* Set up test. */
         List<Channel> expected = ImmutableList.of(channel);
@@ -87,10 +121,11 @@ public class ChannelWebServiceTest {
         when(channelService.list(user.getId())).thenReturn(expected);
 
         /* Make the call. */
-        List<Channel> actual = toTest.list(user.getId());
+        Response response = toTest.list(user.getId(), mock(Request.class));
 
         /* Verify results. */
-        assertEquals(actual, expected);
+        assertEquals((List<Channel>) response.getEntity(), expected);
+        verify(channelService, never()).getDirectory();
     }
 
     /**
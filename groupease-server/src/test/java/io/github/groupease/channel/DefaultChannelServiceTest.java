@@ -54,7 +54,7 @@ public class DefaultChannelServiceTest {
     }
 
     /**
-     * It should call {@link ChannelDao#list()} and return the result.
+     * It should serve the list loaded through {@link ChannelDao#list()} by the channel directory.
      *
      * @throws Exception on error.
      */
@@ -104,12 +104,7 @@ public class DefaultChannelServiceTest {
         Channel expected = channel;
 
         /* Train the mocks. */
-<<<<<<< HEAD
-        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
-        when(memberDao.getForUser(groupeaseUser.getId(), channel.getId())).thenReturn(member);
-=======
         when(channelDao.getById(channelDto.getId())).thenReturn(expected);
->>>>>>> changes
         when(channelDao.update(channelDto)).thenReturn(expected);
 
         /* Make the call. */
@@ -120,38 +115,14 @@ public class DefaultChannelServiceTest {
     }
 
     /**
-<<<<<<< HEAD
-     * It should throw {@link ChannelEditByNonOwnerException} when user is not a member.
-     *
-     * @throws Exception on error.
-     */
-    @Test(expectedExceptions = ChannelEditByNonOwnerException.class)
-    public void testUpdateWhenNotMember() throws Exception {
-        /* Train the mocks. */
-        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
-        when(memberDao.getForUser(groupeaseUser.getId(), channel.getId())).thenReturn(null);
-
-        /* Make the call. */
-        toTest.update(channelDto);
-    }
-
-    /**
-     * It should throw {@link ChannelEditByNonOwnerException} when user is not an owner.
-=======
      * It should throw {@link ChannelNotFoundException} when channel to update is not found.
->>>>>>> changes
      *
      * @throws Exception on error.
      */
     @Test(expectedExceptions = ChannelNotFoundException.class)
     public void testUpdateWhenNotFound() throws Exception {
         /* Train the mocks. */
-<<<<<<< HEAD
-        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
-        when(memberDao.getForUser(groupeaseUser.getId(), channel.getId())).thenReturn(member);
-=======
         when(channelDao.getById(channelDto.getId())).thenThrow(ChannelNotFoundException.class);
->>>>>>> changes
 
         /* Make the call. */
         toTest.update(channelDto);
@@ -278,12 +249,7 @@ public class DefaultChannelServiceTest {
     @Test
     public void testDelete() throws Exception {
         /* Train the mocks. */
-<<<<<<< HEAD
-        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
-        when(memberDao.getForUser(groupeaseUser.getId(), channel.getId())).thenReturn(member);
-=======
         when(channelDao.getById(channelDto.getId())).thenReturn(channel);
->>>>>>> changes
 
         /* Make the call. */
         toTest.delete(channel.getId());
@@ -297,37 +263,10 @@ public class DefaultChannelServiceTest {
      *
      * @throws Exception on error.
      */
-<<<<<<< HEAD
-    @Test(expectedExceptions = ChannelEditByNonOwnerException.class)
-    public void testDeleteWhenNotMember() throws Exception {
-        /* Train the mocks. */
-        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
-        when(memberDao.getForUser(groupeaseUser.getId(), channel.getId())).thenReturn(null);
-
-        /* Make the call. */
-        toTest.delete(channel.getId());
-    }
-
-    /**
-     * It should throw {@link ChannelEditByNonOwnerException} when user is not a channel member.
-     *
-     * @throws Exception on error.
-     */
-    @Test(expectedExceptions = ChannelEditByNonOwnerException.class)
-    public void testDeleteWhenNotOwner() throws Exception {
-        /* Set up test. */
-        Member member = new Member();
-        member.setOwner(false);
-
-        /* Train the mocks. */
-        when(userService.updateCurrentUser()).thenReturn(groupeaseUser);
-        when(memberDao.getForUser(groupeaseUser.getId(), channel.getId())).thenReturn(member);
-=======
     @Test(expectedExceptions = ChannelNotFoundException.class)
     public void testDeleteWhenNotFound() throws Exception {
         /* Train the mocks. */
         when(channelDao.getById(channelDto.getId())).thenThrow(ChannelNotFoundException.class);
->>>>>>> changes
 
         /* Make the call. */
         toTest.delete(channel.getId());
@@ -0,0 +1,106 @@
+package io.github.groupease.config.jersey;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.ws.rs.client.Client;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.glassfish.jersey.client.ClientProperties;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ClientProvider}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ClientProviderTest {
+
+    @Inject
+    private Config config;
+
+    @Mock
+    private Config clientConfig;
+
+    private MetricRegistry metricRegistry;
+
+    private ClientProvider toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Reset all injected mocks between tests. */
+        reset(config);
+
+        /* Train the mocks. */
+        when(config.getConfig("groupease.http.client")).thenReturn(clientConfig);
+        when(clientConfig.getDuration("connectTimeout", TimeUnit.MILLISECONDS)).thenReturn(2000L);
+        when(clientConfig.getDuration("readTimeout", TimeUnit.MILLISECONDS)).thenReturn(5000L);
+        when(clientConfig.getDuration("connectionTtl", TimeUnit.MILLISECONDS)).thenReturn(300000L);
+        when(clientConfig.getDuration("validateAfterInactivity", TimeUnit.MILLISECONDS)).thenReturn(2000L);
+        when(clientConfig.getInt("maxConnections")).thenReturn(50);
+        when(clientConfig.getInt("maxConnectionsPerRoute")).thenReturn(20);
+
+        metricRegistry = new MetricRegistry();
+
+        /* Get instance to test. */
+        toTest = new ClientProvider(
+                new ObjectMapperContextResolver(new ObjectMapper()),
+                config,
+                metricRegistry
+        );
+    }
+
+    /**
+     * It should configure the client with the timeouts from configuration.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetConfiguresTimeouts() throws Exception {
+        /* Make the call. */
+        Client actual = toTest.get();
+
+        /* Verify results. */
+        assertEquals(actual.getConfiguration().getProperty(ClientProperties.CONNECT_TIMEOUT), 2000);
+        assertEquals(actual.getConfiguration().getProperty(ClientProperties.READ_TIMEOUT), 5000);
+        actual.close();
+    }
+
+    /**
+     * It should expose the connection pool size and usage as gauges.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testPoolGauges() throws Exception {
+        /* Make the call. */
+        Gauge maxGauge = metricRegistry.getGauges().get(MetricRegistry.name(ClientProvider.class, "pool", "max"));
+        Gauge leasedGauge = metricRegistry.getGauges().get(MetricRegistry.name(ClientProvider.class, "pool", "leased"));
+
+        /* Verify results. */
+        assertEquals(maxGauge.getValue(), 50);
+        assertEquals(leasedGauge.getValue(), 0);
+        assertTrue(metricRegistry.getGauges().containsKey(
+                MetricRegistry.name(ClientProvider.class, "pool", "utilization")
+        ));
+    }
+
+}
@@ -0,0 +1,139 @@
+package io.github.groupease.db;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ChannelRoleCache}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ChannelRoleCacheTest {
+
+    private static final String PROVIDER_USER_ID = "google-oauth2|111746143957109354197";
+    private static final long CHANNEL_ID = 42L;
+
+    @Inject
+    private Config config;
+
+    private MetricRegistry metricRegistry;
+
+    private AtomicInteger loadCount;
+
+    private ChannelRoleCache toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Reset all injected mocks between tests. */
+        reset(
+                config
+        );
+
+        /* Train the mocks. */
+        when(config.getLong("groupease.db.channelRoleCache.maximumSize"))
+                .thenReturn(100L);
+
+        when(config.getDuration("groupease.db.channelRoleCache.ttl", TimeUnit.MILLISECONDS))
+                .thenReturn(60000L);
+
+        metricRegistry = new MetricRegistry();
+        loadCount = new AtomicInteger();
+
+        toTest = new ChannelRoleCache(
+                config,
+                metricRegistry
+        );
+    }
+
+    /**
+     * It should load a role once and then serve it from memory.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenCached() throws Exception {
+        /* Make the calls. */
+        ChannelRole first = toTest.get(PROVIDER_USER_ID, CHANNEL_ID, this::loadOwner);
+        ChannelRole second = toTest.get(PROVIDER_USER_ID, CHANNEL_ID, this::loadOwner);
+
+        /* Verify results. */
+        assertEquals(first, ChannelRole.OWNER);
+        assertEquals(second, ChannelRole.OWNER);
+        assertEquals(loadCount.get(), 1);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(ChannelRoleCache.class, "hits")).getCount(), 1L);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(ChannelRoleCache.class, "misses")).getCount(), 1L);
+    }
+
+    /**
+     * It should cache roles separately per channel.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenOtherChannel() throws Exception {
+        /* Make the calls. */
+        toTest.get(PROVIDER_USER_ID, CHANNEL_ID, this::loadOwner);
+        ChannelRole actual = toTest.get(PROVIDER_USER_ID, CHANNEL_ID + 1L, () -> ChannelRole.NONE);
+
+        /* Verify results. */
+        assertEquals(actual, ChannelRole.NONE);
+        assertEquals(toTest.size(), 2L);
+    }
+
+    /**
+     * It should reload a role after it is invalidated.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenInvalidated() throws Exception {
+        /* Make the calls. */
+        toTest.get(PROVIDER_USER_ID, CHANNEL_ID, this::loadOwner);
+        toTest.invalidate(PROVIDER_USER_ID, CHANNEL_ID);
+        ChannelRole actual = toTest.get(PROVIDER_USER_ID, CHANNEL_ID, () -> ChannelRole.MEMBER);
+
+        /* Verify results. */
+        assertEquals(actual, ChannelRole.MEMBER);
+        assertEquals(loadCount.get(), 1);
+    }
+
+    /**
+     * It should not keep a role loaded while an invalidation happened.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetWhenInvalidatedDuringLoad() throws Exception {
+        /* Make the call. */
+        ChannelRole actual = toTest.get(PROVIDER_USER_ID, CHANNEL_ID, () -> {
+            toTest.invalidate(PROVIDER_USER_ID, CHANNEL_ID);
+            return ChannelRole.OWNER;
+        });
+
+        /* Verify results. */
+        assertEquals(actual, ChannelRole.OWNER);
+        assertEquals(toTest.size(), 0L);
+    }
+
+    private ChannelRole loadOwner() {
+        loadCount.incrementAndGet();
+        return ChannelRole.OWNER;
+    }
+
+}
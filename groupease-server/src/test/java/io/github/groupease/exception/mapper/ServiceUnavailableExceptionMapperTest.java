@@ -0,0 +1,101 @@
+package io.github.groupease.exception.mapper;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.exception.ServiceUnavailableException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ServiceUnavailableExceptionMapper}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ServiceUnavailableExceptionMapperTest {
+
+    @Inject
+    private Provider<ServiceUnavailableExceptionMapper> toTestProvider;
+
+    private ServiceUnavailableExceptionMapper toTest;
+
+    /**
+     * Test implementation of the abstract {@link ServiceUnavailableException}.
+     */
+    private class TestServiceUnavailableException extends ServiceUnavailableException {
+
+        /**
+         * Constructor.
+         *
+         * @param message to set.
+         */
+        TestServiceUnavailableException(
+                @Nullable String message
+        ) {
+            super(message);
+        }
+
+    }
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Get instance to test. */
+        toTest = toTestProvider.get();
+    }
+
+    /**
+     * It should throw {@link NullPointerException} when serviceUnavailableException is null.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = NullPointerException.class)
+    public void testToResponseWhenNull() throws Exception {
+        /* Make the call. */
+        toTest.toResponse(null);
+    }
+
+    /**
+     * It should return error response containing matching client error.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testToResponseWhenSuccess() throws Exception {
+        /* Set up test. */
+        String message = "Some message";
+        String type = ServiceUnavailableExceptionMapperTest.TestServiceUnavailableException.class.getName();
+        ServiceUnavailableException exception = new ServiceUnavailableExceptionMapperTest.TestServiceUnavailableException(message);
+
+        GroupeaseClientError clientError = GroupeaseClientError
+                .builder()
+                .withMessage(message)
+                .withType(type)
+                .build();
+
+        Response expected = Response
+                .status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity(clientError)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+
+        /* Make the call. */
+        Response actual = toTest.toResponse(exception);
+
+        /* Verify results. Response does not implement equals. */
+        assertEquals(actual.getStatus(), expected.getStatus());
+        assertEquals(actual.getEntity(), expected.getEntity());
+        assertEquals(actual.getMediaType(), expected.getMediaType());
+    }
+
+}
@@ -5,14 +5,22 @@ import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.auth.AuthToken;
+import io.github.groupease.auth.SessionTokenService;
 import io.github.groupease.user.retrieval.UserRetrievalService;
+import io.github.groupease.user.retrieval.UserRetrievalUnavailableException;
+import org.mockito.Mock;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Guice;
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
 import static org.testng.Assert.*;
 
 /**
@@ -34,7 +42,20 @@ public class DefaultUserServiceTest {
     private Provider<GroupeaseUserDto> groupeaseUserDtoProvider;
 
     @Inject
-    private Provider<DefaultUserService> toTestProvider;
+    @AuthToken
+    private DecodedJWT decodedJwt;
+
+    @Mock
+    private Provider<DecodedJWT> authJwtProvider;
+
+    @Mock
+    private ProfileFreshnessPolicy profileFreshnessPolicy;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private Claim userIdClaim;
 
     private DefaultUserService toTest;
 
@@ -47,17 +68,30 @@ public class DefaultUserServiceTest {
      */
     @BeforeMethod
     public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
         /* Reset all injected mocks between tests. */
         reset(
                 userRetrievalService,
-                userDao
+                userDao,
+                decodedJwt
         );
 
         /* Get new instance of GroupeaseUserDto for each test since it is mutable. */
         groupeaseUserDto = groupeaseUserDtoProvider.get();
 
-        /* Get instance to test. */
-        toTest = toTestProvider.get();
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        MetricRegistry metricRegistry = new MetricRegistry();
+        toTest = new DefaultUserService(
+                userRetrievalService,
+                userDao,
+                authJwtProvider,
+                profileFreshnessPolicy,
+                new ProfileFetchCoalescer(metricRegistry),
+                userSearchIndex,
+                metricRegistry
+        );
     }
 
     /**
@@ -80,6 +114,47 @@ public class DefaultUserServiceTest {
         assertEquals(actual, expected);
     }
 
+    /**
+     * It should return the users in request order and report IDs with no user.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetByIds() throws Exception {
+        /* Set up test. */
+        List<Long> ids = ImmutableList.of(7L, groupeaseUser.getId());
+
+        /* Train the mocks. */
+        when(userDao.getByIds(ids)).thenReturn(ImmutableList.of(groupeaseUser));
+
+        /* Make the call. */
+        UserBatch actual = toTest.getByIds(ids);
+
+        /* Verify results. */
+        assertEquals(actual.getUsers(), ImmutableList.of(groupeaseUser));
+        assertEquals(actual.getMissingIds(), ImmutableList.of(7L));
+    }
+
+    /**
+     * It should call {@link UserSearchIndex#search(String, int)} and return the result.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testSearch() throws Exception {
+        /* Set up test. */
+        List<GroupeaseUser> expected = ImmutableList.of(groupeaseUser);
+
+        /* Train the mocks. */
+        when(userSearchIndex.search("jan", 10)).thenReturn(expected);
+
+        /* Make the call. */
+        List<GroupeaseUser> actual = toTest.search("jan", 10);
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+    }
+
     /**
      * It should call {@link UserDao#getById(long)} and return the result.
      *
@@ -125,4 +200,180 @@ public class DefaultUserServiceTest {
         assertEquals(actual, expected);
     }
 
+    /**
+     * It should return the stored user without fetching when the stored profile is fresh.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetCurrentUserWhenFresh() throws Exception {
+        /* Set up test. */
+        GroupeaseUser expected = groupeaseUser;
+
+        /* Train the mocks. */
+        when(authJwtProvider.get()).thenReturn(decodedJwt);
+        when(decodedJwt.getSubject()).thenReturn(groupeaseUser.getProviderUserId());
+        when(userDao.findByProviderUserId(groupeaseUser.getProviderUserId())).thenReturn(groupeaseUser);
+        when(profileFreshnessPolicy.isFresh(groupeaseUser, decodedJwt)).thenReturn(true);
+
+        /* Make the call. */
+        GroupeaseUser actual = toTest.getCurrentUser();
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        verifyZeroInteractions(userRetrievalService);
+        verify(userDao, never()).save(any());
+    }
+
+    /**
+     * It should fetch user data and save it when the stored profile is stale.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetCurrentUserWhenStale() throws Exception {
+        /* Set up test. */
+        GroupeaseUser expected = groupeaseUser;
+
+        /* Train the mocks. */
+        when(authJwtProvider.get()).thenReturn(decodedJwt);
+        when(decodedJwt.getSubject()).thenReturn(groupeaseUser.getProviderUserId());
+        when(userDao.findByProviderUserId(groupeaseUser.getProviderUserId())).thenReturn(groupeaseUser);
+        when(profileFreshnessPolicy.isFresh(groupeaseUser, decodedJwt)).thenReturn(false);
+        when(userRetrievalService.fetch()).thenReturn(groupeaseUserDto);
+        when(userDao.save(groupeaseUserDto)).thenReturn(expected);
+
+        /* Make the call. */
+        GroupeaseUser actual = toTest.getCurrentUser();
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        verify(userRetrievalService).fetch();
+    }
+
+    /**
+     * It should return the stored user without fetching for a session token, even when the profile is stale.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetCurrentUserWithSessionTokenWhenStale() throws Exception {
+        /* Set up test. */
+        GroupeaseUser expected = groupeaseUser;
+
+        /* Train the mocks. */
+        trainSessionToken();
+        when(profileFreshnessPolicy.isFresh(groupeaseUser, decodedJwt)).thenReturn(false);
+
+        /* Make the call. */
+        GroupeaseUser actual = toTest.getCurrentUser();
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        verifyZeroInteractions(userRetrievalService);
+        verify(userDao, never()).save(any());
+    }
+
+    /**
+     * It should return the stored user without fetching when updating with a session token.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testUpdateCurrentUserWithSessionToken() throws Exception {
+        /* Set up test. */
+        GroupeaseUser expected = groupeaseUser;
+
+        /* Train the mocks. */
+        trainSessionToken();
+
+        /* Make the call. */
+        GroupeaseUser actual = toTest.updateCurrentUser();
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        verifyZeroInteractions(userRetrievalService);
+    }
+
+    /**
+     * It should fetch user data and save it when the user has never been saved.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetCurrentUserWhenNotStored() throws Exception {
+        /* Set up test. */
+        GroupeaseUser expected = groupeaseUser;
+
+        /* Train the mocks. */
+        when(authJwtProvider.get()).thenReturn(decodedJwt);
+        when(decodedJwt.getSubject()).thenReturn(groupeaseUser.getProviderUserId());
+        when(userDao.findByProviderUserId(groupeaseUser.getProviderUserId())).thenReturn(null);
+        when(userRetrievalService.fetch()).thenReturn(groupeaseUserDto);
+        when(userDao.save(groupeaseUserDto)).thenReturn(expected);
+
+        /* Make the call. */
+        GroupeaseUser actual = toTest.getCurrentUser();
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        verifyZeroInteractions(profileFreshnessPolicy);
+    }
+
+    /**
+     * It should fall back to the stored user when the identity provider is unavailable.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetCurrentUserWhenRetrievalUnavailable() throws Exception {
+        /* Set up test. */
+        GroupeaseUser expected = groupeaseUser;
+
+        /* Train the mocks. */
+        when(authJwtProvider.get()).thenReturn(decodedJwt);
+        when(decodedJwt.getSubject()).thenReturn(groupeaseUser.getProviderUserId());
+        when(userDao.findByProviderUserId(groupeaseUser.getProviderUserId())).thenReturn(groupeaseUser);
+        when(profileFreshnessPolicy.isFresh(groupeaseUser, decodedJwt)).thenReturn(false);
+        when(userRetrievalService.fetch()).thenThrow(new UserRetrievalUnavailableException("circuit open"));
+
+        /* Make the call. */
+        GroupeaseUser actual = toTest.getCurrentUser();
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        verify(userDao, never()).save(any());
+    }
+
+    /**
+     * It should rethrow when the identity provider is unavailable and there is no stored user.
+     *
+     * @throws Exception on error.
+     */
+    @Test(expectedExceptions = UserRetrievalUnavailableException.class)
+    public void testGetCurrentUserWhenRetrievalUnavailableAndNotStored() throws Exception {
+        /* Train the mocks. */
+        when(authJwtProvider.get()).thenReturn(decodedJwt);
+        when(decodedJwt.getSubject()).thenReturn(groupeaseUser.getProviderUserId());
+        when(userDao.findByProviderUserId(groupeaseUser.getProviderUserId())).thenReturn(null);
+        when(userRetrievalService.fetch()).thenThrow(new UserRetrievalUnavailableException("circuit open"));
+
+        /* Make the call. */
+        toTest.getCurrentUser();
+    }
+
+    /**
+     * Trains the auth token as a verified session token for the test user.
+     */
+    private void trainSessionToken() {
+        when(authJwtProvider.get()).thenReturn(decodedJwt);
+        when(decodedJwt.getIssuer()).thenReturn(SessionTokenService.ISSUER);
+        when(decodedJwt.getSubject()).thenReturn(groupeaseUser.getProviderUserId());
+        when(decodedJwt.getClaim(SessionTokenService.USER_ID_CLAIM)).thenReturn(userIdClaim);
+        when(userIdClaim.isNull()).thenReturn(false);
+        when(userIdClaim.asLong()).thenReturn(groupeaseUser.getId());
+        when(userDao.getById(groupeaseUser.getId())).thenReturn(groupeaseUser);
+        when(userDao.findByProviderUserId(groupeaseUser.getProviderUserId())).thenReturn(groupeaseUser);
+    }
+
 }
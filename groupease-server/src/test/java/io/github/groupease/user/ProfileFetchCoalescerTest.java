@@ -0,0 +1,132 @@
+package io.github.groupease.user;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import com.codahale.metrics.MetricRegistry;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ProfileFetchCoalescer}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ProfileFetchCoalescerTest {
+
+    private static final String PROVIDER_USER_ID = "some subject ID";
+
+    @Inject
+    private GroupeaseUser groupeaseUser;
+
+    private MetricRegistry metricRegistry;
+
+    private ProfileFetchCoalescer toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        metricRegistry = new MetricRegistry();
+
+        /* Get instance to test. */
+        toTest = new ProfileFetchCoalescer(metricRegistry);
+    }
+
+    /**
+     * It should run a single refresh for concurrent callers with the same user, and share its result.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testRefreshWhenConcurrent() throws Exception {
+        /* Set up test. */
+        int callers = 4;
+        AtomicInteger refreshCount = new AtomicInteger();
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            /* Make the call. */
+            Future<GroupeaseUser> leader = executor.submit(() -> toTest.refresh(PROVIDER_USER_ID, () -> {
+                refreshCount.incrementAndGet();
+                refreshStarted.countDown();
+                awaitQuietly(releaseRefresh);
+                return groupeaseUser;
+            }));
+
+            assertTrue(refreshStarted.await(10, TimeUnit.SECONDS));
+
+            Future<?>[] followers = new Future<?>[callers - 1];
+            for (int i = 0; i < followers.length; i++) {
+                followers[i] = executor.submit(() -> toTest.refresh(PROVIDER_USER_ID, () -> {
+                    refreshCount.incrementAndGet();
+                    return groupeaseUser;
+                }));
+            }
+
+            /* Let followers join the in-flight refresh before it completes. */
+            while (metricRegistry.counter(MetricRegistry.name(ProfileFetchCoalescer.class, "coalesced")).getCount()
+                    < followers.length) {
+                Thread.sleep(1);
+            }
+            releaseRefresh.countDown();
+
+            /* Verify results. */
+            assertSame(leader.get(10, TimeUnit.SECONDS), groupeaseUser);
+            for (Future<?> follower : followers) {
+                assertSame(follower.get(10, TimeUnit.SECONDS), groupeaseUser);
+            }
+            assertEquals(refreshCount.get(), 1);
+            assertEquals(toTest.inFlightCount(), 0);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * It should rethrow the refresh failure, and run a new refresh on the next call.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testRefreshWhenFailed() throws Exception {
+        /* Make the call. */
+        expectThrows(
+                IllegalStateException.class,
+                () -> toTest.refresh(PROVIDER_USER_ID, () -> {
+                    throw new IllegalStateException("some failure");
+                })
+        );
+        GroupeaseUser actual = toTest.refresh(PROVIDER_USER_ID, () -> groupeaseUser);
+
+        /* Verify results. */
+        assertSame(actual, groupeaseUser);
+        assertEquals(toTest.inFlightCount(), 0);
+    }
+
+    private static void awaitQuietly(
+            CountDownLatch latch
+    ) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package io.github.groupease.user;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.auth.AuthToken;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ProfileFreshnessPolicy}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ProfileFreshnessPolicyTest {
+
+    @Inject
+    private Config config;
+
+    @Inject
+    @AuthToken
+    private DecodedJWT decodedJwt;
+
+    @Inject
+    private Provider<GroupeaseUserDto> groupeaseUserDtoProvider;
+
+    @Mock
+    private Claim absentClaim;
+
+    @Mock
+    private Claim nameClaim;
+
+    private ProfileFreshnessPolicy toTest;
+
+    private GroupeaseUserDto groupeaseUserDto;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Reset all injected mocks between tests. */
+        reset(
+                config,
+                decodedJwt
+        );
+
+        /* Get new instance of GroupeaseUserDto for each test since it is mutable. */
+        groupeaseUserDto = groupeaseUserDtoProvider.get();
+
+        when(config.getDuration("groupease.user.profile.freshness", TimeUnit.MILLISECONDS))
+                .thenReturn(TimeUnit.HOURS.toMillis(1));
+        when(decodedJwt.getClaim(anyString())).thenReturn(absentClaim);
+        when(absentClaim.asString()).thenReturn(null);
+
+        toTest = new ProfileFreshnessPolicy(config);
+    }
+
+    /**
+     * It should treat a recently saved profile as fresh when the token carries no profile claims.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testIsFreshWhenRecent() throws Exception {
+        /* Set up test. */
+        groupeaseUserDto.setLastUpdatedOn(Instant.now().minus(5, ChronoUnit.MINUTES));
+        GroupeaseUser storedUser = GroupeaseUser.Builder.from(groupeaseUserDto).build();
+
+        /* Make the call. */
+        boolean actual = toTest.isFresh(storedUser, decodedJwt);
+
+        /* Verify results. */
+        assertTrue(actual);
+    }
+
+    /**
+     * It should treat a profile saved before the window as stale.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testIsFreshWhenOld() throws Exception {
+        /* Set up test. */
+        groupeaseUserDto.setLastUpdatedOn(Instant.now().minus(2, ChronoUnit.HOURS));
+        GroupeaseUser storedUser = GroupeaseUser.Builder.from(groupeaseUserDto).build();
+
+        /* Make the call. */
+        boolean actual = toTest.isFresh(storedUser, decodedJwt);
+
+        /* Verify results. */
+        assertFalse(actual);
+    }
+
+    /**
+     * It should treat a recently saved profile as stale when a token profile claim differs.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testIsFreshWhenClaimDiffers() throws Exception {
+        /* Set up test. */
+        groupeaseUserDto.setLastUpdatedOn(Instant.now().minus(5, ChronoUnit.MINUTES));
+        GroupeaseUser storedUser = GroupeaseUser.Builder.from(groupeaseUserDto).build();
+
+        /* Train the mocks. */
+        when(decodedJwt.getClaim("name")).thenReturn(nameClaim);
+        when(nameClaim.asString()).thenReturn("some new name");
+
+        /* Make the call. */
+        boolean actual = toTest.isFresh(storedUser, decodedJwt);
+
+        /* Verify results. */
+        assertFalse(actual);
+    }
+
+}
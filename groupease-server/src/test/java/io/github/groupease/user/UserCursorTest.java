@@ -0,0 +1,45 @@
+package io.github.groupease.user;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link UserCursor}.
+ */
+public class UserCursorTest {
+
+    /**
+     * It should read the ID after the last comma, so names containing commas survive a round trip.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testParseRoundTrip() throws Exception {
+        /* Set up test. */
+        UserCursor expected = new UserCursor("Doe, Jane", 42L);
+
+        /* Make the call. */
+        UserCursor actual = UserCursor.parse(expected.toString());
+
+        /* Verify results. */
+        assertEquals(actual, expected);
+        assertEquals(actual.getName(), "Doe, Jane");
+        assertEquals(actual.getId(), 42L);
+    }
+
+    /**
+     * It should reject text without a separator or without a numeric ID.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testParseMalformed() throws Exception {
+        /* Make the call. */
+        expectThrows(InvalidUserCursorException.class, () -> UserCursor.parse(null));
+        expectThrows(InvalidUserCursorException.class, () -> UserCursor.parse("Jane"));
+        expectThrows(InvalidUserCursorException.class, () -> UserCursor.parse("Jane,"));
+        expectThrows(InvalidUserCursorException.class, () -> UserCursor.parse("Jane,abc"));
+    }
+
+}
@@ -0,0 +1,169 @@
+package io.github.groupease.user;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.inject.Provider;
+
+import com.google.common.collect.ImmutableList;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link UserSearchIndex}.
+ */
+public class UserSearchIndexTest {
+
+    private static final Instant UPDATED_ON = Instant.ofEpochMilli(1520000000000L);
+
+    @Mock
+    private Provider<UserDao> userDaoProvider;
+
+    @Mock
+    private UserDao userDao;
+
+    private GroupeaseUser janeDoe;
+    private GroupeaseUser janet;
+    private GroupeaseUser bob;
+
+    private UserSearchIndex toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Set up test. */
+        janeDoe = createUser(1L, "Jane Doe", "jd", "jane@example.com", UPDATED_ON);
+        janet = createUser(2L, "Janet", null, "janet@example.com", UPDATED_ON);
+        bob = createUser(3L, "Bob", "Janitor", "bob@example.com", UPDATED_ON);
+
+        /* Train the mocks. */
+        when(userDaoProvider.get()).thenReturn(userDao);
+        doAnswer(invocation -> {
+            Consumer<GroupeaseUser> consumer = invocation.getArgument(0);
+            consumer.accept(bob);
+            consumer.accept(janet);
+            consumer.accept(janeDoe);
+            return null;
+        }).when(userDao).forEach(any());
+
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        toTest = new UserSearchIndex(userDaoProvider);
+    }
+
+    /**
+     * It should rank name matches before nickname matches, with exact terms first, ignoring case.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testSearchRanking() throws Exception {
+        /* Make the call. */
+        List<GroupeaseUser> actual = toTest.search("JAN", 10);
+
+        /* Verify results. */
+        assertEquals(actual, ImmutableList.of(janeDoe, janet, bob));
+        assertEquals(toTest.search("jane", 10), ImmutableList.of(janeDoe, janet));
+    }
+
+    /**
+     * It should match later words in a name, and email addresses.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testSearchWordsAndEmail() throws Exception {
+        /* Make the call. */
+        List<GroupeaseUser> byWord = toTest.search("doe", 10);
+        List<GroupeaseUser> byEmail = toTest.search("bob@", 10);
+
+        /* Verify results. */
+        assertEquals(byWord, ImmutableList.of(janeDoe));
+        assertEquals(byEmail, ImmutableList.of(bob));
+    }
+
+    /**
+     * It should return at most the limit, and nothing for a blank query.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testSearchLimitAndBlank() throws Exception {
+        /* Make the call. */
+        List<GroupeaseUser> limited = toTest.search("jan", 1);
+        List<GroupeaseUser> blank = toTest.search("  ", 10);
+
+        /* Verify results. */
+        assertEquals(limited, ImmutableList.of(janeDoe));
+        assertTrue(blank.isEmpty());
+    }
+
+    /**
+     * It should load from the {@link UserDao} only once, then reflect saved users.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testPutReplacesTerms() throws Exception {
+        /* Set up test. */
+        GroupeaseUser renamed = createUser(3L, "Robert", null, "bob@example.com", UPDATED_ON.plusSeconds(1));
+        toTest.search("bob", 10);
+
+        /* Make the call. */
+        toTest.put(renamed);
+
+        /* Verify results. */
+        assertEquals(toTest.search("rob", 10), ImmutableList.of(renamed));
+        assertEquals(toTest.search("janitor", 10), ImmutableList.of());
+        verify(userDao, times(1)).forEach(any());
+    }
+
+    /**
+     * It should ignore a version older than the one already indexed.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testPutIgnoresOlderVersion() throws Exception {
+        /* Set up test. */
+        GroupeaseUser stale = createUser(3L, "Robert", null, "bob@example.com", UPDATED_ON.minusSeconds(1));
+        toTest.search("bob", 10);
+
+        /* Make the call. */
+        toTest.put(stale);
+
+        /* Verify results. */
+        assertEquals(toTest.search("bob", 10), ImmutableList.of(bob));
+        assertTrue(toTest.search("rob", 10).isEmpty());
+    }
+
+    private static GroupeaseUser createUser(
+            long id,
+            String name,
+            String nickname,
+            String email,
+            Instant lastUpdatedOn
+    ) {
+        return GroupeaseUser.builder()
+                .withId(id)
+                .withProviderUserId("provider|" + id)
+                .withName(name)
+                .withNickname(nickname)
+                .withEmail(email)
+                .withLastUpdatedOn(lastUpdatedOn)
+                .build();
+    }
+
+}
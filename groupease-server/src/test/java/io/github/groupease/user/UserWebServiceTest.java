@@ -1,11 +1,18 @@
 package io.github.groupease.user;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import com.typesafe.config.Config;
 import io.github.groupease.GroupeaseTestGuiceModule;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Guice;
@@ -23,6 +30,9 @@ public class UserWebServiceTest {
     @Inject
     private UserService userService;
 
+    @Inject
+    private Config config;
+
     @Inject
     private GroupeaseUser groupeaseUser;
 
@@ -40,31 +50,202 @@ public class UserWebServiceTest {
     public void setUp() throws Exception {
         /* Reset all injected mocks between tests. */
         reset(userService);
+        reset(config);
+
+        /* Train the mocks. */
+        when(config.getInt("groupease.user.list.defaultLimit")).thenReturn(2);
+        when(config.getInt("groupease.user.list.maxLimit")).thenReturn(3);
+        when(config.getInt("groupease.user.search.maxResults")).thenReturn(20);
+        when(config.getInt("groupease.user.batch.maxIds")).thenReturn(3);
 
         /* Get instance to test. */
         toTest = toTestProvider.get();
     }
 
     /**
-     * It should call {@link UserService#list()} and return the result.
+     * It should stream every user from {@link UserService#forEach(Consumer)} as a JSON array.
      *
      * @throws Exception on error.
      */
     @Test
+    @SuppressWarnings("unchecked")
     public void testList() throws Exception {
+        /* Set up test. */
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        /* Train the mocks. */
+        doAnswer(invocation -> {
+            Consumer<GroupeaseUser> consumer = invocation.getArgument(0);
+            consumer.accept(groupeaseUser);
+            consumer.accept(groupeaseUser);
+            return null;
+        }).when(userService).forEach(any());
+
+        /* Make the call. */
+        Response response = toTest.list(null, null, null);
+        ((StreamingOutput) response.getEntity()).write(outputStream);
+
+        /* Verify results. */
+        assertEquals(
+                outputStream.toString("UTF-8"),
+                objectMapper.writeValueAsString(ImmutableList.of(groupeaseUser, groupeaseUser))
+        );
+        verify(userService, never()).list();
+    }
+
+    /**
+     * It should return a page with a next link holding the cursor of its last user when more users follow.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListFirstPage() throws Exception {
+        /* Set up test. */
+        List<GroupeaseUser> fetched = ImmutableList.of(groupeaseUser, groupeaseUser, groupeaseUser);
+
+        /* Train the mocks. */
+        when(userService.listPage(null, 3)).thenReturn(fetched);
+
+        /* Make the call. */
+        Response response = toTest.list(null, 2, null);
+
+        /* Verify results. */
+        assertEquals((List<GroupeaseUser>) response.getEntity(), fetched.subList(0, 2));
+        Link next = response.getLink("next");
+        assertNotNull(next);
+        assertEquals(
+                UserCursor.parse(next.getUri().getQuery().replaceAll("^after=(.*)&limit=2$", "$1")),
+                UserCursor.after(groupeaseUser)
+        );
+    }
+
+    /**
+     * It should continue after the given cursor, use the default limit, and omit the next link on the last page.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testListLastPage() throws Exception {
         /* Set up test. */
         List<GroupeaseUser> expected = ImmutableList.of(groupeaseUser);
 
         /* Train the mocks. */
-        when(userService.list()).thenReturn(expected);
+        when(userService.listPage(new UserCursor("Some, Name", 12L), 3)).thenReturn(expected);
+
+        /* Make the call. */
+        Response response = toTest.list("Some, Name,12", null, null);
+
+        /* Verify results. */
+        assertEquals((List<GroupeaseUser>) response.getEntity(), expected);
+        assertNull(response.getLink("next"));
+    }
+
+    /**
+     * It should cap the page size at the configured maximum.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testListLimitCapped() throws Exception {
+        /* Train the mocks. */
+        when(userService.listPage(null, 4)).thenReturn(ImmutableList.of());
 
         /* Make the call. */
-        List<GroupeaseUser> actual = toTest.list();
+        toTest.list(null, 5000, null);
+
+        /* Verify results. */
+        verify(userService).listPage(null, 4);
+    }
+
+    /**
+     * It should reject a page size below one and a malformed cursor.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testListInvalid() throws Exception {
+        /* Make the call. */
+        expectThrows(InvalidUserCursorException.class, () -> toTest.list(null, 0, null));
+        expectThrows(InvalidUserCursorException.class, () -> toTest.list("no separator", null, null));
+        expectThrows(InvalidUserCursorException.class, () -> toTest.list("Name,abc", null, null));
+
+        /* Verify results. */
+        verifyZeroInteractions(userService);
+    }
+
+    /**
+     * It should fetch the listed IDs in one call, in request order and without repeats.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testListByIds() throws Exception {
+        /* Set up test. */
+        UserBatch expected = new UserBatch(ImmutableList.of(groupeaseUser), ImmutableList.of(7L));
+
+        /* Train the mocks. */
+        when(userService.getByIds(ImmutableList.of(7L, groupeaseUser.getId()))).thenReturn(expected);
+
+        /* Make the call. */
+        Response response = toTest.list(null, null, "7, " + groupeaseUser.getId() + ",7");
+
+        /* Verify results. */
+        assertEquals(response.getEntity(), expected);
+    }
+
+    /**
+     * It should reject malformed IDs, too many IDs, and IDs combined with paging.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testListByIdsInvalid() throws Exception {
+        /* Make the call. */
+        expectThrows(InvalidUserIdsException.class, () -> toTest.list(null, null, "1,abc"));
+        expectThrows(InvalidUserIdsException.class, () -> toTest.list(null, null, "1,2,3,4"));
+        expectThrows(InvalidUserIdsException.class, () -> toTest.list(null, 10, "1"));
+
+        /* Verify results. */
+        verifyZeroInteractions(userService);
+    }
+
+    /**
+     * It should call {@link UserService#search(String, int)} with the configured maximum when no limit is given.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testSearch() throws Exception {
+        /* Set up test. */
+        List<GroupeaseUser> expected = ImmutableList.of(groupeaseUser);
+
+        /* Train the mocks. */
+        when(userService.search("jan", 20)).thenReturn(expected);
+
+        /* Make the call. */
+        List<GroupeaseUser> actual = toTest.search("jan", null);
 
         /* Verify results. */
         assertEquals(actual, expected);
     }
 
+    /**
+     * It should cap the requested limit at the configured maximum.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testSearchLimitCapped() throws Exception {
+        /* Make the call. */
+        toTest.search("jan", 500);
+
+        /* Verify results. */
+        verify(userService).search("jan", 20);
+    }
+
     /**
      * It should call {@link UserService#getById(long)} and return the result.
      *
@@ -0,0 +1,316 @@
+package io.github.groupease.user.avatar;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link AvatarCache}, fetching from a local stub image server.
+ */
+public class AvatarCacheTest {
+
+    private static final long USER_ID = 42L;
+
+    private static final long MAX_PICTURE_PIXELS = 100000L;
+
+    private static final long UNAVAILABLE_TTL_MILLIS = 60000L;
+
+    private HttpServer imageServer;
+
+    private AtomicInteger imageRequests;
+
+    private Client client;
+
+    private Path directory;
+
+    private MetricRegistry metricRegistry;
+
+    private AvatarCache toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Start the stub image server. */
+        byte[] picture = createPng(300, 200);
+        imageRequests = new AtomicInteger();
+        imageServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        imageServer.createContext("/a.png", exchange -> respond(exchange, 200, picture));
+        imageServer.createContext("/b.png", exchange -> respond(exchange, 200, picture));
+        imageServer.createContext("/missing.png", exchange -> respond(exchange, 404, new byte[0]));
+        imageServer.createContext("/text.png", exchange -> respond(exchange, 200, "not an image".getBytes("UTF-8")));
+        byte[] hugePicture = createPng(400, 400);
+        imageServer.createContext("/huge.png", exchange -> respond(exchange, 200, hugePicture));
+        imageServer.start();
+
+        client = ClientBuilder.newClient();
+        directory = Files.createTempDirectory("avatar-cache-test");
+        metricRegistry = new MetricRegistry();
+
+        /* Get instance to test. */
+        toTest = new AvatarCache(
+                directory,
+                1024 * 1024,
+                1024 * 1024,
+                MAX_PICTURE_PIXELS,
+                UNAVAILABLE_TTL_MILLIS,
+                client,
+                metricRegistry
+        );
+    }
+
+    /**
+     * Clean up after tests.
+     *
+     * @throws Exception on error.
+     */
+    @AfterMethod
+    public void tearDown() throws Exception {
+        imageServer.stop(0);
+        client.close();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * It should fetch the picture once, store every size, and serve later requests from disk.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetFetchesOnce() throws Exception {
+        /* Make the call. */
+        Path medium = toTest.get(USER_ID, url("/a.png"), AvatarSize.MEDIUM);
+        Path small = toTest.get(USER_ID, url("/a.png"), AvatarSize.SMALL);
+        Path mediumAgain = toTest.get(USER_ID, url("/a.png"), AvatarSize.MEDIUM);
+
+        /* Verify results. */
+        assertEquals(imageRequests.get(), 1);
+        assertEquals(mediumAgain, medium);
+        assertDimensions(medium, 64);
+        assertDimensions(small, 32);
+        assertEquals(countFiles(), AvatarSize.values().length);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(AvatarCache.class, "hits")).getCount(), 2L);
+    }
+
+    /**
+     * It should fetch again and remove the older files when the picture URL changes.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetRefreshesOnUrlChange() throws Exception {
+        /* Set up test. */
+        Path before = toTest.get(USER_ID, url("/a.png"), AvatarSize.LARGE);
+
+        /* Make the call. */
+        Path after = toTest.get(USER_ID, url("/b.png"), AvatarSize.LARGE);
+
+        /* Verify results. */
+        assertNotEquals(after, before);
+        assertFalse(Files.exists(before));
+        assertTrue(Files.exists(after));
+        assertEquals(imageRequests.get(), 2);
+        assertEquals(countFiles(), AvatarSize.values().length);
+    }
+
+    /**
+     * It should delete the least recently used files to stay within its bound.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetEvictsToBound() throws Exception {
+        /* Set up test. Bound the cache to a little more than one user's files. */
+        toTest.get(USER_ID, url("/a.png"), AvatarSize.LARGE);
+        long oneUserBytes = toTest.getCachedBytes();
+        tearDownDirectoryOnly();
+        toTest = new AvatarCache(
+                directory,
+                oneUserBytes + 1,
+                1024 * 1024,
+                MAX_PICTURE_PIXELS,
+                UNAVAILABLE_TTL_MILLIS,
+                client,
+                new MetricRegistry()
+        );
+
+        /* Make the call. */
+        toTest.get(1L, url("/a.png"), AvatarSize.LARGE);
+        Path latest = toTest.get(2L, url("/a.png"), AvatarSize.LARGE);
+
+        /* Verify results. */
+        assertTrue(toTest.getCachedBytes() <= oneUserBytes + 1);
+        assertTrue(Files.exists(latest));
+    }
+
+    /**
+     * It should keep every size of the picture being stored, even when the bound is smaller than all of them.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetKeepsAllSizesOfStoredPicture() throws Exception {
+        /* Set up test. Bound the cache below one picture's files. */
+        toTest = new AvatarCache(
+                directory,
+                1L,
+                1024 * 1024,
+                MAX_PICTURE_PIXELS,
+                UNAVAILABLE_TTL_MILLIS,
+                client,
+                new MetricRegistry()
+        );
+
+        /* Make the call. */
+        Path large = toTest.get(USER_ID, url("/a.png"), AvatarSize.LARGE);
+        Path small = toTest.get(USER_ID, url("/a.png"), AvatarSize.SMALL);
+
+        /* Verify results. */
+        assertTrue(Files.exists(large));
+        assertTrue(Files.exists(small));
+        assertEquals(imageRequests.get(), 1);
+        assertEquals(countFiles(), AvatarSize.values().length);
+    }
+
+    /**
+     * It should fetch a picture again when its file has gone missing from the cache directory.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetMissingFileRefetched() throws Exception {
+        /* Set up test. */
+        Path before = toTest.get(USER_ID, url("/a.png"), AvatarSize.MEDIUM);
+        Files.delete(before);
+
+        /* Make the call. */
+        Path after = toTest.get(USER_ID, url("/a.png"), AvatarSize.MEDIUM);
+
+        /* Verify results. */
+        assertEquals(after, before);
+        assertTrue(Files.exists(after));
+        assertEquals(imageRequests.get(), 2);
+        assertEquals(countFiles(), AvatarSize.values().length);
+    }
+
+    /**
+     * It should report pictures that cannot be fetched or decoded as unavailable.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetUnavailable() throws Exception {
+        /* Make the call. */
+        expectThrows(AvatarUnavailableException.class, () -> toTest.get(USER_ID, url("/missing.png"), AvatarSize.SMALL));
+        expectThrows(AvatarUnavailableException.class, () -> toTest.get(USER_ID, url("/text.png"), AvatarSize.SMALL));
+
+        /* Verify results. */
+        assertEquals(countFiles(), 0L);
+    }
+
+    /**
+     * It should refuse a picture with more pixels than allowed without decoding it.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetTooManyPixels() throws Exception {
+        /* Make the call. */
+        expectThrows(AvatarUnavailableException.class, () -> toTest.get(USER_ID, url("/huge.png"), AvatarSize.SMALL));
+
+        /* Verify results. */
+        assertEquals(countFiles(), 0L);
+    }
+
+    /**
+     * It should remember an unavailable picture and not fetch it again while the failure is recent.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testGetUnavailableRemembered() throws Exception {
+        /* Make the call. */
+        expectThrows(AvatarUnavailableException.class, () -> toTest.get(USER_ID, url("/missing.png"), AvatarSize.SMALL));
+        expectThrows(AvatarUnavailableException.class, () -> toTest.get(USER_ID, url("/missing.png"), AvatarSize.LARGE));
+
+        /* Verify results. */
+        assertEquals(imageRequests.get(), 1);
+        assertEquals(metricRegistry.counter(MetricRegistry.name(AvatarCache.class, "unavailableHits")).getCount(), 1L);
+    }
+
+    private String url(
+            String path
+    ) {
+        return "http://localhost:" + imageServer.getAddress().getPort() + path;
+    }
+
+    private void respond(
+            HttpExchange exchange,
+            int status,
+            byte[] body
+    ) throws IOException {
+        imageRequests.incrementAndGet();
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private void tearDownDirectoryOnly() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static void assertDimensions(
+            Path avatar,
+            int pixels
+    ) throws IOException {
+        BufferedImage image = ImageIO.read(avatar.toFile());
+        assertEquals(image.getWidth(), pixels);
+        assertEquals(image.getHeight(), pixels);
+    }
+
+    private static byte[] createPng(
+            int width,
+            int height
+    ) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+
+}
@@ -0,0 +1,258 @@
+package io.github.groupease.user.avatar;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Provider;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.typesafe.config.Config;
+import io.github.groupease.user.GroupeaseUser;
+import io.github.groupease.user.UserDao;
+import io.github.groupease.user.UserNotFoundException;
+import org.mockito.Mock;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+/**
+ * Unit tests for {@link AvatarServlet}.
+ */
+public class AvatarServletTest {
+
+    private static final long USER_ID = 42L;
+    private static final String PICTURE_URL = "https://example.com/picture.png";
+
+    @Mock
+    private Provider<UserDao> userDaoProvider;
+
+    @Mock
+    private UserDao userDao;
+
+    @Mock
+    private AvatarCache avatarCache;
+
+    @Mock
+    private Config config;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private Path avatar;
+
+    private AvatarServlet toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        avatar = Files.createTempFile("42-0123456789abcdef-64", ".png");
+        Files.write(avatar, new byte[] {1, 2, 3});
+
+        /* Train the mocks. */
+        when(userDaoProvider.get()).thenReturn(userDao);
+        when(config.getDuration("groupease.user.avatar.maxAge", TimeUnit.SECONDS)).thenReturn(86400L);
+        when(request.getRequestURI()).thenReturn("/api/users/" + USER_ID + "/avatar");
+        when(userDao.getById(USER_ID)).thenReturn(createUser(PICTURE_URL));
+        when(avatarCache.get(USER_ID, PICTURE_URL, AvatarSize.MEDIUM)).thenReturn(avatar);
+
+        /* Get instance to test. Not injecting so we can mock Provider. */
+        toTest = new AvatarServlet(userDaoProvider, avatarCache, config);
+    }
+
+    /**
+     * Clean up after tests.
+     *
+     * @throws Exception on error.
+     */
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(avatar);
+    }
+
+    /**
+     * It should hand the avatar file to the container's sendfile support when it is available.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetSendfile() throws Exception {
+        /* Train the mocks. */
+        when(request.getAttribute(AvatarServlet.SENDFILE_SUPPORT_ATTRIBUTE)).thenReturn(Boolean.TRUE);
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(response).setHeader("Cache-Control", "public, max-age=86400");
+        verify(response).setHeader("ETag", '"' + avatar.getFileName().toString() + '"');
+        verify(response).setContentType("image/png");
+        verify(response).setContentLengthLong(3L);
+        verify(request).setAttribute(AvatarServlet.SENDFILE_FILENAME_ATTRIBUTE, avatar.toAbsolutePath().toString());
+        verify(request).setAttribute(AvatarServlet.SENDFILE_START_ATTRIBUTE, 0L);
+        verify(request).setAttribute(AvatarServlet.SENDFILE_END_ATTRIBUTE, 3L);
+        verify(response, never()).getOutputStream();
+    }
+
+    /**
+     * It should get the avatar from the cache again when its file was evicted after the lookup.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetEvictedAfterLookup() throws Exception {
+        /* Set up test. */
+        Path evicted = avatar.resolveSibling("42-fedcba9876543210-64.png");
+
+        /* Train the mocks. */
+        when(request.getAttribute(AvatarServlet.SENDFILE_SUPPORT_ATTRIBUTE)).thenReturn(Boolean.TRUE);
+        when(avatarCache.get(USER_ID, PICTURE_URL, AvatarSize.MEDIUM)).thenReturn(evicted, avatar);
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(avatarCache, times(2)).get(USER_ID, PICTURE_URL, AvatarSize.MEDIUM);
+        verify(response).setContentLengthLong(3L);
+        verify(request).setAttribute(AvatarServlet.SENDFILE_FILENAME_ATTRIBUTE, avatar.toAbsolutePath().toString());
+        verify(response, never()).sendError(anyInt());
+    }
+
+    /**
+     * It should pick the smallest stored size at least as large as requested.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetSize() throws Exception {
+        /* Train the mocks. */
+        when(request.getParameter("size")).thenReturn("100");
+        when(request.getAttribute(AvatarServlet.SENDFILE_SUPPORT_ATTRIBUTE)).thenReturn(Boolean.TRUE);
+        when(avatarCache.get(USER_ID, PICTURE_URL, AvatarSize.LARGE)).thenReturn(avatar);
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(avatarCache).get(USER_ID, PICTURE_URL, AvatarSize.LARGE);
+    }
+
+    /**
+     * It should answer 304 when the browser already has the current avatar.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetNotModified() throws Exception {
+        /* Train the mocks. */
+        when(request.getHeader("If-None-Match")).thenReturn('"' + avatar.getFileName().toString() + '"');
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).setContentType(anyString());
+        verify(response, never()).getOutputStream();
+    }
+
+    /**
+     * It should answer 404 for an unknown user.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetUnknownUser() throws Exception {
+        /* Train the mocks. */
+        when(userDao.getById(USER_ID)).thenThrow(new UserNotFoundException());
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verifyZeroInteractions(avatarCache);
+    }
+
+    /**
+     * It should answer 404 for a user without a picture.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetNoPicture() throws Exception {
+        /* Train the mocks. */
+        when(userDao.getById(USER_ID)).thenReturn(createUser(null));
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+        verifyZeroInteractions(avatarCache);
+    }
+
+    /**
+     * It should answer 503 when the picture cannot be fetched.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetUnavailable() throws Exception {
+        /* Train the mocks. */
+        when(avatarCache.get(USER_ID, PICTURE_URL, AvatarSize.MEDIUM))
+                .thenThrow(new AvatarUnavailableException("Picture host returned status 500."));
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * It should reject a size that is not a number.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testDoGetBadSize() throws Exception {
+        /* Train the mocks. */
+        when(request.getParameter("size")).thenReturn("big");
+
+        /* Make the call. */
+        toTest.doGet(request, response);
+
+        /* Verify results. */
+        verify(response).sendError(eq(HttpServletResponse.SC_BAD_REQUEST), anyString());
+        verify(userDao, never()).getById(anyLong());
+    }
+
+    private static GroupeaseUser createUser(
+            String pictureUrl
+    ) {
+        return GroupeaseUser.builder()
+                .withId(USER_ID)
+                .withProviderUserId("auth0|42")
+                .withEmail("user@example.com")
+                .withName("User")
+                .withPictureUrl(pictureUrl)
+                .withLastUpdatedOn(Instant.now())
+                .build();
+    }
+
+}
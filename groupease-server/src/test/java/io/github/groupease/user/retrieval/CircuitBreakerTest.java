@@ -0,0 +1,130 @@
+package io.github.groupease.user.retrieval;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link CircuitBreaker}.
+ */
+public class CircuitBreakerTest {
+
+    private static final long SLOW_CALL_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private AtomicLong now;
+
+    private CircuitBreaker toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        now = new AtomicLong();
+
+        /* Get instance to test. */
+        toTest = new CircuitBreaker(4, 4, 0.5, SLOW_CALL_NANOS, OPEN_NANOS, now::get);
+    }
+
+    /**
+     * It should stay closed while the failure rate is under the threshold.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testStaysClosedUnderThreshold() throws Exception {
+        /* Make the call. */
+        record(true);
+        record(true);
+        record(true);
+        record(false);
+
+        /* Verify results. */
+        assertEquals(toTest.getState(), CircuitBreaker.State.CLOSED);
+        assertTrue(toTest.tryAcquirePermission());
+    }
+
+    /**
+     * It should open once the failure rate reaches the threshold, counting slow calls as failures.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testOpensAtThreshold() throws Exception {
+        /* Make the call. */
+        record(true);
+        record(false);
+        record(true);
+        assertTrue(toTest.tryAcquirePermission());
+        toTest.onResult(true, SLOW_CALL_NANOS + 1);
+
+        /* Verify results. */
+        assertEquals(toTest.getState(), CircuitBreaker.State.OPEN);
+        assertFalse(toTest.tryAcquirePermission());
+    }
+
+    /**
+     * It should let a single trial call through after the open duration, and close when it succeeds.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testHalfOpenTrialSucceeds() throws Exception {
+        /* Set up test. */
+        openCircuit();
+        now.addAndGet(OPEN_NANOS);
+
+        /* Make the call. */
+        boolean trialPermitted = toTest.tryAcquirePermission();
+        boolean secondPermitted = toTest.tryAcquirePermission();
+        toTest.onResult(true, 0);
+
+        /* Verify results. */
+        assertTrue(trialPermitted);
+        assertFalse(secondPermitted);
+        assertEquals(toTest.getState(), CircuitBreaker.State.CLOSED);
+        assertTrue(toTest.tryAcquirePermission());
+    }
+
+    /**
+     * It should open again when the trial call fails.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testHalfOpenTrialFails() throws Exception {
+        /* Set up test. */
+        openCircuit();
+        now.addAndGet(OPEN_NANOS);
+
+        /* Make the call. */
+        assertTrue(toTest.tryAcquirePermission());
+        toTest.onResult(false, 0);
+
+        /* Verify results. */
+        assertEquals(toTest.getState(), CircuitBreaker.State.OPEN);
+        assertFalse(toTest.tryAcquirePermission());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            record(false);
+        }
+        assertEquals(toTest.getState(), CircuitBreaker.State.OPEN);
+    }
+
+    private void record(
+            boolean success
+    ) {
+        assertTrue(toTest.tryAcquirePermission());
+        toTest.onResult(success, 0);
+    }
+
+}
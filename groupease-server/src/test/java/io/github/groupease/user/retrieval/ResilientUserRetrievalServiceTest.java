@@ -0,0 +1,156 @@
+package io.github.groupease.user.retrieval;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.ws.rs.NotAuthorizedException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+
+import com.codahale.metrics.MetricRegistry;
+import com.typesafe.config.Config;
+import io.github.groupease.GroupeaseTestGuiceModule;
+import io.github.groupease.user.GroupeaseUserDto;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Guice;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.*;
+
+/**
+ * Unit tests for {@link ResilientUserRetrievalService}.
+ */
+@Guice(modules = GroupeaseTestGuiceModule.class)
+public class ResilientUserRetrievalServiceTest {
+
+    @Inject
+    private Config retrievalConfig;
+
+    @Inject
+    private Provider<GroupeaseUserDto> groupeaseUserDtoProvider;
+
+    @Mock
+    private UserRetrievalService delegate;
+
+    private MetricRegistry metricRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    private ResilientUserRetrievalService toTest;
+
+    /**
+     * Set up tests.
+     *
+     * @throws Exception on error.
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        /* Initialize local mocks. */
+        initMocks(this);
+
+        /* Reset all injected mocks between tests. */
+        reset(retrievalConfig);
+
+        /* Train the mocks. */
+        when(retrievalConfig.getInt("maxConcurrentCalls")).thenReturn(1);
+        when(retrievalConfig.getDuration("maxWait", TimeUnit.MILLISECONDS)).thenReturn(0L);
+
+        metricRegistry = new MetricRegistry();
+        circuitBreaker = new CircuitBreaker(2, 2, 0.5, TimeUnit.SECONDS.toNanos(2), TimeUnit.SECONDS.toNanos(30),
+                new AtomicLong()::get);
+
+        /* Get instance to test. Not injecting so we can use a small circuit breaker. */
+        toTest = new ResilientUserRetrievalService(delegate, retrievalConfig, metricRegistry, circuitBreaker);
+    }
+
+    /**
+     * It should return the delegate's result when the identity provider is healthy.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFetchWhenHealthy() throws Exception {
+        /* Set up test. */
+        GroupeaseUserDto expected = groupeaseUserDtoProvider.get();
+
+        /* Train the mocks. */
+        when(delegate.fetch()).thenReturn(expected);
+
+        /* Make the call. */
+        GroupeaseUserDto actual = toTest.fetch();
+
+        /* Verify results. */
+        assertSame(actual, expected);
+        assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    /**
+     * It should report failures as unavailable, then refuse calls without reaching the delegate once open.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFetchWhenCircuitOpens() throws Exception {
+        /* Train the mocks. */
+        when(delegate.fetch()).thenThrow(new ProcessingException("timed out"));
+
+        /* Make the call. */
+        expectThrows(UserRetrievalUnavailableException.class, () -> toTest.fetch());
+        expectThrows(UserRetrievalUnavailableException.class, () -> toTest.fetch());
+        expectThrows(UserRetrievalUnavailableException.class, () -> toTest.fetch());
+
+        /* Verify results. */
+        assertEquals(circuitBreaker.getState(), CircuitBreaker.State.OPEN);
+        verify(delegate, times(2)).fetch();
+        assertEquals(getCount("failures"), 2L);
+        assertEquals(getCount("rejected.circuitOpen"), 1L);
+    }
+
+    /**
+     * It should pass client errors through without counting them against the identity provider.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFetchWhenClientError() throws Exception {
+        /* Train the mocks. */
+        when(delegate.fetch()).thenThrow(new NotAuthorizedException(Response.status(401).build()));
+
+        /* Make the call. */
+        expectThrows(NotAuthorizedException.class, () -> toTest.fetch());
+        expectThrows(NotAuthorizedException.class, () -> toTest.fetch());
+
+        /* Verify results. */
+        assertEquals(circuitBreaker.getState(), CircuitBreaker.State.CLOSED);
+        assertEquals(getCount("failures"), 0L);
+    }
+
+    /**
+     * It should refuse calls beyond the bulkhead limit.
+     *
+     * @throws Exception on error.
+     */
+    @Test
+    public void testFetchWhenBulkheadFull() throws Exception {
+        /* Train the mocks. The delegate re-enters while holding the only slot. */
+        when(delegate.fetch()).thenAnswer(invocation -> toTest.fetch());
+
+        /* Make the call. */
+        expectThrows(UserRetrievalUnavailableException.class, () -> toTest.fetch());
+
+        /* Verify results. */
+        assertEquals(getCount("rejected.bulkheadFull"), 1L);
+    }
+
+    private long getCount(
+            String metricName
+    ) {
+        return metricRegistry.counter(MetricRegistry.name(ResilientUserRetrievalService.class, metricName)).getCount();
+    }
+
+}